@@ -1,12 +1,68 @@
 package org.example.wordladder;
 
+import org.example.wordladder.loadtest.LoadTest;
+import org.example.wordladder.solving.DistanceTables;
+import org.example.wordladder.words.FrontCodedWordList;
+import org.example.wordladder.words.LocalityOrder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 public class Application {
     public static final String MAX_LADDER_ARG_NAME = "-maxLadder";
+    public static final String BUILD_DISTANCE_TABLES_ARG_NAME = "-buildDistanceTables";
+    public static final String WRITE_LOCALITY_ORDERS_ARG_NAME = "-writeLocalityOrders";
+    public static final String WRITE_COMPACT_WORD_LISTS_ARG_NAME = "-writeCompactWordLists";
+    public static final String PIPE_ARG_NAME = "-pipe";
+    public static final String THREADS_ARG_NAME = "-threads";
+    public static final String LOAD_TEST_ARG_NAME = "-loadTest";
+    private static final int[] BUNDLED_WORD_LENGTHS = IntStream.rangeClosed(2, 15).toArray();
 
     public static void main(String[] args) {
         if (args.length == 1 && "?".equals(args[0])) {
             System.out.println("WordLadder Puzzle Solver - Command line help:");
             System.out.println("  [startWord] [endWord] [" + MAX_LADDER_ARG_NAME + "=nnn]");
+            System.out.println("  " + BUILD_DISTANCE_TABLES_ARG_NAME + "=directory");
+            System.out.println("    (then run with -D" + DistanceTables.DIRECTORY_PROPERTY + "=directory to use them)");
+            System.out.println("  " + WRITE_LOCALITY_ORDERS_ARG_NAME + "=directory");
+            System.out.println("    (put the directory on the classpath to use them)");
+            System.out.println("  " + WRITE_COMPACT_WORD_LISTS_ARG_NAME + "=directory");
+            System.out.println("    (regenerates the bundled compact word lists from the text lists)");
+            System.out.println("  " + PIPE_ARG_NAME + " [" + THREADS_ARG_NAME + "=nnn]");
+            System.out.println("    (reads 'startWord endWord [maxLadder]' lines from stdin, writes JSON lines to stdout)");
+            System.out.println("  " + LOAD_TEST_ARG_NAME + " (generate|replay) ...");
+            return;
+        }
+        if (args.length == 1 && args[0].startsWith(BUILD_DISTANCE_TABLES_ARG_NAME + "=")) {
+            Path directory = Paths.get(args[0].substring(BUILD_DISTANCE_TABLES_ARG_NAME.length() + 1));
+            DistanceTables.buildAll(directory, DistanceTables.DEFAULT_WORD_LENGTHS);
+            System.out.println("Distance tables written to " + directory);
+            return;
+        }
+        if (args.length == 1 && args[0].startsWith(WRITE_LOCALITY_ORDERS_ARG_NAME + "=")) {
+            Path directory = Paths.get(args[0].substring(WRITE_LOCALITY_ORDERS_ARG_NAME.length() + 1));
+            LocalityOrder.writeBundled(directory, BUNDLED_WORD_LENGTHS);
+            System.out.println("Word locality orders written to " + directory);
+            return;
+        }
+        if (args.length == 1 && args[0].startsWith(WRITE_COMPACT_WORD_LISTS_ARG_NAME + "=")) {
+            Path directory = Paths.get(args[0].substring(WRITE_COMPACT_WORD_LISTS_ARG_NAME.length() + 1));
+            FrontCodedWordList.writeBundled(directory, BUNDLED_WORD_LENGTHS);
+            System.out.println("Compact word lists written to " + directory);
+            return;
+        }
+        if (args.length > 0 && LOAD_TEST_ARG_NAME.equals(args[0])) {
+            LoadTest.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && PIPE_ARG_NAME.equals(args[0])) {
+            int threads = Runtime.getRuntime().availableProcessors();
+            if (args.length > 1 && args[1].startsWith(THREADS_ARG_NAME + "=")) {
+                threads = Integer.parseInt(args[1].substring(THREADS_ARG_NAME.length() + 1));
+            }
+            new PipeCli(System.in, System.out, threads).run();
             return;
         }
         new InteractiveCli().run(args);
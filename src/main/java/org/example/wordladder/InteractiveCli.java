@@ -49,7 +49,7 @@ public class InteractiveCli {
 
     public void run(String[] initialArgs) {
         puzzle = new Puzzle();
-        options = new Options();
+        options = newOptions();
         onStep = Step.START_STEP;
         processStepsFromArgs(initialArgs);
         run();
@@ -130,7 +130,7 @@ public class InteractiveCli {
             again = !"n".equals(input);
             if (again) {
                 onStep = Step.START_STEP;
-                options = new Options();
+                options = newOptions();
                 puzzle = new Puzzle();
                 System.out.println();
             }
@@ -146,7 +146,6 @@ public class InteractiveCli {
                     + " - Explored " + green(FORMAT_COUNT.format(solver.getExploredCount())) + " solutions");
 
             AtomicLong pageStart = new AtomicLong(0);
-            solutions.sort(Solution::compareTo);
             while (pageStart.get() < solutions.size()) {
                 String more = lineReader.readLine(PROMPT + "List" + (pageStart.get() == 0 ? "" : " more")
                         + " solutions? (Enter 'n' for no, 'y' or return for next 10, 'all' for all or how many): ");
@@ -185,6 +184,13 @@ public class InteractiveCli {
         }
     }
 
+    private static Options newOptions() {
+        Options result = new Options();
+        // solver produces solutions ready for listing in order...
+        result.setOrderedSolutions(true);
+        return result;
+    }
+
     private static String red(Object message) {
         if (USE_TERMINAL_COLOURS) {
             return TERMINAL_COLOUR_RED + message + TERMINAL_COLOUR_BLACK;
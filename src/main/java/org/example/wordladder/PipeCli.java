@@ -0,0 +1,220 @@
+package org.example.wordladder;
+
+import org.example.wordladder.exceptions.ApplicationErrorException;
+import org.example.wordladder.solving.Options;
+import org.example.wordladder.solving.Solution;
+import org.example.wordladder.solving.Solver;
+import org.example.wordladder.words.Word;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-interactive mode - reads puzzles (one per line, "startWord finalWord [maxLadder]") and writes
+ * one JSON result per line (NDJSON)
+ * <p>Lines are solved concurrently - but results are always written in input order (by a separate
+ * writer thread, so that solving never waits on output)</p>
+ */
+public class PipeCli {
+    private static final int BUFFER_SIZE = 1 << 16;
+    // how many lines (per thread) may be in flight ahead of the writer...
+    private static final int PENDING_PER_THREAD = 64;
+    private static final CompletableFuture<String> END_OF_INPUT = CompletableFuture.completedFuture(null);
+
+    private final InputStream in;
+    private final OutputStream out;
+    private final int threads;
+
+    public PipeCli(InputStream in, OutputStream out, int threads) {
+        this.in = in;
+        this.out = out;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Processes every input line
+     * @return the number of puzzle lines processed
+     */
+    public long run() {
+        ExecutorService solvers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "wordladder-pipe-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<CompletableFuture<String>> pending = new ArrayBlockingQueue<>(threads * PENDING_PER_THREAD);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ExecutorService writerService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wordladder-pipe-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Void> written = CompletableFuture.runAsync(() -> writeResults(pending, writer), writerService);
+        long count = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String input = line.trim();
+                if (input.isEmpty() || input.startsWith("#")) {
+                    continue;
+                }
+                long lineNumber = ++count;
+                // (the bounded queue holds back reading when the writer falls behind)...
+                enqueue(pending, CompletableFuture.supplyAsync(() -> process(lineNumber, input), solvers), written);
+            }
+            enqueue(pending, END_OF_INPUT, written);
+            written.join();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            solvers.shutdownNow();
+            writerService.shutdownNow();
+        }
+        return count;
+    }
+
+    private static void enqueue(BlockingQueue<CompletableFuture<String>> pending, CompletableFuture<String> result,
+                                CompletableFuture<Void> written) throws InterruptedException {
+        while (!pending.offer(result, 100, TimeUnit.MILLISECONDS)) {
+            if (written.isDone()) {
+                // the writer has failed (e.g. output closed) - so nothing will ever take from the queue...
+                written.join();
+            }
+        }
+    }
+
+    private static void writeResults(BlockingQueue<CompletableFuture<String>> pending, Writer writer) {
+        try {
+            CompletableFuture<String> next;
+            long lineNumber = 0;
+            while ((next = pending.take()) != END_OF_INPUT) {
+                lineNumber++;
+                writer.write(result(lineNumber, next));
+                writer.write('\n');
+                // only flush when caught up - so a slow consumer still sees results promptly...
+                if (pending.isEmpty()) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static String result(long lineNumber, CompletableFuture<String> next) {
+        try {
+            return next.join();
+        } catch (CompletionException | CancellationException e) {
+            // (process() reports its own failures - so this is only a line that never got solved)...
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            return "{\"line\":" + lineNumber + ",\"error\":" + quote(messageOf(cause)) + "}";
+        }
+    }
+
+    static String process(long lineNumber, String input) {
+        StringBuilder builder = new StringBuilder(128);
+        builder.append("{\"line\":").append(lineNumber);
+        try {
+            String[] args = input.split("\\s+");
+            if (args.length < 2 || args.length > 3) {
+                throw new IllegalArgumentException("Expected 'startWord finalWord [maxLadder]'");
+            }
+            Puzzle puzzle = new Puzzle(args[0], args[1]);
+            Options options = new Options();
+            options.setOrderedSolutions(true);
+            // lines are already solved concurrently - so each solve stays on its own thread...
+            options.setParallelism(1);
+            Solver solver = new Solver(puzzle, options);
+            int maximumLadderLength = args.length > 2 ? parseMaximumLadderLength(args[2]) : 0;
+            builder.append(",\"start\":").append(quote(puzzle.getStartWord().toString()))
+                    .append(",\"end\":").append(quote(puzzle.getFinalWord().toString()));
+            if (maximumLadderLength == 0) {
+                // as with the interactive mode - no max ladder means use the minimum ladder length...
+                Optional<Integer> minimumLadderLength = solver.calculateMinimumLadderLength();
+                if (minimumLadderLength.isEmpty()) {
+                    return builder.append(",\"solvable\":false,\"solutions\":[]}").toString();
+                }
+                maximumLadderLength = minimumLadderLength.get();
+            }
+            options.setMaximumLadderLength(maximumLadderLength);
+            solver.solve();
+            List<Solution> solutions = solver.getSolutions();
+            builder.append(",\"maxLadder\":").append(maximumLadderLength)
+                    .append(",\"explored\":").append(solver.getExploredCount())
+                    .append(",\"solutions\":[");
+            for (int s = 0; s < solutions.size(); s++) {
+                builder.append(s == 0 ? "[" : ",[");
+                List<Word> ladder = solutions.get(s).getLadder();
+                for (int w = 0; w < ladder.size(); w++) {
+                    builder.append(w == 0 ? "\"" : ",\"").append(ladder.get(w)).append('"');
+                }
+                builder.append(']');
+            }
+            return builder.append("]}").toString();
+        } catch (RuntimeException e) {
+            // discard anything partially written for the line - one bad line must not end the stream...
+            builder.setLength(0);
+            return builder.append("{\"line\":").append(lineNumber)
+                    .append(",\"input\":").append(quote(input))
+                    .append(",\"error\":").append(quote(messageOf(e)))
+                    .append('}').toString();
+        }
+    }
+
+    private static int parseMaximumLadderLength(String arg) {
+        try {
+            int result = Integer.parseInt(arg);
+            if (result < 0) {
+                throw new IllegalArgumentException("Max ladder cannot be less than 0 (zero)");
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Max ladder '" + arg + "' is not a number");
+        }
+    }
+
+    private static String messageOf(Throwable e) {
+        // application errors and bad arguments carry a user facing message - anything else is unexpected...
+        if (e instanceof ApplicationErrorException || e instanceof IllegalArgumentException) {
+            return e.getMessage();
+        }
+        return "Unexpected error: " + e;
+    }
+
+    private static String quote(String str) {
+        StringBuilder builder = new StringBuilder(str.length() + 2).append('"');
+        for (int i = 0; i < str.length(); i++) {
+            char ch = str.charAt(i);
+            if (ch == '"' || ch == '\\') {
+                builder.append('\\').append(ch);
+            } else if (ch < 0x20) {
+                builder.append(String.format("\\u%04x", (int)ch));
+            } else {
+                builder.append(ch);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
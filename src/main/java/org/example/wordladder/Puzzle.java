@@ -58,6 +58,10 @@ public class Puzzle {
         }
     }
 
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
     public Word getStartWord() {
         return startWord;
     }
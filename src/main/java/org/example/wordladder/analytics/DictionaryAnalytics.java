@@ -0,0 +1,232 @@
+package org.example.wordladder.analytics;
+
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.Word;
+import org.example.wordladder.words.WordGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Dictionary wide shortest ladder statistics - eccentricities, diameter (the longest shortest ladder),
+ * the hardest word pairs and the histogram of shortest distances
+ * <p>All distances are in steps (letter changes) - a ladder of n words is n - 1 steps</p>
+ */
+public class DictionaryAnalytics {
+    public static final int DEFAULT_HARDEST_PAIRS_LIMIT = 1000;
+
+    private final WordGraph graph;
+    private final int[] eccentricities;
+    private final long[] distanceHistogram;
+    private final int diameter;
+    private final List<WordPair> hardestPairs;
+    private final long hardestPairCount;
+
+    private DictionaryAnalytics(WordGraph graph, int[] eccentricities, long[] distanceHistogram,
+                                HardestPairs hardestPairs) {
+        this.graph = graph;
+        this.eccentricities = eccentricities;
+        this.distanceHistogram = distanceHistogram;
+        this.diameter = distanceHistogram.length - 1;
+        List<WordPair> pairs = new ArrayList<>(hardestPairs.pairs.size());
+        if (diameter > 0) {
+            for (long pair: hardestPairs.pairs) {
+                pairs.add(new WordPair(graph.getWord((int)(pair >>> Integer.SIZE)), graph.getWord((int)pair), diameter));
+            }
+        }
+        pairs.sort(Comparator.comparing((WordPair pair) -> pair.getFirst().toString())
+                .thenComparing(pair -> pair.getSecond().toString()));
+        this.hardestPairs = Collections.unmodifiableList(pairs);
+        this.hardestPairCount = diameter > 0 ? hardestPairs.count : 0;
+    }
+
+    public static DictionaryAnalytics analyse(Dictionary dictionary) {
+        return analyse(dictionary.getGraph(), new MultiSourceBfs(dictionary.getGraph()), DEFAULT_HARDEST_PAIRS_LIMIT);
+    }
+
+    /**
+     * Analyses every word of a graph (a multi-source search from every word)
+     * @param graph the graph to analyse
+     * @param engine the search engine (over the same graph)
+     * @param hardestPairsLimit the maximum number of hardest pairs to retain
+     * @return the analytics
+     */
+    public static DictionaryAnalytics analyse(WordGraph graph, MultiSourceBfs engine, int hardestPairsLimit) {
+        int[] sources = IntStream.range(0, graph.size()).toArray();
+        int[] eccentricities = new int[graph.size()];
+        HardestPairs hardestPairs = new HardestPairs(hardestPairsLimit);
+        DistanceHistogram histogram = new DistanceHistogram();
+        engine.searchAll(sources, batch -> new AnalyticsVisitor(batch, eccentricities, histogram, hardestPairs));
+        // trim empty tail and count each (unordered) pair once...
+        long[] ordered = histogram.counts;
+        int length = ordered.length;
+        while (length > 1 && ordered[length - 1] == 0L) {
+            length--;
+        }
+        long[] distanceHistogram = new long[Math.max(length, 1)];
+        for (int distance = 1; distance < length; distance++) {
+            distanceHistogram[distance] = ordered[distance] / 2;
+        }
+        return new DictionaryAnalytics(graph, eccentricities, distanceHistogram, hardestPairs);
+    }
+
+    /**
+     * @return the longest shortest distance (in steps) between any two connected words
+     */
+    public int getDiameter() {
+        return diameter;
+    }
+
+    public int getLongestShortestLadderLength() {
+        return diameter + 1;
+    }
+
+    /**
+     * @param word the word
+     * @return the furthest (in steps) that any word connected to the given word is from it
+     */
+    public int getEccentricity(Word word) {
+        return eccentricities[word.getOrdinal()];
+    }
+
+    public int getEccentricity(int ordinal) {
+        return eccentricities[ordinal];
+    }
+
+    /**
+     * @return the number of (unordered) word pairs for each shortest distance (index is distance in steps)
+     */
+    public long[] getDistanceHistogram() {
+        return distanceHistogram.clone();
+    }
+
+    public long getConnectedPairCount() {
+        return Arrays.stream(distanceHistogram).sum();
+    }
+
+    /**
+     * @return word pairs whose shortest distance is the diameter (up to the limit requested)
+     */
+    public List<WordPair> getHardestPairs() {
+        return hardestPairs;
+    }
+
+    /**
+     * @return the total number of word pairs whose shortest distance is the diameter
+     */
+    public long getHardestPairCount() {
+        return hardestPairCount;
+    }
+
+    public WordGraph getGraph() {
+        return graph;
+    }
+
+    private static class AnalyticsVisitor implements MultiSourceBfs.LevelVisitor {
+        private final MultiSourceBfs.Batch batch;
+        private final int[] eccentricities;
+        private final DistanceHistogram totalHistogram;
+        private final HardestPairs hardestPairs;
+        private long[] histogram = new long[16];
+        private int remainingLanes;
+
+        private AnalyticsVisitor(MultiSourceBfs.Batch batch, int[] eccentricities, DistanceHistogram totalHistogram,
+                                 HardestPairs hardestPairs) {
+            this.batch = batch;
+            this.eccentricities = eccentricities;
+            this.totalHistogram = totalHistogram;
+            this.hardestPairs = hardestPairs;
+            this.remainingLanes = batch.getCount();
+        }
+
+        @Override
+        public void visitLevel(int distance, long[] frontier, long[] lanes, long[] endingLanes) {
+            int laneWords = batch.getLaneWords();
+            long reached = 0L;
+            for (long bits: frontier) {
+                reached += Long.bitCount(bits);
+            }
+            if (distance >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, histogram.length * 2);
+            }
+            histogram[distance] += reached;
+            boolean anyEnding = false;
+            for (int w = 0; w < laneWords; w++) {
+                long ending = endingLanes[w];
+                anyEnding |= ending != 0L;
+                while (ending != 0L) {
+                    int lane = (w * MultiSourceBfs.LANES_PER_LANE_WORD) + Long.numberOfTrailingZeros(ending);
+                    eccentricities[batch.getSource(lane)] = distance;
+                    remainingLanes--;
+                    ending &= ending - 1;
+                }
+            }
+            // the words in the frontier of ending lanes are the furthest from those sources...
+            if (anyEnding && distance > 0 && hardestPairs.isCandidate(distance)) {
+                for (int index = 0; index < frontier.length; index++) {
+                    long bits = frontier[index] & endingLanes[index % laneWords];
+                    while (bits != 0L) {
+                        int lane = ((index % laneWords) * MultiSourceBfs.LANES_PER_LANE_WORD)
+                                + Long.numberOfTrailingZeros(bits);
+                        int source = batch.getSource(lane);
+                        int target = index / laneWords;
+                        // each pair is found from both ends - only keep it once...
+                        if (source < target) {
+                            hardestPairs.add(distance, source, target);
+                        }
+                        bits &= bits - 1;
+                    }
+                }
+            }
+            if (remainingLanes == 0) {
+                totalHistogram.add(histogram, distance + 1);
+            }
+        }
+    }
+
+    private static class DistanceHistogram {
+        private long[] counts = new long[0];
+
+        private synchronized void add(long[] batchCounts, int length) {
+            if (length > counts.length) {
+                counts = Arrays.copyOf(counts, length);
+            }
+            for (int distance = 0; distance < length; distance++) {
+                counts[distance] += batchCounts[distance];
+            }
+        }
+    }
+
+    private static class HardestPairs {
+        private final int limit;
+        private int distance;
+        private long count;
+        private final List<Long> pairs = new ArrayList<>();
+
+        private HardestPairs(int limit) {
+            this.limit = limit;
+        }
+
+        private synchronized boolean isCandidate(int candidateDistance) {
+            return candidateDistance >= distance;
+        }
+
+        private synchronized void add(int pairDistance, int first, int second) {
+            if (pairDistance > distance) {
+                distance = pairDistance;
+                count = 0;
+                pairs.clear();
+            }
+            if (pairDistance == distance) {
+                count++;
+                if (pairs.size() < limit) {
+                    pairs.add(((long)first << Integer.SIZE) | second);
+                }
+            }
+        }
+    }
+}
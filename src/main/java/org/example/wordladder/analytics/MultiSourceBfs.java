@@ -0,0 +1,156 @@
+package org.example.wordladder.analytics;
+
+import org.example.wordladder.words.WordGraph;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Bit-parallel breadth first search from many source words at once - each source is a bit 'lane', and every
+ * word holds a bitset (of lane words) of the sources that have reached it, so one sweep over the links
+ * advances the frontiers of every source in the batch
+ * <p>Batches are independent - so are spread across cores</p>
+ */
+public class MultiSourceBfs {
+    public static final int LANES_PER_LANE_WORD = Long.SIZE;
+
+    private final WordGraph graph;
+    private final int laneWords;
+
+    public MultiSourceBfs(WordGraph graph) {
+        this(graph, 1);
+    }
+
+    /**
+     * @param graph the graph to search
+     * @param laneWords the number of longs per word bitset - each batch runs 64 x laneWords sources at once
+     */
+    public MultiSourceBfs(WordGraph graph, int laneWords) {
+        if (laneWords < 1) {
+            throw new IllegalArgumentException("Lane words must be at least 1");
+        }
+        this.graph = graph;
+        this.laneWords = laneWords;
+    }
+
+    public int getBatchSize() {
+        return laneWords * LANES_PER_LANE_WORD;
+    }
+
+    /**
+     * Searches from all the given sources (in parallel batches)
+     * @param sources the source word ordinals
+     * @param visitorFactory creates the visitor for each batch (visitors are only ever called from one thread)
+     */
+    public void searchAll(int[] sources, Function<Batch, LevelVisitor> visitorFactory) {
+        int batchSize = getBatchSize();
+        int batches = (sources.length + batchSize - 1) / batchSize;
+        IntStream.range(0, batches)
+                .parallel()
+                .forEach(b -> {
+                    int from = b * batchSize;
+                    Batch batch = new Batch(sources, from, Math.min(batchSize, sources.length - from), laneWords);
+                    search(batch, visitorFactory.apply(batch));
+                });
+    }
+
+    public void search(Batch batch, LevelVisitor visitor) {
+        int size = graph.size();
+        int[] offsets = graph.getOffsets();
+        int[] links = graph.getLinks();
+        long[] seen = new long[size * laneWords];
+        long[] frontier = new long[size * laneWords];
+        long[] next = new long[size * laneWords];
+        long[] lanes = new long[laneWords];
+        long[] nextLanes = new long[laneWords];
+        long[] endingLanes = new long[laneWords];
+        for (int lane = 0; lane < batch.count; lane++) {
+            int index = (batch.getSource(lane) * laneWords) + (lane / LANES_PER_LANE_WORD);
+            long bit = 1L << (lane % LANES_PER_LANE_WORD);
+            frontier[index] |= bit;
+            seen[index] |= bit;
+            lanes[lane / LANES_PER_LANE_WORD] |= bit;
+        }
+        int distance = 0;
+        boolean more = batch.count > 0;
+        while (more) {
+            // push every frontier bitset along the links...
+            Arrays.fill(next, 0L);
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                int base = ordinal * laneWords;
+                for (int w = 0; w < laneWords; w++) {
+                    long bits = frontier[base + w];
+                    if (bits != 0L) {
+                        for (int l = offsets[ordinal], end = offsets[ordinal + 1]; l < end; l++) {
+                            next[(links[l] * laneWords) + w] |= bits;
+                        }
+                    }
+                }
+            }
+            // ...keeping only the sources that hadn't already reached each word...
+            more = false;
+            Arrays.fill(nextLanes, 0L);
+            for (int index = 0; index < next.length; index++) {
+                long bits = next[index] & ~seen[index];
+                next[index] = bits;
+                if (bits != 0L) {
+                    seen[index] |= bits;
+                    nextLanes[index % laneWords] |= bits;
+                    more = true;
+                }
+            }
+            for (int w = 0; w < laneWords; w++) {
+                endingLanes[w] = lanes[w] & ~nextLanes[w];
+            }
+            visitor.visitLevel(distance, frontier, lanes, endingLanes);
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+            swap = lanes;
+            lanes = nextLanes;
+            nextLanes = swap;
+            distance++;
+        }
+    }
+
+    /**
+     * Receives each level of a batch search
+     */
+    public interface LevelVisitor {
+        /**
+         * @param distance the distance (in steps) of the level from the sources
+         * @param frontier per word bitsets (indexed by ordinal x lane words + lane word) of sources that first
+         *                 reached the word at this distance
+         * @param lanes the sources that reached any word at this distance
+         * @param endingLanes the sources for which this is the last level (this distance is their eccentricity)
+         */
+        void visitLevel(int distance, long[] frontier, long[] lanes, long[] endingLanes);
+    }
+
+    public static class Batch {
+        private final int[] sources;
+        private final int from;
+        private final int count;
+        private final int laneWords;
+
+        Batch(int[] sources, int from, int count, int laneWords) {
+            this.sources = sources;
+            this.from = from;
+            this.count = count;
+            this.laneWords = laneWords;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getLaneWords() {
+            return laneWords;
+        }
+
+        public int getSource(int lane) {
+            return sources[from + lane];
+        }
+    }
+}
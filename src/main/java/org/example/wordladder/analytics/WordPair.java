@@ -0,0 +1,39 @@
+package org.example.wordladder.analytics;
+
+import org.example.wordladder.words.Word;
+
+public class WordPair {
+    private final Word first;
+    private final Word second;
+    private final int distance;
+
+    WordPair(Word first, Word second, int distance) {
+        this.first = first;
+        this.second = second;
+        this.distance = distance;
+    }
+
+    public Word getFirst() {
+        return first;
+    }
+
+    public Word getSecond() {
+        return second;
+    }
+
+    /**
+     * @return the number of steps (letter changes) in the shortest ladder between the words
+     */
+    public int getDistance() {
+        return distance;
+    }
+
+    public int getMinimumLadderLength() {
+        return distance + 1;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + first + ", " + second + "]";
+    }
+}
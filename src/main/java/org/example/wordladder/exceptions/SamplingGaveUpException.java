@@ -0,0 +1,7 @@
+package org.example.wordladder.exceptions;
+
+public class SamplingGaveUpException extends PuzzleErrorException {
+    public SamplingGaveUpException(String message) {
+        super(message);
+    }
+}
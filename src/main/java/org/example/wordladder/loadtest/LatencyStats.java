@@ -0,0 +1,54 @@
+package org.example.wordladder.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Latency percentiles (nearest rank) of a set of query timings
+ */
+public class LatencyStats {
+    private final long[] sortedNanos;
+
+    LatencyStats(long[] nanos) {
+        this.sortedNanos = nanos.clone();
+        Arrays.sort(sortedNanos);
+    }
+
+    public int getCount() {
+        return sortedNanos.length;
+    }
+
+    /**
+     * @param fraction the percentile as a fraction (e.g. 0.99 for p99)
+     * @return the latency (nanoseconds) - or 0 if there are no timings
+     */
+    public long getPercentileNanos(double fraction) {
+        if (sortedNanos.length == 0) {
+            return 0L;
+        }
+        int rank = (int)Math.ceil(fraction * sortedNanos.length);
+        return sortedNanos[Math.min(Math.max(rank, 1), sortedNanos.length) - 1];
+    }
+
+    public long getMaximumNanos() {
+        return sortedNanos.length == 0 ? 0L : sortedNanos[sortedNanos.length - 1];
+    }
+
+    public double getMeanNanos() {
+        return sortedNanos.length == 0 ? 0d : Arrays.stream(sortedNanos).average().orElse(0d);
+    }
+
+    String toJson() {
+        return "{\"count\":" + sortedNanos.length
+                + ",\"p50\":" + micros(getPercentileNanos(0.5d))
+                + ",\"p99\":" + micros(getPercentileNanos(0.99d))
+                + ",\"p999\":" + micros(getPercentileNanos(0.999d))
+                + ",\"max\":" + micros(getMaximumNanos())
+                + ",\"mean\":" + micros(getMeanNanos())
+                + "}";
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000d);
+    }
+}
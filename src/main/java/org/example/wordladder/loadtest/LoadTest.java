@@ -0,0 +1,154 @@
+package org.example.wordladder.loadtest;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.exceptions.ApplicationErrorException;
+import org.example.wordladder.solving.Options;
+import org.example.wordladder.solving.Solver;
+import org.example.wordladder.words.Dictionary;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Workload driver - replays queries (a generated corpus or a recorded query log) against the solver at a
+ * given concurrency and reports latency percentiles, throughput and allocation per query
+ * <p>Allocation is measured on the thread running each query - so it only covers the whole solve when
+ * solves are sequential (a solve parallelism of 1, the default)</p>
+ * <p>Usage:</p>
+ * <pre>
+ *   generate wordLength minDifficulty maxDifficulty perDifficulty seed corpusFile
+ *   replay queryFile [concurrency] [solveParallelism] [warmupQueries] [reportFile]
+ * </pre>
+ */
+public class LoadTest {
+    private final int concurrency;
+    private final int solveParallelism;
+    private final int warmupQueries;
+
+    /**
+     * @param concurrency the number of queries run at once
+     * @param solveParallelism the thread budget of each solve
+     * @param warmupQueries the number of (untimed) queries run first
+     */
+    public LoadTest(int concurrency, int solveParallelism, int warmupQueries) {
+        this.concurrency = Math.max(1, concurrency);
+        this.solveParallelism = Math.max(1, solveParallelism);
+        this.warmupQueries = Math.max(0, warmupQueries);
+    }
+
+    public LoadTestReport replay(List<Query> queries) {
+        // (difficulty is worked out first and untimed - so recorded logs are bucketed the same as corpora)...
+        int[] difficulties = new int[queries.size()];
+        for (int q = 0; q < queries.size(); q++) {
+            difficulties[q] = difficulty(queries.get(q));
+        }
+        for (int w = 0; w < warmupQueries && !queries.isEmpty(); w++) {
+            run(queries.get(w % queries.size()));
+        }
+        long[] latencies = new long[queries.size()];
+        long[] allocations = new long[queries.size()];
+        long[] solutionCounts = new long[queries.size()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean measureAllocation = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean)threads).isThreadAllocatedMemorySupported();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < concurrency; t++) {
+                workers.add(pool.submit(() -> {
+                    int q;
+                    while ((q = next.getAndIncrement()) < queries.size()) {
+                        long allocatedBefore = measureAllocation ? allocatedBytes(threads) : 0L;
+                        long start = System.nanoTime();
+                        try {
+                            solutionCounts[q] = run(queries.get(q));
+                        } catch (ApplicationErrorException e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[q] = System.nanoTime() - start;
+                        allocations[q] = measureAllocation ? allocatedBytes(threads) - allocatedBefore : -1L;
+                    }
+                }));
+            }
+            for (Future<?> worker: workers) {
+                worker.get();
+            }
+        } catch (Exception e) {
+            throw new ApplicationErrorException("Load test failed", e);
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - started;
+        return new LoadTestReport(concurrency, solveParallelism, warmupQueries, elapsed, latencies,
+                allocations, solutionCounts, difficulties, errors.get());
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        return ((com.sun.management.ThreadMXBean)threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private int difficulty(Query query) {
+        try {
+            return new Solver(new Puzzle(query.getStartWord(), query.getFinalWord()), new Options())
+                    .calculateMinimumLadderLength().orElse(0);
+        } catch (ApplicationErrorException e) {
+            return 0;
+        }
+    }
+
+    private long run(Query query) {
+        Puzzle puzzle = new Puzzle(query.getStartWord(), query.getFinalWord());
+        Options options = new Options();
+        options.setOrderedSolutions(true);
+        options.setParallelism(solveParallelism);
+        Solver solver = new Solver(puzzle, options);
+        int maximumLadderLength = query.getMaximumLadderLength();
+        if (maximumLadderLength == 0) {
+            Optional<Integer> minimumLadderLength = solver.calculateMinimumLadderLength();
+            if (minimumLadderLength.isEmpty()) {
+                return 0L;
+            }
+            maximumLadderLength = minimumLadderLength.get();
+        }
+        options.setMaximumLadderLength(maximumLadderLength);
+        solver.solve();
+        return solver.getSolutions().size();
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 7 && "generate".equals(args[0])) {
+            Dictionary dictionary = Dictionary.Factory.forWordLength(Integer.parseInt(args[1]));
+            List<Query> corpus = PuzzleCorpus.generate(dictionary, Integer.parseInt(args[2]),
+                    Integer.parseInt(args[3]), Integer.parseInt(args[4]), Long.parseLong(args[5]));
+            PuzzleCorpus.write(corpus, Paths.get(args[6]));
+            System.out.println("Wrote " + corpus.size() + " puzzles to " + args[6]);
+        } else if (args.length >= 2 && args.length <= 6 && "replay".equals(args[0])) {
+            List<Query> queries = PuzzleCorpus.read(Paths.get(args[1]));
+            LoadTest loadTest = new LoadTest(args.length > 2 ? Integer.parseInt(args[2]) : 1,
+                    args.length > 3 ? Integer.parseInt(args[3]) : 1,
+                    args.length > 4 ? Integer.parseInt(args[4]) : Math.min(queries.size(), 1000));
+            LoadTestReport report = loadTest.replay(queries);
+            if (args.length > 5) {
+                Path reportFile = Paths.get(args[5]);
+                report.write(reportFile);
+            }
+            System.out.println(report.toJson());
+        } else {
+            System.out.println("Load test usage:");
+            System.out.println("  generate wordLength minDifficulty maxDifficulty perDifficulty seed corpusFile");
+            System.out.println("  replay queryFile [concurrency] [solveParallelism] [warmupQueries] [reportFile]");
+        }
+    }
+}
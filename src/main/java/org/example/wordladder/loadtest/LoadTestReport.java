@@ -0,0 +1,112 @@
+package org.example.wordladder.loadtest;
+
+import org.example.wordladder.exceptions.ApplicationErrorException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The results of a load test run - written as a single JSON object (latencies in microseconds), so that
+ * runs from different builds can be compared by tooling
+ */
+public class LoadTestReport {
+    private final int concurrency;
+    private final int solveParallelism;
+    private final int warmupQueries;
+    private final long elapsedNanos;
+    private final LatencyStats latencies;
+    private final Map<Integer, LatencyStats> latenciesByDifficulty = new TreeMap<>();
+    private final double allocatedBytesPerQuery;
+    private final long solutionCount;
+    private final int errorCount;
+
+    LoadTestReport(int concurrency, int solveParallelism, int warmupQueries, long elapsedNanos, long[] latencies,
+                   long[] allocations, long[] solutionCounts, int[] difficulties, int errorCount) {
+        this.concurrency = concurrency;
+        this.solveParallelism = solveParallelism;
+        this.warmupQueries = warmupQueries;
+        this.elapsedNanos = elapsedNanos;
+        this.latencies = new LatencyStats(latencies);
+        Arrays.stream(difficulties).distinct().forEach(difficulty -> {
+            long[] bucket = new long[latencies.length];
+            int count = 0;
+            for (int q = 0; q < latencies.length; q++) {
+                if (difficulties[q] == difficulty) {
+                    bucket[count++] = latencies[q];
+                }
+            }
+            latenciesByDifficulty.put(difficulty, new LatencyStats(Arrays.copyOf(bucket, count)));
+        });
+        this.allocatedBytesPerQuery = Arrays.stream(allocations).anyMatch(allocated -> allocated < 0L)
+                ? -1d : Arrays.stream(allocations).average().orElse(0d);
+        this.solutionCount = Arrays.stream(solutionCounts).sum();
+        this.errorCount = errorCount;
+    }
+
+    public LatencyStats getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return latencies for each difficulty (minimum ladder length - 0 for unsolvable or bad queries)
+     */
+    public Map<Integer, LatencyStats> getLatenciesByDifficulty() {
+        return latenciesByDifficulty;
+    }
+
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0L ? 0d : latencies.getCount() / (elapsedNanos / 1_000_000_000d);
+    }
+
+    /**
+     * @return the mean bytes allocated per query (or -1 if the runtime cannot measure allocation)
+     */
+    public double getAllocatedBytesPerQuery() {
+        return allocatedBytesPerQuery;
+    }
+
+    public long getSolutionCount() {
+        return solutionCount;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public String toJson() {
+        StringBuilder builder = new StringBuilder(512);
+        builder.append("{\"javaVersion\":\"").append(System.getProperty("java.version")).append('"')
+                .append(",\"availableProcessors\":").append(Runtime.getRuntime().availableProcessors())
+                .append(",\"queries\":").append(latencies.getCount())
+                .append(",\"concurrency\":").append(concurrency)
+                .append(",\"solveParallelism\":").append(solveParallelism)
+                .append(",\"warmupQueries\":").append(warmupQueries)
+                .append(",\"elapsedMillis\":").append(elapsedNanos / 1_000_000L)
+                .append(",\"throughputPerSecond\":").append(String.format(Locale.ROOT, "%.1f", getThroughputPerSecond()))
+                .append(",\"allocatedBytesPerQuery\":").append(String.format(Locale.ROOT, "%.0f", allocatedBytesPerQuery))
+                .append(",\"solutions\":").append(solutionCount)
+                .append(",\"errors\":").append(errorCount)
+                .append(",\"latencyMicros\":").append(latencies.toJson())
+                .append(",\"latencyMicrosByDifficulty\":{");
+        boolean first = true;
+        for (Map.Entry<Integer, LatencyStats> entry: latenciesByDifficulty.entrySet()) {
+            builder.append(first ? "\"" : ",\"").append(entry.getKey()).append("\":").append(entry.getValue().toJson());
+            first = false;
+        }
+        return builder.append("}}").toString();
+    }
+
+    public void write(Path path) {
+        try {
+            Files.writeString(path, toJson() + "\n", StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error writing load test report '" + path + "'", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.wordladder.loadtest;
+
+import org.example.wordladder.exceptions.ApplicationErrorException;
+import org.example.wordladder.solving.WordDistanceMap;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.Word;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Seeded puzzle corpora - for each difficulty (the actual minimum ladder length of the puzzle), a number of
+ * random puzzles whose max ladder is exactly that difficulty
+ * <p>The same dictionary, counts and seed always generate the same corpus</p>
+ */
+public class PuzzleCorpus {
+    // how many start words to try (per puzzle wanted) before giving up on rare difficulties...
+    private static final int ATTEMPTS_PER_PUZZLE = 20;
+
+    private PuzzleCorpus() {
+    }
+
+    /**
+     * @param dictionary the dictionary
+     * @param minimumDifficulty the least minimum ladder length wanted (at least 2)
+     * @param maximumDifficulty the greatest minimum ladder length wanted
+     * @param perDifficulty the number of puzzles for each difficulty
+     * @param seed the random seed
+     * @return the puzzles (grouped by difficulty - easiest first)
+     */
+    public static List<Query> generate(Dictionary dictionary, int minimumDifficulty, int maximumDifficulty,
+                                       int perDifficulty, long seed) {
+        int lowest = Math.max(2, minimumDifficulty);
+        List<List<Query>> byDifficulty = new ArrayList<>();
+        for (int difficulty = 0; difficulty <= maximumDifficulty; difficulty++) {
+            byDifficulty.add(new ArrayList<>());
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int wanted = (maximumDifficulty - lowest + 1) * perDifficulty;
+        int found = 0;
+        for (int attempt = 0; attempt < wanted * ATTEMPTS_PER_PUZZLE && found < wanted; attempt++) {
+            Word start = dictionary.getWord(random.nextInt(dictionary.getOrdinalLimit()));
+            // (removed words leave their ordinals empty)...
+            if (start == null || start.isIslandWord()) {
+                continue;
+            }
+            WordDistanceMap distances = new WordDistanceMap(start, maximumDifficulty);
+            // one random final word for each difficulty still wanted (words are taken in ordinal order -
+            // so that the corpus does not depend on hash ordering)...
+            int[] candidates = new int[maximumDifficulty + 1];
+            Word[] chosen = new Word[maximumDifficulty + 1];
+            for (int ordinal = 0; ordinal < dictionary.getOrdinalLimit(); ordinal++) {
+                Word word = dictionary.getWord(ordinal);
+                if (word == null) {
+                    continue;
+                }
+                int difficulty = distances.getDistance(word).orElse(0);
+                if (difficulty >= lowest && byDifficulty.get(difficulty).size() < perDifficulty
+                        && random.nextInt(++candidates[difficulty]) == 0) {
+                    chosen[difficulty] = word;
+                }
+            }
+            for (int difficulty = lowest; difficulty <= maximumDifficulty; difficulty++) {
+                if (chosen[difficulty] != null) {
+                    byDifficulty.get(difficulty).add(new Query(start.toString(), chosen[difficulty].toString(),
+                            difficulty));
+                    found++;
+                }
+            }
+        }
+        return byDifficulty.stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    /**
+     * Reads queries - a recorded query log or a written corpus (blank lines and lines starting '#' are skipped)
+     * @param path the file
+     * @return the queries
+     */
+    public static List<Query> read(Path path) {
+        try {
+            return Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(Query::parse)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error reading queries '" + path + "'", e);
+        }
+    }
+
+    public static void write(List<Query> queries, Path path) {
+        try {
+            Files.write(path, queries.stream().map(Query::toString).collect(Collectors.toList()),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error writing queries '" + path + "'", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.wordladder.loadtest;
+
+/**
+ * One puzzle query - as a line "startWord finalWord [maxLadder]" (the same as pipe mode input)
+ */
+public class Query {
+    private final String startWord;
+    private final String finalWord;
+    private final int maximumLadderLength;
+
+    /**
+     * @param startWord the start word
+     * @param finalWord the final word
+     * @param maximumLadderLength the maximum ladder length (or 0 for the minimum ladder length)
+     */
+    public Query(String startWord, String finalWord, int maximumLadderLength) {
+        this.startWord = startWord;
+        this.finalWord = finalWord;
+        this.maximumLadderLength = maximumLadderLength;
+    }
+
+    /**
+     * @param line the query line
+     * @return the query
+     * @throws IllegalArgumentException if the line is not a query
+     */
+    public static Query parse(String line) {
+        String[] args = line.trim().split("\\s+");
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException("Query '" + line + "' - expected 'startWord finalWord [maxLadder]'");
+        }
+        try {
+            return new Query(args[0], args[1], args.length > 2 ? Integer.parseInt(args[2]) : 0);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Query '" + line + "' - max ladder '" + args[2] + "' is not a number");
+        }
+    }
+
+    public String getStartWord() {
+        return startWord;
+    }
+
+    public String getFinalWord() {
+        return finalWord;
+    }
+
+    public int getMaximumLadderLength() {
+        return maximumLadderLength;
+    }
+
+    @Override
+    public String toString() {
+        return startWord + " " + finalWord + (maximumLadderLength > 0 ? " " + maximumLadderLength : "");
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.Word;
+import org.example.wordladder.words.WordNeighbours;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The words that can possibly be on a ladder (of at most the maximum length) between two words - i.e. words
+ * where the distance from the begin word plus the distance to the end word is within the maximum - as a small
+ * re-indexed subgraph
+ * <p>Local indexes are assigned in alphabetical order - so ordering by local index is still alphabetical</p>
+ */
+class Corridor {
+    // the corridor's words by local index (taken at build - so the corridor outlives the dictionary's read lock)...
+    private final Word[] words;
+    private final int[] offsets;
+    private final int[] links;
+    private final int[] beginDistances;
+    private final int[] endDistances;
+    private final int begin;
+    private final int end;
+
+    private Corridor(Word[] words, int[] offsets, int[] links, int[] beginDistances, int[] endDistances,
+                     int begin, int end) {
+        this.words = words;
+        this.offsets = offsets;
+        this.links = links;
+        this.beginDistances = beginDistances;
+        this.endDistances = endDistances;
+        this.begin = begin;
+        this.end = end;
+    }
+
+    /**
+     * @param neighbours the links of every word (the dictionary's neighbours)
+     * @param beginWord the begin word
+     * @param endWord the end word
+     * @param maximumLadderLength the maximum ladder length
+     * @param table the distance table (if there is one) - otherwise distances are searched out from both words
+     * @return the corridor (empty if there are no ladders within the maximum length)
+     */
+    static Corridor build(WordNeighbours neighbours, Word beginWord, Word endWord, int maximumLadderLength,
+                          Optional<DistanceTable> table) {
+        int size = neighbours.size();
+        int beginOrdinal = beginWord.getOrdinal();
+        int endOrdinal = endWord.getOrdinal();
+        int[] fromBegin;
+        int[] fromEnd;
+        if (table.isPresent()) {
+            fromBegin = new int[size];
+            fromEnd = new int[size];
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                fromBegin[ordinal] = table.get().getLadderLength(beginOrdinal, ordinal);
+                fromEnd[ordinal] = table.get().getLadderLength(endOrdinal, ordinal);
+            }
+        } else {
+            fromBegin = GraphDistances.ladderLengths(neighbours, beginOrdinal, maximumLadderLength);
+            fromEnd = GraphDistances.ladderLengths(neighbours, endOrdinal, maximumLadderLength);
+        }
+        return build(neighbours, beginOrdinal, endOrdinal, maximumLadderLength, fromBegin, fromEnd);
+    }
+
+    /**
+     * @param neighbours the links of every word (only the links of words within the corridor are fetched)
+     * @param beginOrdinal the begin word ordinal
+     * @param endOrdinal the end word ordinal
+     * @param maximumLadderLength the maximum ladder length
+     * @param fromBegin ladder lengths from the begin word (indexed by ordinal, 0 = not reached) - searched out to
+     *                  at least the maximum ladder length
+     * @param fromEnd ladder lengths from the end word (likewise)
+     * @return the corridor (empty if there are no ladders within the maximum length)
+     */
+    static Corridor build(WordNeighbours neighbours, int beginOrdinal, int endOrdinal, int maximumLadderLength,
+                          int[] fromBegin, int[] fromEnd) {
+        int size = neighbours.size();
+        // re-index the words that are within the corridor...
+        int[] localIndexes = new int[size];
+        int count = 0;
+        int[] ordinals = new int[size];
+        Arrays.fill(localIndexes, -1);
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            int distance = fromBegin[ordinal];
+            if (distance != 0 && fromEnd[ordinal] != 0 && distance + fromEnd[ordinal] - 1 <= maximumLadderLength) {
+                ordinals[count++] = ordinal;
+            }
+        }
+        if (count == 0) {
+            return new Corridor(new Word[0], new int[] {0}, new int[0], new int[0], new int[0], -1, -1);
+        }
+        Word[] words = new Word[count];
+        for (int local = 0; local < count; local++) {
+            words[local] = neighbours.getWord(ordinals[local]);
+        }
+        // ordinal order is alphabetical unless words have been added (which take the next ordinals)...
+        if (!inRankOrder(words)) {
+            Arrays.sort(words, Word::compareByRank);
+            for (int local = 0; local < count; local++) {
+                ordinals[local] = words[local].getOrdinal();
+            }
+        }
+        int[] beginDistances = new int[count];
+        int[] endDistances = new int[count];
+        for (int local = 0; local < count; local++) {
+            beginDistances[local] = fromBegin[ordinals[local]];
+            endDistances[local] = fromEnd[ordinals[local]];
+            localIndexes[ordinals[local]] = local;
+        }
+        // (each corridor word's links are fetched just once - for implicit mode, that's when they're generated)...
+        int[] row = new int[neighbours.getMaximumDegree()];
+        int[] offsets = new int[count + 1];
+        int[] links = new int[count * 4];
+        int at = 0;
+        for (int local = 0; local < count; local++) {
+            offsets[local] = at;
+            int rowCount = neighbours.linksOf(ordinals[local], row);
+            if (at + rowCount > links.length) {
+                links = Arrays.copyOf(links, Math.max(links.length * 2, at + rowCount));
+            }
+            for (int l = 0; l < rowCount; l++) {
+                int linked = localIndexes[row[l]];
+                if (linked != -1) {
+                    links[at++] = linked;
+                }
+            }
+        }
+        offsets[count] = at;
+        return new Corridor(words, offsets, Arrays.copyOf(links, at), beginDistances, endDistances,
+                localIndexes[beginOrdinal], localIndexes[endOrdinal]);
+    }
+
+    private static boolean inRankOrder(Word[] words) {
+        for (int w = 1; w < words.length; w++) {
+            if (Word.compareByRank(words[w - 1], words[w]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    int size() {
+        return words.length;
+    }
+
+    int getBegin() {
+        return begin;
+    }
+
+    int getEnd() {
+        return end;
+    }
+
+    int[] getOffsets() {
+        return offsets;
+    }
+
+    int[] getLinks() {
+        return links;
+    }
+
+    /**
+     * @param local the local index
+     * @return the ladder length from the begin word to the word
+     */
+    int getBeginDistance(int local) {
+        return beginDistances[local];
+    }
+
+    /**
+     * @param local the local index
+     * @return the ladder length from the word to the end word
+     */
+    int getEndDistance(int local) {
+        return endDistances[local];
+    }
+
+    Word getWord(int local) {
+        return words[local];
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.Word;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Depth-first enumeration of all ladders (up to the maximum length) over a corridor
+ * <p>Each branch from the begin word is searched as a separate task (with its own path stack) - results are
+ * taken in branch order, so ladders of each length are found in alphabetical order</p>
+ * <p>Where there is slack (more words remaining than the word's distance to the end word) the branches share
+ * memoised suffixes rather than re-expanding the same (word, remaining words) subproblems from each prefix</p>
+ */
+class CorridorSearch {
+    private final Corridor corridor;
+    private final int maximumLadderLength;
+    private final boolean reversed;
+    private final ParallelTasks tasks;
+    private final SuffixCache suffixCache;
+    private final AtomicLong exploredCount = new AtomicLong();
+
+    /**
+     * @param corridor the corridor to search
+     * @param maximumLadderLength the maximum ladder length
+     * @param reversed whether the corridor begins at the puzzle's final word (so ladders are reversed)
+     * @param tasks runs the branches
+     * @param suffixCacheBytes the memory limit for memoised suffixes (0 for none)
+     */
+    CorridorSearch(Corridor corridor, int maximumLadderLength, boolean reversed, ParallelTasks tasks,
+                   long suffixCacheBytes) {
+        this.corridor = corridor;
+        this.maximumLadderLength = maximumLadderLength;
+        this.reversed = reversed;
+        this.tasks = tasks;
+        this.suffixCache = suffixCacheBytes > 0 && !corridor.isEmpty()
+                ? new SuffixCache(corridor, suffixCacheBytes) : null;
+    }
+
+    List<Solution> search() {
+        List<Solution> result = new ArrayList<>();
+        if (corridor.isEmpty()) {
+            return result;
+        }
+        int begin = corridor.getBegin();
+        int[] offsets = corridor.getOffsets();
+        int[] links = corridor.getLinks();
+        int[] firstWords = IntStream.range(offsets[begin], offsets[begin + 1])
+                .map(l -> links[l])
+                .filter(linked -> 1 + corridor.getEndDistance(linked) <= maximumLadderLength)
+                .toArray();
+        SolutionBuckets buckets = new SolutionBuckets();
+        tasks.map(firstWords.length, f -> new Branch().search(firstWords[f]))
+                .forEach(buckets::addAll);
+        buckets.drainTo(result);
+        return result;
+    }
+
+    long getExploredCount() {
+        return exploredCount.get();
+    }
+
+    private class Branch {
+        private final int[] offsets = corridor.getOffsets();
+        private final int[] links = corridor.getLinks();
+        private final int end = corridor.getEnd();
+        private final int[] path = new int[maximumLadderLength];
+        private final boolean[] onPath = new boolean[corridor.size()];
+        private final SolutionBuckets found = new SolutionBuckets();
+        private long explored;
+
+        private SolutionBuckets search(int firstWord) {
+            path[0] = corridor.getBegin();
+            onPath[path[0]] = true;
+            extend(firstWord, 2, SuffixCache.bit(path[0]));
+            exploredCount.addAndGet(explored);
+            return found;
+        }
+
+        /**
+         * @param word the word to extend the path with
+         * @param length the path length with the word
+         * @param prefixMask the mask of the words already on the path (before this word)
+         */
+        private void extend(int word, int length, long prefixMask) {
+            path[length - 1] = word;
+            explored++;
+            if (word == end) {
+                found.add(buildSolution(length));
+            } else if (length < maximumLadderLength) {
+                int remaining = maximumLadderLength - length + 1;
+                if (suffixCache != null && remaining > corridor.getEndDistance(word)
+                        && join(suffixCache.get(word, remaining), length, prefixMask)) {
+                    return;
+                }
+                onPath[word] = true;
+                long mask = prefixMask | SuffixCache.bit(word);
+                for (int l = offsets[word], finish = offsets[word + 1]; l < finish; l++) {
+                    int linked = links[l];
+                    // only extend if the end word is still reachable within the maximum...
+                    if (!onPath[linked] && length + corridor.getEndDistance(linked) <= maximumLadderLength) {
+                        extend(linked, length + 1, mask);
+                    }
+                }
+                onPath[word] = false;
+            }
+        }
+
+        /**
+         * Joins the path (up to but not including its last word) to each suffix that shares no words with it
+         * @return false if there were no suffixes (too many to memoise) - so the word must be expanded directly
+         */
+        private boolean join(SuffixCache.Suffixes suffixes, int length, long prefixMask) {
+            if (suffixes == null) {
+                return false;
+            }
+            int prefixLength = length - 1;
+            for (int s = 0; s < suffixes.size(); s++) {
+                explored++;
+                int start = suffixes.start(s);
+                int suffixLength = suffixes.length(s);
+                if ((suffixes.mask(s) & prefixMask) != 0 && overlaps(suffixes, start, suffixLength)) {
+                    continue;
+                }
+                for (int w = 0; w < suffixLength; w++) {
+                    path[prefixLength + w] = suffixes.word(start + w);
+                }
+                found.add(buildSolution(prefixLength + suffixLength));
+            }
+            return true;
+        }
+
+        private boolean overlaps(SuffixCache.Suffixes suffixes, int start, int suffixLength) {
+            for (int w = 0; w < suffixLength; w++) {
+                if (onPath[suffixes.word(start + w)]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Solution buildSolution(int length) {
+            Word[] words = new Word[length];
+            for (int w = 0; w < length; w++) {
+                words[reversed ? length - 1 - w : w] = corridor.getWord(path[w]);
+            }
+            return new Solution(words);
+        }
+    }
+}
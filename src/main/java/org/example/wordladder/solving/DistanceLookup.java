@@ -0,0 +1,16 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.Word;
+
+import java.util.Optional;
+
+/**
+ * Distances (as ladder lengths - the word itself being 1) from one word to other words
+ */
+public interface DistanceLookup {
+    Optional<Integer> getDistance(Word toWord);
+
+    boolean reachable(Word word, int maximumLadderLength);
+
+    boolean reachable(Word word, int maximumLadderLength, int currentLadderLength);
+}
@@ -0,0 +1,246 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.analytics.MultiSourceBfs;
+import org.example.wordladder.exceptions.ApplicationErrorException;
+import org.example.wordladder.exceptions.DictionaryLoadErrorException;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.Word;
+import org.example.wordladder.words.WordGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs shortest distance table for a (small) dictionary - one byte per word pair holding the minimum
+ * ladder length (0 where there is no ladder)
+ * <p>Distances are symmetric, so only the upper triangle (word ordinal pairs first &lt; second) is stored -
+ * and the file is memory-mapped rather than read</p>
+ * <p>Edits to the dictionary only change distances within the (former) components of the words whose links
+ * changed - so those components are marked stale, and the table still holds the distances from every other
+ * word</p>
+ */
+public class DistanceTable {
+    public static final int MAXIMUM_WORDS = 16384;
+    private static final int MAGIC = 0x574c4454;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int UNREACHABLE = 0;
+
+    private final int wordLength;
+    private final int wordCount;
+    private final long fingerprint;
+    private final ByteBuffer triangle;
+    // words whose distances an edit may have changed (written under the dictionary's write lock)...
+    private final boolean[] stale;
+
+    private DistanceTable(int wordLength, int wordCount, long fingerprint, ByteBuffer triangle) {
+        this.wordLength = wordLength;
+        this.wordCount = wordCount;
+        this.fingerprint = fingerprint;
+        this.triangle = triangle;
+        this.stale = new boolean[wordCount];
+    }
+
+    /**
+     * Builds the table (using a multi-source search from every word)
+     * @param dictionary the dictionary
+     * @return the table
+     */
+    public static DistanceTable build(Dictionary dictionary) {
+        WordGraph graph = dictionary.getGraph();
+        int wordCount = graph.size();
+        if (wordCount > MAXIMUM_WORDS) {
+            throw new ApplicationErrorException("Dictionary of " + wordCount
+                    + " words is too large for a distance table (maximum " + MAXIMUM_WORDS + ")");
+        }
+        byte[] bytes = new byte[(int)triangleSize(wordCount)];
+        int[] sources = IntStream.range(0, wordCount).toArray();
+        // every batch writes only the pairs for its own sources - so batches never write the same byte...
+        new MultiSourceBfs(graph).searchAll(sources, batch -> (distance, frontier, lanes, endingLanes) -> {
+            if (distance == 0) {
+                return;
+            }
+            int laneWords = batch.getLaneWords();
+            for (int index = 0; index < frontier.length; index++) {
+                long bits = frontier[index];
+                int target = index / laneWords;
+                while (bits != 0L) {
+                    int lane = ((index % laneWords) * MultiSourceBfs.LANES_PER_LANE_WORD)
+                            + Long.numberOfTrailingZeros(bits);
+                    int source = batch.getSource(lane);
+                    if (source < target) {
+                        bytes[(int)pairIndex(wordCount, source, target)] = (byte)Math.min(distance + 1, 255);
+                    }
+                    bits &= bits - 1;
+                }
+            }
+        });
+        return new DistanceTable(dictionary.getWordLength(), wordCount, dictionary.getFingerprint(),
+                ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Memory-maps a previously written table
+     * @param path the table file
+     * @return the table
+     */
+    public static DistanceTable map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // keep reading...
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new DictionaryLoadErrorException("File '" + path + "' is not a distance table");
+            }
+            int wordLength = header.getInt();
+            int wordCount = header.getInt();
+            long fingerprint = header.getLong();
+            long size = triangleSize(wordCount);
+            if (channel.size() < HEADER_SIZE + size) {
+                throw new DictionaryLoadErrorException("Distance table '" + path + "' is truncated");
+            }
+            ByteBuffer triangle = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size);
+            return new DistanceTable(wordLength, wordCount, fingerprint, triangle);
+        } catch (IOException e) {
+            throw new DictionaryLoadErrorException("Error mapping distance table '" + path + "'", e);
+        }
+    }
+
+    /**
+     * Writes the table (via a temporary file, so a table being mapped elsewhere is never seen part written)
+     * @param path the table file
+     */
+    public void write(Path path) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(wordLength).putInt(wordCount).putLong(fingerprint);
+            header.position(0);
+            channel.write(header);
+            ByteBuffer data = triangle.duplicate();
+            data.position(0);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error writing distance table '" + path + "'", e);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error writing distance table '" + path + "'", e);
+        }
+    }
+
+    /**
+     * Whether the table was built for the dictionary as it is now (edits to the dictionary invalidate the table)
+     * @param dictionary the dictionary
+     * @return whether the table matches
+     */
+    public boolean matches(Dictionary dictionary) {
+        return wordLength == dictionary.getWordLength()
+                && wordCount == dictionary.getOrdinalLimit()
+                && fingerprint == dictionary.getFingerprint();
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Whether the table still holds the distances from a word to every other word (i.e. the word was in the
+     * dictionary the table was built for, and no edit since has touched its component)
+     * @param word the word
+     * @return whether the word is covered
+     */
+    public boolean covers(Word word) {
+        int ordinal = word.getOrdinal();
+        return ordinal >= 0 && ordinal < wordCount && !stale[ordinal];
+    }
+
+    /**
+     * Marks the (pre-edit) components of words as stale - called when an edit changes the words' links
+     * @param words the words whose links have changed
+     */
+    void invalidateComponentsOf(Collection<Word> words) {
+        for (Word word: words) {
+            if (covers(word)) {
+                int ordinal = word.getOrdinal();
+                stale[ordinal] = true;
+                for (int other = 0; other < wordCount; other++) {
+                    if (getLadderLength(ordinal, other) != UNREACHABLE) {
+                        stale[other] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param ordinal1 the first word ordinal
+     * @param ordinal2 the second word ordinal
+     * @return the minimum ladder length between the words (or 0 if they are not connected - including words
+     * added since the table was built)
+     */
+    public int getLadderLength(int ordinal1, int ordinal2) {
+        if (ordinal1 == ordinal2) {
+            return 1;
+        }
+        if (ordinal1 >= wordCount || ordinal2 >= wordCount) {
+            return UNREACHABLE;
+        }
+        long index = ordinal1 < ordinal2 ? pairIndex(wordCount, ordinal1, ordinal2) : pairIndex(wordCount, ordinal2, ordinal1);
+        return triangle.get((int)index) & 0xff;
+    }
+
+    public Optional<Integer> getMinimumLadderLength(Word from, Word to) {
+        int result = getLadderLength(from.getOrdinal(), to.getOrdinal());
+        return result == UNREACHABLE ? Optional.empty() : Optional.of(result);
+    }
+
+    /**
+     * @param word the word
+     * @return distances to the given word - as a lookup into this table
+     */
+    public DistanceLookup distancesTo(Word word) {
+        int ordinal = word.getOrdinal();
+        return new DistanceLookup() {
+            @Override
+            public Optional<Integer> getDistance(Word toWord) {
+                return getMinimumLadderLength(word, toWord);
+            }
+
+            @Override
+            public boolean reachable(Word other, int maximumLadderLength) {
+                int distance = getLadderLength(ordinal, other.getOrdinal());
+                return distance != UNREACHABLE && distance <= maximumLadderLength;
+            }
+
+            @Override
+            public boolean reachable(Word other, int maximumLadderLength, int currentLadderLength) {
+                int distance = getLadderLength(ordinal, other.getOrdinal());
+                return distance != UNREACHABLE && distance <= (maximumLadderLength - currentLadderLength);
+            }
+        };
+    }
+
+    private static long triangleSize(int wordCount) {
+        return ((long)wordCount * (wordCount - 1)) / 2;
+    }
+
+    private static long pairIndex(int wordCount, int first, int second) {
+        return ((long)first * wordCount) - (((long)first * (first + 1)) / 2) + (second - first - 1);
+    }
+}
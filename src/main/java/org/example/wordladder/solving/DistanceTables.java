@@ -0,0 +1,120 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.DictionaryListener;
+import org.example.wordladder.words.Word;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * The distance tables available to solvers - tables are looked for in the directory named by the
+ * {@value #DIRECTORY_PROPERTY} system property (as "N-letter-distances.bin") or can be registered directly
+ * <p>A table is only found for a dictionary that matches it - edits after that mark the components they touch
+ * as stale, and the table is then only used for words it still covers (see {@link #forWords})</p>
+ */
+public class DistanceTables {
+    public static final String DIRECTORY_PROPERTY = "wordladder.distanceTables";
+    public static final int[] DEFAULT_WORD_LENGTHS = new int[] {2, 3, 4, 5};
+    private static final String FILE_NAME_SUFFIX = "-letter-distances.bin";
+
+    private static final Map<Dictionary, Optional<DistanceTable>> TABLES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Set<Dictionary> LISTENING = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static final DictionaryListener INVALIDATOR = new DictionaryListener() {
+        @Override
+        public void wordAdded(Dictionary dictionary, Word word) {
+            // (the components the new word joins)...
+            TABLES.getOrDefault(dictionary, Optional.empty())
+                    .ifPresent(table -> table.invalidateComponentsOf(word.getLinkedWords()));
+        }
+
+        @Override
+        public void wordRemoved(Dictionary dictionary, Word word, List<Word> formerLinkedWords) {
+            // (the component the word leaves)...
+            TABLES.getOrDefault(dictionary, Optional.empty())
+                    .ifPresent(table -> table.invalidateComponentsOf(formerLinkedWords));
+        }
+
+        @Override
+        public void dictionaryReplaced(Dictionary dictionary, Dictionary replacement) {
+            TABLES.remove(dictionary);
+        }
+    };
+
+    private DistanceTables() {
+    }
+
+    public static Optional<DistanceTable> forDictionary(Dictionary dictionary) {
+        return TABLES.computeIfAbsent(dictionary, d -> {
+            listenTo(d);
+            return findTable(d);
+        });
+    }
+
+    /**
+     * @param dictionary the dictionary
+     * @param word1 a word
+     * @param word2 another word
+     * @return the dictionary's table - if it still covers either word (and so holds the distance between them)
+     */
+    public static Optional<DistanceTable> forWords(Dictionary dictionary, Word word1, Word word2) {
+        return forDictionary(dictionary).filter(table -> table.covers(word1) || table.covers(word2));
+    }
+
+    public static void register(Dictionary dictionary, DistanceTable table) {
+        if (!table.matches(dictionary)) {
+            throw new IllegalArgumentException("Distance table does not match dictionary");
+        }
+        listenTo(dictionary);
+        TABLES.put(dictionary, Optional.of(table));
+    }
+
+    public static void unregister(Dictionary dictionary) {
+        TABLES.put(dictionary, Optional.empty());
+    }
+
+    public static Path getTableFile(Path directory, int wordLength) {
+        return directory.resolve(wordLength + FILE_NAME_SUFFIX);
+    }
+
+    /**
+     * Builds and writes tables for the given word lengths
+     * @param directory the directory to write the tables to
+     * @param wordLengths the word lengths
+     */
+    public static void buildAll(Path directory, int... wordLengths) {
+        for (int wordLength: wordLengths) {
+            Dictionary dictionary = Dictionary.Factory.forWordLength(wordLength);
+            DistanceTable table = DistanceTable.build(dictionary);
+            table.write(getTableFile(directory, wordLength));
+            TABLES.remove(dictionary);
+        }
+    }
+
+    private static void listenTo(Dictionary dictionary) {
+        if (LISTENING.add(dictionary)) {
+            dictionary.addListener(INVALIDATOR);
+        }
+    }
+
+    private static Optional<DistanceTable> findTable(Dictionary dictionary) {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null || directory.isEmpty()) {
+            return Optional.empty();
+        }
+        Path file = getTableFile(Paths.get(directory), dictionary.getWordLength());
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        DistanceTable table = DistanceTable.map(file);
+        // a stale table (for a different word list) is ignored...
+        return table.matches(dictionary) ? Optional.of(table) : Optional.empty();
+    }
+}
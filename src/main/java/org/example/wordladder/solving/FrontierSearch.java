@@ -0,0 +1,235 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.WordGraph;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level synchronous (direction optimising) breadth first search - each level's frontier is a bitset, expanded
+ * in parallel chunks of the graph
+ * <p>Small frontiers are expanded top down (from each frontier word to its unvisited linked words - claiming
+ * each newly visited word with a compare and set). Once the frontier's links exceed a
+ * {@link #TOP_DOWN_FACTOR}th of the links still unexplored, levels are expanded bottom up instead - every
+ * unvisited word looks for any linked word in the frontier, stopping at the first found (so most links are never
+ * looked at) - until the frontier shrinks again (below a {@link #BOTTOM_UP_FACTOR}th of the words)</p>
+ * <p>Ladder lengths are the same as a plain breadth first search - only the order words are reached in differs</p>
+ */
+class FrontierSearch {
+    // (word graphs are sparse and split into many components - unvisited words that are never reached look at
+    // every one of their links bottom up, so bottom up is only switched to for the widest frontiers)...
+    static final int TOP_DOWN_FACTOR = 2;
+    static final int BOTTOM_UP_FACTOR = 24;
+    // frontiers smaller than this are expanded by the calling thread alone...
+    private static final int PARALLEL_FRONTIER = 256;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final WordGraph traversal;
+    private final int[] offsets;
+    private final int[] links;
+    private final int size;
+    private final int blocks;
+    private final ParallelTasks tasks;
+    private final int[] distances;
+    private final AtomicLongArray visited;
+    private final AtomicLongArray next;
+    private long[] frontier;
+    private int levelCount;
+    private int bottomUpLevelCount;
+
+    FrontierSearch(WordGraph graph, ParallelTasks tasks) {
+        this.traversal = graph.inLocalityOrder();
+        this.offsets = traversal.getOffsets();
+        this.links = traversal.getLinks();
+        this.size = traversal.size();
+        this.blocks = (size + 63) >>> 6;
+        this.tasks = tasks;
+        this.distances = new int[size];
+        this.visited = new AtomicLongArray(blocks);
+        this.next = new AtomicLongArray(blocks);
+        this.frontier = new long[blocks];
+    }
+
+    /**
+     * @param graph the graph
+     * @param source the source word ordinal
+     * @param maximumLadderLength the maximum ladder length to search out to (or 0 for no limit)
+     * @param tasks the tasks to expand levels with
+     * @return the ladder lengths, indexed by word ordinal
+     */
+    static int[] ladderLengths(WordGraph graph, int source, int maximumLadderLength, ParallelTasks tasks) {
+        return new FrontierSearch(graph, tasks).search(source, maximumLadderLength);
+    }
+
+    /**
+     * @param source the source word ordinal
+     * @param maximumLadderLength the maximum ladder length to search out to (or 0 for no limit)
+     * @return the ladder lengths, indexed by word ordinal
+     */
+    int[] search(int source, int maximumLadderLength) {
+        int limit = maximumLadderLength > 0 ? maximumLadderLength : Integer.MAX_VALUE;
+        int start = traversal.getIndex(source);
+        distances[start] = 1;
+        visited.setPlain(start >>> 6, bit(start));
+        frontier[start >>> 6] = bit(start);
+        long frontierCount = 1;
+        long frontierLinks = degree(start);
+        long unexploredLinks = links.length - frontierLinks;
+        boolean bottomUp = false;
+        int ladderLength = 1;
+        while (frontierCount > 0 && ladderLength < limit) {
+            ladderLength++;
+            if (!bottomUp && frontierLinks > unexploredLinks / TOP_DOWN_FACTOR) {
+                bottomUp = true;
+            } else if (bottomUp && frontierCount < size / BOTTOM_UP_FACTOR) {
+                bottomUp = false;
+            }
+            long[] expanded = expand(ladderLength, bottomUp, frontierCount);
+            frontierCount = expanded[0];
+            frontierLinks = expanded[1];
+            unexploredLinks -= frontierLinks;
+            // (plain accesses - the tasks of a level have all finished, and the next level's start after)...
+            for (int b = 0; b < blocks; b++) {
+                frontier[b] = next.getPlain(b);
+                next.setPlain(b, 0L);
+            }
+            levelCount++;
+            if (bottomUp) {
+                bottomUpLevelCount++;
+            }
+        }
+        return toOrdinals();
+    }
+
+    /**
+     * @return the number of words and the number of their links newly reached
+     */
+    private long[] expand(int ladderLength, boolean bottomUp, long frontierCount) {
+        int chunks = Math.min(blocks, tasks.getParallelism() * CHUNKS_PER_THREAD);
+        if (chunks <= 1 || tasks.getParallelism() == 1 || (!bottomUp && frontierCount < PARALLEL_FRONTIER)) {
+            return bottomUp ? bottomUp(ladderLength, 0, blocks) : topDown(ladderLength, 0, blocks, false);
+        }
+        List<long[]> results = tasks.map(chunks, chunk -> {
+            int from = (int) ((long) blocks * chunk / chunks);
+            int to = (int) ((long) blocks * (chunk + 1) / chunks);
+            return bottomUp ? bottomUp(ladderLength, from, to) : topDown(ladderLength, from, to, true);
+        });
+        long[] result = new long[2];
+        for (long[] counts: results) {
+            result[0] += counts[0];
+            result[1] += counts[1];
+        }
+        return result;
+    }
+
+    private long[] topDown(int ladderLength, int fromBlock, int toBlock, boolean concurrent) {
+        long count = 0;
+        long reachedLinks = 0;
+        for (int b = fromBlock; b < toBlock; b++) {
+            long bits = frontier[b];
+            while (bits != 0L) {
+                int index = (b << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                for (int l = offsets[index], end = offsets[index + 1]; l < end; l++) {
+                    int linked = links[l];
+                    if (concurrent ? claim(visited, linked) : claimPlain(visited, linked)) {
+                        distances[linked] = ladderLength;
+                        if (concurrent) {
+                            claim(next, linked);
+                        } else {
+                            claimPlain(next, linked);
+                        }
+                        count++;
+                        reachedLinks += degree(linked);
+                    }
+                }
+            }
+        }
+        return new long[] {count, reachedLinks};
+    }
+
+    private long[] bottomUp(int ladderLength, int fromBlock, int toBlock) {
+        long count = 0;
+        long reachedLinks = 0;
+        // (each chunk owns its blocks of words - so no other thread is setting their bits)...
+        for (int b = fromBlock; b < toBlock; b++) {
+            long already = visited.getPlain(b);
+            long unvisited = ~already & blockMask(b);
+            long reached = 0L;
+            while (unvisited != 0L) {
+                int offset = Long.numberOfTrailingZeros(unvisited);
+                unvisited &= unvisited - 1;
+                int index = (b << 6) + offset;
+                for (int l = offsets[index], end = offsets[index + 1]; l < end; l++) {
+                    int linked = links[l];
+                    if ((frontier[linked >>> 6] & bit(linked)) != 0L) {
+                        distances[index] = ladderLength;
+                        reached |= 1L << offset;
+                        count++;
+                        reachedLinks += degree(index);
+                        break;
+                    }
+                }
+            }
+            if (reached != 0L) {
+                visited.setPlain(b, already | reached);
+                next.setPlain(b, reached);
+            }
+        }
+        return new long[] {count, reachedLinks};
+    }
+
+    private long blockMask(int block) {
+        int remaining = size - (block << 6);
+        return remaining >= 64 ? -1L : (1L << remaining) - 1L;
+    }
+
+    private static boolean claim(AtomicLongArray bits, int index) {
+        int block = index >>> 6;
+        long mask = bit(index);
+        long current = bits.get(block);
+        while ((current & mask) == 0L) {
+            if (bits.compareAndSet(block, current, current | mask)) {
+                return true;
+            }
+            current = bits.get(block);
+        }
+        return false;
+    }
+
+    private static boolean claimPlain(AtomicLongArray bits, int index) {
+        int block = index >>> 6;
+        long current = bits.getPlain(block);
+        if ((current & bit(index)) != 0L) {
+            return false;
+        }
+        bits.setPlain(block, current | bit(index));
+        return true;
+    }
+
+    private static long bit(int index) {
+        return 1L << (index & 63);
+    }
+
+    private int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    private int[] toOrdinals() {
+        int[] result = new int[size];
+        for (int index = 0; index < size; index++) {
+            if (distances[index] != 0) {
+                result[traversal.getOrdinal(index)] = distances[index];
+            }
+        }
+        return result;
+    }
+
+    int getLevelCount() {
+        return levelCount;
+    }
+
+    int getBottomUpLevelCount() {
+        return bottomUpLevelCount;
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.WordGraph;
+import org.example.wordladder.words.WordNeighbours;
+
+/**
+ * Breadth first distances over a word graph - as ladder lengths (the source itself being 1, 0 for not reached)
+ * <p>The search itself runs over the graph in locality order - only the words reached are translated back
+ * to ordinals. Other neighbours (i.e. implicit mode) are searched a word's links at a time</p>
+ */
+class GraphDistances {
+    // (graphs smaller than this are searched quicker by a single thread)...
+    static final int PARALLEL_MINIMUM_WORDS = 8192;
+
+    private GraphDistances() {
+    }
+
+    /**
+     * @param neighbours the neighbours (graphs are searched as graphs)
+     * @param source the source word ordinal
+     * @param maximumLadderLength the maximum ladder length to search out to (or 0 for no limit)
+     * @param tasks the tasks to search graphs with
+     * @return the ladder lengths, indexed by word ordinal
+     */
+    static int[] ladderLengths(WordNeighbours neighbours, int source, int maximumLadderLength, ParallelTasks tasks) {
+        if (neighbours instanceof WordGraph) {
+            return ladderLengths((WordGraph) neighbours, source, maximumLadderLength, tasks);
+        }
+        return ladderLengths(neighbours, source, maximumLadderLength);
+    }
+
+    /**
+     * @param neighbours the neighbours (graphs are searched as graphs)
+     * @param source the source word ordinal
+     * @param maximumLadderLength the maximum ladder length to search out to (or 0 for no limit)
+     * @return the ladder lengths, indexed by word ordinal
+     */
+    static int[] ladderLengths(WordNeighbours neighbours, int source, int maximumLadderLength) {
+        if (neighbours instanceof WordGraph) {
+            return ladderLengths((WordGraph) neighbours, source, maximumLadderLength);
+        }
+        int size = neighbours.size();
+        int[] result = new int[size];
+        int[] queue = new int[size];
+        int[] row = new int[neighbours.getMaximumDegree()];
+        int limit = maximumLadderLength > 0 ? maximumLadderLength : Integer.MAX_VALUE;
+        result[source] = 1;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int ordinal = queue[head++];
+            int distance = result[ordinal] + 1;
+            if (distance > limit) {
+                break;
+            }
+            for (int l = 0, count = neighbours.linksOf(ordinal, row); l < count; l++) {
+                int linked = row[l];
+                if (result[linked] == 0) {
+                    result[linked] = distance;
+                    queue[tail++] = linked;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param graph the graph
+     * @param source the source word ordinal
+     * @param maximumLadderLength the maximum ladder length to search out to (or 0 for no limit)
+     * @param tasks the tasks to search with - large graphs are searched a level at a time in parallel
+     *              (see {@link FrontierSearch})
+     * @return the ladder lengths, indexed by word ordinal
+     */
+    static int[] ladderLengths(WordGraph graph, int source, int maximumLadderLength, ParallelTasks tasks) {
+        if (tasks.getParallelism() > 1 && graph.size() >= PARALLEL_MINIMUM_WORDS) {
+            return FrontierSearch.ladderLengths(graph, source, maximumLadderLength, tasks);
+        }
+        return ladderLengths(graph, source, maximumLadderLength);
+    }
+
+    /**
+     * @param graph the graph
+     * @param source the source word ordinal
+     * @param maximumLadderLength the maximum ladder length to search out to (or 0 for no limit)
+     * @return the ladder lengths, indexed by word ordinal
+     */
+    static int[] ladderLengths(WordGraph graph, int source, int maximumLadderLength) {
+        WordGraph traversal = graph.inLocalityOrder();
+        int size = traversal.size();
+        int[] distances = new int[size];
+        int[] queue = new int[size];
+        int[] offsets = traversal.getOffsets();
+        int[] links = traversal.getLinks();
+        int limit = maximumLadderLength > 0 ? maximumLadderLength : Integer.MAX_VALUE;
+        int start = traversal.getIndex(source);
+        distances[start] = 1;
+        queue[0] = start;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int index = queue[head++];
+            int distance = distances[index] + 1;
+            if (distance > limit) {
+                break;
+            }
+            for (int l = offsets[index], end = offsets[index + 1]; l < end; l++) {
+                int linked = links[l];
+                if (distances[linked] == 0) {
+                    distances[linked] = distance;
+                    queue[tail++] = linked;
+                }
+            }
+        }
+        // the queue holds every word reached...
+        int[] result = new int[size];
+        for (int q = 0; q < tail; q++) {
+            result[traversal.getOrdinal(queue[q])] = distances[queue[q]];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.Word;
+import org.example.wordladder.words.WordNeighbours;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Ranked ladders - the k shortest loopless ladders between two words, in canonical order (shortest first,
+ * then alphabetically), without any maximum ladder length (Yen's algorithm)
+ * <p>Each ladder found is the root of further candidates - for each word of it, the best ladder that shares
+ * the ladder up to that word but then deviates from every ladder already found with the same root</p>
+ * <p>The work is proportional to the number of ladders requested (times the ladder length) rather than
+ * to the total number of ladders - each of those spur searches is a breadth first search back from the end
+ * word, so costs up to O(V + E) (k * L * (V + E) in all). But a spur search stops as soon as it has the spur
+ * word's nearest allowed neighbours (so only visits the words nearer the end word than the spur word is), and
+ * never searches further than a ladder that could still be wanted - once there are enough candidates, nothing
+ * longer than the last of them is looked for</p>
+ * <p>Only the words the spur searches visit have their links fetched - so implicit mode neighbours can be
+ * searched without building the graph</p>
+ */
+class KShortestLadders {
+    private final WordNeighbours neighbours;
+    private final int begin;
+    private final int end;
+    // (per search state - stamped with the search number, so never needs clearing)...
+    private final int[] blocked;
+    private final int[] allowed;
+    private final int[] reached;
+    private final int[] distances;
+    private final int[] queue;
+    private final int[] row;
+    private int stamp;
+    private long explored;
+
+    KShortestLadders(WordNeighbours neighbours, int begin, int end) {
+        this.neighbours = neighbours;
+        this.begin = begin;
+        this.end = end;
+        int size = neighbours.size();
+        this.blocked = new int[size];
+        this.allowed = new int[size];
+        this.reached = new int[size];
+        this.distances = new int[size];
+        this.queue = new int[size];
+        this.row = new int[neighbours.getMaximumDegree()];
+    }
+
+    /**
+     * @param count the number of ladders wanted
+     * @return the ladders (word ordinals) - fewer than requested if there aren't that many
+     */
+    List<int[]> search(int count) {
+        List<int[]> result = new ArrayList<>();
+        if (count < 1) {
+            return result;
+        }
+        int[] first = spurLadder(new int[0], begin, new int[0], Integer.MAX_VALUE);
+        if (first == null) {
+            return result;
+        }
+        TreeSet<int[]> candidates = new TreeSet<>(this::compareLadders);
+        candidates.add(first);
+        while (result.size() < count && !candidates.isEmpty()) {
+            int[] ladder = candidates.pollFirst();
+            result.add(ladder);
+            if (result.size() == count) {
+                break;
+            }
+            // deviate at each word of the ladder (other than the end word)...
+            for (int spurAt = 0; spurAt < ladder.length - 1; spurAt++) {
+                int[] root = Arrays.copyOf(ladder, spurAt);
+                int[] deviations = deviations(result, ladder, spurAt);
+                int[] candidate = spurLadder(root, ladder[spurAt], deviations,
+                        longestWanted(candidates, count - result.size()));
+                if (candidate != null) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+        return result;
+    }
+
+    long getExploredCount() {
+        return explored;
+    }
+
+    /**
+     * @return the longest ladder that could still be wanted - once there are as many candidates as ladders still
+     * wanted, a longer candidate would never be taken
+     */
+    private static int longestWanted(TreeSet<int[]> candidates, int wanted) {
+        if (candidates.size() < wanted) {
+            return Integer.MAX_VALUE;
+        }
+        Iterator<int[]> iterator = candidates.iterator();
+        for (int c = 1; c < wanted; c++) {
+            iterator.next();
+        }
+        return iterator.next().length;
+    }
+
+    /**
+     * @return the words that already found ladders (sharing the root) go to next from the spur word
+     */
+    private static int[] deviations(List<int[]> found, int[] ladder, int spurAt) {
+        int[] result = new int[found.size()];
+        int count = 0;
+        for (int[] other: found) {
+            if (other.length > spurAt + 1 && Arrays.equals(other, 0, spurAt + 1, ladder, 0, spurAt + 1)) {
+                result[count++] = other[spurAt + 1];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * The best ladder that starts with the root, continues with the spur word and then doesn't go next to
+     * any of the deviation words (nor revisit any root word) - or null if there is none within the longest
+     */
+    private int[] spurLadder(int[] root, int spur, int[] deviations, int longest) {
+        if (spur == end) {
+            return null;
+        }
+        stamp++;
+        for (int word: root) {
+            blocked[word] = stamp;
+        }
+        blocked[spur] = stamp;
+        // the spur word's allowed next words...
+        for (int l = 0, count = neighbours.linksOf(spur, row); l < count; l++) {
+            if (blocked[row[l]] != stamp && !contains(deviations, row[l])) {
+                allowed[row[l]] = stamp;
+            }
+        }
+        // distances (in steps) to the end word avoiding the blocked words - only out as far as the nearest
+        // allowed next word (and no further than the longest ladder wanted)...
+        long furthest = (long)longest - root.length - 2;
+        int nearest = allowed[end] == stamp ? 0 : -1;
+        int head = 0;
+        int tail = 0;
+        reached[end] = stamp;
+        distances[end] = 0;
+        queue[tail++] = end;
+        while (head < tail) {
+            int word = queue[head++];
+            if ((nearest != -1 && distances[word] >= nearest) || distances[word] >= furthest) {
+                break;
+            }
+            explored++;
+            for (int l = 0, count = neighbours.linksOf(word, row); l < count; l++) {
+                int linked = row[l];
+                if (reached[linked] != stamp && blocked[linked] != stamp) {
+                    reached[linked] = stamp;
+                    distances[linked] = distances[word] + 1;
+                    queue[tail++] = linked;
+                    if (nearest == -1 && allowed[linked] == stamp) {
+                        nearest = distances[linked];
+                    }
+                }
+            }
+        }
+        if (nearest == -1 || nearest > furthest) {
+            return null;
+        }
+        // the first step from the spur word - the nearest (then alphabetically first) allowed word...
+        int next = -1;
+        for (int l = 0, count = neighbours.linksOf(spur, row); l < count && next == -1; l++) {
+            int linked = row[l];
+            if (allowed[linked] == stamp && reached[linked] == stamp && distances[linked] == nearest) {
+                next = linked;
+            }
+        }
+        int[] result = Arrays.copyOf(root, root.length + 2 + nearest);
+        int at = root.length;
+        result[at++] = spur;
+        result[at++] = next;
+        // then follow (alphabetically first) words that are each one step nearer the end word...
+        int word = next;
+        while (word != end) {
+            int nearer = -1;
+            for (int l = 0, count = neighbours.linksOf(word, row); l < count && nearer == -1; l++) {
+                int linked = row[l];
+                if (reached[linked] == stamp && distances[linked] == distances[word] - 1) {
+                    nearer = linked;
+                }
+            }
+            result[at++] = nearer;
+            word = nearer;
+        }
+        return result;
+    }
+
+    private static boolean contains(int[] words, int word) {
+        for (int w: words) {
+            if (w == word) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int compareLadders(int[] ladder1, int[] ladder2) {
+        int result = Integer.compare(ladder1.length, ladder2.length);
+        for (int w = 0; result == 0 && w < ladder1.length; w++) {
+            result = ladder1[w] == ladder2[w] ? 0
+                    : Word.compareByRank(neighbours.getWord(ladder1[w]), neighbours.getWord(ladder2[w]));
+        }
+        return result;
+    }
+}
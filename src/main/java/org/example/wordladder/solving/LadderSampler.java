@@ -0,0 +1,248 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.exceptions.SamplingGaveUpException;
+import org.example.wordladder.words.Word;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Draws random ladders of an exact length between two words - uniformly and independently, without
+ * enumerating the ladders (e.g. for generating puzzles or giving hints)
+ * <p>The number of word sequences (of the remaining length) from each word to the end word is counted for
+ * each step, over the puzzle's corridor - each ladder is then drawn by stepping to each next word with
+ * probability proportional to its count. Counts are exact (held as longs - or as big integers once they
+ * no longer fit)</p>
+ * <p>The counts are of walks, not ladders - sequences that revisit a word are rejected and redrawn (which
+ * keeps the draws uniform over the actual ladders). Counting only ladders (simple paths) is not feasible,
+ * so a draw costs O(L * degree) times the number of rejections - and the proportion of walks that revisit
+ * a word grows with the ladder length (word graphs are full of small cliques). After
+ * {@value #MAXIMUM_ATTEMPTS} rejections a sample gives up (rather than returning empty - which only ever
+ * means that there are no sequences of the length)</p>
+ * <p>Samplers with the same seed draw the same ladders</p>
+ */
+public class LadderSampler {
+    /**
+     * The maximum number of (rejected) draws for any one sample
+     */
+    public static final int MAXIMUM_ATTEMPTS = 10000;
+
+    private final int ladderLength;
+    private final SplittableRandom random;
+    private final Corridor corridor;
+    // counts[k][w] - the number of k + 1 word sequences from local word w to the end word (null if any count
+    // doesn't fit in a long - when bigCounts has them instead)...
+    private final long[][] counts;
+    private final BigInteger[][] bigCounts;
+
+    /**
+     * @param puzzle the puzzle
+     * @param ladderLength the exact length of ladders to draw
+     * @param seed the random seed
+     */
+    public LadderSampler(Puzzle puzzle, int ladderLength, long seed) {
+        this.ladderLength = ladderLength;
+        this.random = new SplittableRandom(seed);
+        Lock lock = puzzle.getDictionary().readLock();
+        lock.lock();
+        try {
+            corridor = Corridor.build(puzzle.getDictionary().getNeighbours(), puzzle.getStartWord(),
+                    puzzle.getFinalWord(), Math.max(ladderLength, 1), DistanceTables.forWords(puzzle.getDictionary(),
+                            puzzle.getStartWord(), puzzle.getFinalWord()));
+        } finally {
+            lock.unlock();
+        }
+        counts = countSequences();
+        bigCounts = counts == null ? countBigSequences() : null;
+    }
+
+    private long[][] countSequences() {
+        if (corridor.isEmpty() || ladderLength < 1) {
+            return new long[0][];
+        }
+        int[] offsets = corridor.getOffsets();
+        int[] links = corridor.getLinks();
+        long[][] result = new long[ladderLength][];
+        result[0] = new long[corridor.size()];
+        result[0][corridor.getEnd()] = 1L;
+        try {
+            for (int k = 1; k < ladderLength; k++) {
+                long[] previous = result[k - 1];
+                long[] current = new long[corridor.size()];
+                for (int word = 0; word < current.length; word++) {
+                    long count = 0L;
+                    for (int l = offsets[word], finish = offsets[word + 1]; l < finish; l++) {
+                        count = Math.addExact(count, previous[links[l]]);
+                    }
+                    current[word] = count;
+                }
+                result[k] = current;
+            }
+        } catch (ArithmeticException e) {
+            // (too many sequences for a long - counted as big integers instead)...
+            return null;
+        }
+        return result;
+    }
+
+    private BigInteger[][] countBigSequences() {
+        int[] offsets = corridor.getOffsets();
+        int[] links = corridor.getLinks();
+        BigInteger[][] result = new BigInteger[ladderLength][];
+        result[0] = new BigInteger[corridor.size()];
+        Arrays.fill(result[0], BigInteger.ZERO);
+        result[0][corridor.getEnd()] = BigInteger.ONE;
+        for (int k = 1; k < ladderLength; k++) {
+            BigInteger[] previous = result[k - 1];
+            BigInteger[] current = new BigInteger[corridor.size()];
+            for (int word = 0; word < current.length; word++) {
+                BigInteger count = BigInteger.ZERO;
+                for (int l = offsets[word], finish = offsets[word + 1]; l < finish; l++) {
+                    count = count.add(previous[links[l]]);
+                }
+                current[word] = count;
+            }
+            result[k] = current;
+        }
+        return result;
+    }
+
+    /**
+     * @return whether there are any sequences of the length - if so, there may still be no actual ladders
+     * (when every sequence revisits a word)
+     */
+    public boolean hasCandidates() {
+        return getSequenceCount().signum() > 0;
+    }
+
+    /**
+     * @return the (exact) number of word sequences of the length from the start word to the final word - an
+     * upper bound on the number of ladders
+     */
+    public BigInteger getSequenceCount() {
+        if (bigCounts != null) {
+            return bigCounts[ladderLength - 1][corridor.getBegin()];
+        }
+        return counts.length > 0 ? BigInteger.valueOf(counts[ladderLength - 1][corridor.getBegin()])
+                : BigInteger.ZERO;
+    }
+
+    /**
+     * @return a random ladder (or empty if there are no sequences of the length)
+     * @throws SamplingGaveUpException if every one of {@link #MAXIMUM_ATTEMPTS} draws revisited a word
+     */
+    public Optional<Solution> sample() {
+        if (!hasCandidates()) {
+            return Optional.empty();
+        }
+        int[] ladder = new int[ladderLength];
+        boolean[] onLadder = new boolean[corridor.size()];
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS; attempt++) {
+            int word = corridor.getBegin();
+            ladder[0] = word;
+            onLadder[word] = true;
+            int length = 1;
+            boolean revisited = false;
+            for (int remaining = ladderLength - 2; remaining >= 0 && !revisited; remaining--) {
+                int next = bigCounts == null ? pickNext(word, remaining) : pickBigNext(word, remaining);
+                revisited = onLadder[next];
+                onLadder[next] = true;
+                ladder[length++] = next;
+                word = next;
+            }
+            for (int w = 0; w < length; w++) {
+                onLadder[ladder[w]] = false;
+            }
+            if (!revisited) {
+                Word[] words = new Word[ladderLength];
+                for (int w = 0; w < ladderLength; w++) {
+                    words[w] = corridor.getWord(ladder[w]);
+                }
+                return Optional.of(new Solution(words));
+            }
+        }
+        throw new SamplingGaveUpException("Gave up drawing a " + ladderLength + " word ladder from '"
+                + corridor.getWord(corridor.getBegin()) + "' after " + MAXIMUM_ATTEMPTS
+                + " draws that revisited a word");
+    }
+
+    /**
+     * @return the next word - picked with probability proportional to its count of remaining sequences
+     */
+    private int pickNext(int word, int remaining) {
+        int[] offsets = corridor.getOffsets();
+        int[] links = corridor.getLinks();
+        long[] nextCounts = counts[remaining];
+        long pick = random.nextLong(counts[remaining + 1][word]);
+        int result = -1;
+        for (int l = offsets[word], finish = offsets[word + 1]; l < finish; l++) {
+            int linked = links[l];
+            if (nextCounts[linked] > 0L) {
+                result = linked;
+                pick -= nextCounts[linked];
+                if (pick < 0L) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private int pickBigNext(int word, int remaining) {
+        int[] offsets = corridor.getOffsets();
+        int[] links = corridor.getLinks();
+        BigInteger[] nextCounts = bigCounts[remaining];
+        BigInteger pick = randomBelow(bigCounts[remaining + 1][word]);
+        int result = -1;
+        for (int l = offsets[word], finish = offsets[word + 1]; l < finish; l++) {
+            int linked = links[l];
+            if (nextCounts[linked].signum() > 0) {
+                result = linked;
+                pick = pick.subtract(nextCounts[linked]);
+                if (pick.signum() < 0) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a uniformly random big integer from 0 (inclusive) to the bound (exclusive)
+     */
+    private BigInteger randomBelow(BigInteger bound) {
+        int bits = bound.bitLength();
+        byte[] bytes = new byte[(bits + 7) / 8];
+        BigInteger result;
+        do {
+            random.nextBytes(bytes);
+            // (only as many bits as the bound has - so at least half of the draws are below it)...
+            bytes[0] &= (byte)((1 << (bits - ((bytes.length - 1) * 8))) - 1);
+            result = new BigInteger(1, bytes);
+        } while (result.compareTo(bound) >= 0);
+        return result;
+    }
+
+    /**
+     * @param count the number of ladders to draw
+     * @return the ladders (independent draws - so may contain the same ladder more than once)
+     * @throws SamplingGaveUpException if any draw gave up (see {@link #sample()})
+     */
+    public List<Solution> sample(int count) {
+        List<Solution> result = new ArrayList<>(count);
+        for (int s = 0; s < count; s++) {
+            Optional<Solution> solution = sample();
+            if (solution.isEmpty()) {
+                break;
+            }
+            result.add(solution.get());
+        }
+        return result;
+    }
+}
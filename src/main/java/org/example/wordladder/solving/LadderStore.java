@@ -0,0 +1,392 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.exceptions.ApplicationErrorException;
+import org.example.wordladder.words.Dictionary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent store of solved puzzles - the ladders (as word ordinals, in canonical order) keyed by start word,
+ * final word and maximum ladder length
+ * <p>Ladders are appended to a data file and located via an open addressed hash index file that is
+ * memory-mapped - so a store opened after a restart serves puzzles straight away. The data file is the record:
+ * an index that is missing, or behind the data (e.g. the process ended between writing the two), is brought
+ * up to date from the data file when the store is opened - and any part written record at the end of the data
+ * file is discarded</p>
+ * <p>Ordinals only mean anything for the exact word list - so the files are named by word length and the
+ * dictionary's fingerprint (as "N-letter-FINGERPRINT-ladders.dat" and ".idx"), and an edited dictionary
+ * simply uses other files. A store directory should only be written by one process at a time</p>
+ */
+public class LadderStore implements Closeable {
+    private static final int DATA_MAGIC = 0x574c4c44;
+    private static final int INDEX_MAGIC = 0x574c4c49;
+    private static final int VERSION = 1;
+    private static final String DATA_FILE_SUFFIX = "-ladders.dat";
+    private static final String INDEX_FILE_SUFFIX = "-ladders.idx";
+    // magic, version, word length, word count, fingerprint...
+    private static final int DATA_HEADER_SIZE = 24;
+    // body size, start, final, maximum ladder length, ladder count...
+    private static final int RECORD_HEADER_SIZE = 20;
+    // magic, version, word length, capacity, fingerprint, count, (unused), indexed data length...
+    private static final int INDEX_HEADER_SIZE = 40;
+    private static final int INDEX_COUNT_POSITION = 24;
+    private static final int INDEX_DATA_LENGTH_POSITION = 32;
+    // start (plus one - so zero is an empty slot), final, maximum ladder length, (unused), record position...
+    private static final int SLOT_SIZE = 24;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Path dataPath;
+    private final Path indexPath;
+    private final int wordLength;
+    private final int wordCount;
+    private final long fingerprint;
+    private final FileChannel data;
+    private long dataLength;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int count;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private LadderStore(Path directory, int wordLength, int wordCount, long fingerprint) throws IOException {
+        this.dataPath = getDataFile(directory, wordLength, fingerprint);
+        this.indexPath = directory.resolve(baseName(wordLength, fingerprint) + INDEX_FILE_SUFFIX);
+        this.wordLength = wordLength;
+        this.wordCount = wordCount;
+        this.fingerprint = fingerprint;
+        this.data = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            openData();
+            openIndex();
+        } catch (IOException | RuntimeException e) {
+            data.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens (or creates) the store for a dictionary
+     * @param directory the directory of the store's files (created if need be)
+     * @param dictionary the dictionary
+     * @return the store
+     */
+    public static LadderStore open(Path directory, Dictionary dictionary) {
+        try {
+            Files.createDirectories(directory);
+            return new LadderStore(directory, dictionary.getWordLength(), dictionary.getOrdinalLimit(),
+                    dictionary.getFingerprint());
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error opening ladder store in '" + directory + "'", e);
+        }
+    }
+
+    private static String baseName(int wordLength, long fingerprint) {
+        return wordLength + "-letter-" + String.format(Locale.ROOT, "%016x", fingerprint);
+    }
+
+    static Path getDataFile(Path directory, int wordLength, long fingerprint) {
+        return directory.resolve(baseName(wordLength, fingerprint) + DATA_FILE_SUFFIX);
+    }
+
+    private void openData() throws IOException {
+        if (data.size() == 0L) {
+            ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(DATA_MAGIC).putInt(VERSION).putInt(wordLength).putInt(wordCount).putLong(fingerprint);
+            header.flip();
+            writeFully(header, 0L);
+        } else {
+            ByteBuffer header = readFully(0L, DATA_HEADER_SIZE);
+            if (header == null || header.getInt() != DATA_MAGIC || header.getInt() != VERSION
+                    || header.getInt() != wordLength || header.getInt() != wordCount
+                    || header.getLong() != fingerprint) {
+                throw new ApplicationErrorException("File '" + dataPath + "' is not a ladder store for "
+                        + wordLength + " letter word dictionary");
+            }
+        }
+        dataLength = data.size();
+    }
+
+    private void openIndex() throws IOException {
+        long indexedLength = mapIndex();
+        if (indexedLength < 0L || indexedLength > dataLength) {
+            // no usable index - so every record is indexed afresh...
+            index = null;
+            createIndex(INITIAL_CAPACITY);
+            indexedLength = DATA_HEADER_SIZE;
+        }
+        long position = indexedLength;
+        while (position < dataLength) {
+            ByteBuffer header = readFully(position, RECORD_HEADER_SIZE);
+            long next = header == null ? -1L : position + RECORD_HEADER_SIZE + header.getInt(0);
+            if (next <= position || next > dataLength) {
+                // a record only part written (when the process ended) is discarded...
+                data.truncate(position);
+                dataLength = position;
+                break;
+            }
+            insert(header.getInt(4), header.getInt(8), header.getInt(12), position);
+            position = next;
+        }
+        index.putLong(INDEX_DATA_LENGTH_POSITION, dataLength);
+    }
+
+    /**
+     * @return the data length covered by the existing index - or -1 if there is no (valid) index
+     */
+    private long mapIndex() throws IOException {
+        if (!Files.isRegularFile(indexPath)) {
+            return -1L;
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < INDEX_HEADER_SIZE) {
+                return -1L;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0L, channel.size());
+            int slots = mapped.getInt(12);
+            if (mapped.getInt(0) != INDEX_MAGIC || mapped.getInt(4) != VERSION || mapped.getInt(8) != wordLength
+                    || mapped.getLong(16) != fingerprint || slots < 1 || Integer.bitCount(slots) != 1
+                    || channel.size() != INDEX_HEADER_SIZE + ((long) slots * SLOT_SIZE)) {
+                return -1L;
+            }
+            index = mapped;
+            capacity = slots;
+            count = mapped.getInt(INDEX_COUNT_POSITION);
+            return mapped.getLong(INDEX_DATA_LENGTH_POSITION);
+        }
+    }
+
+    /**
+     * Creates an empty index (via a temporary file, so a part written index is never seen) - holding the
+     * slots of any current index
+     */
+    private void createIndex(int newCapacity) throws IOException {
+        MappedByteBuffer previous = index;
+        int previousCapacity = capacity;
+        Path temp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            index = channel.map(FileChannel.MapMode.READ_WRITE, 0L,
+                    INDEX_HEADER_SIZE + ((long) newCapacity * SLOT_SIZE));
+        }
+        index.putInt(0, INDEX_MAGIC).putInt(4, VERSION).putInt(8, wordLength).putInt(12, newCapacity)
+                .putLong(16, fingerprint);
+        capacity = newCapacity;
+        count = 0;
+        if (previous != null) {
+            for (int slot = 0; slot < previousCapacity; slot++) {
+                int at = INDEX_HEADER_SIZE + (slot * SLOT_SIZE);
+                if (previous.getInt(at) != 0) {
+                    insert(previous.getInt(at) - 1, previous.getInt(at + 4), previous.getInt(at + 8),
+                            previous.getLong(at + 16));
+                }
+            }
+        }
+        index.putLong(INDEX_DATA_LENGTH_POSITION, previous != null ? previous.getLong(INDEX_DATA_LENGTH_POSITION)
+                : DATA_HEADER_SIZE);
+        index.force();
+        Files.move(temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void insert(int start, int end, int maximumLadderLength, long position) throws IOException {
+        // (kept at most half full)...
+        if ((count + 1) * 2 > capacity) {
+            createIndex(capacity * 2);
+        }
+        int slot = slotOf(start, end, maximumLadderLength);
+        int at = INDEX_HEADER_SIZE + (slot * SLOT_SIZE);
+        if (index.getInt(at) == 0) {
+            index.putInt(at + 4, end).putInt(at + 8, maximumLadderLength).putLong(at + 16, position);
+            // (the start is written last - it's what marks the slot as taken)...
+            index.putInt(at, start + 1);
+            count++;
+            index.putInt(INDEX_COUNT_POSITION, count);
+        }
+    }
+
+    /**
+     * @return the slot holding the key - or the empty slot where it would go
+     */
+    private int slotOf(int start, int end, int maximumLadderLength) {
+        int hash = (start * 0x9e3779b1) ^ (end * 0x85ebca77) ^ (maximumLadderLength * 0xc2b2ae3d);
+        int mask = capacity - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (true) {
+            int at = INDEX_HEADER_SIZE + (slot * SLOT_SIZE);
+            int stored = index.getInt(at);
+            if (stored == 0 || (stored == start + 1 && index.getInt(at + 4) == end
+                    && index.getInt(at + 8) == maximumLadderLength)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @param start the start word ordinal
+     * @param end the final word ordinal
+     * @param maximumLadderLength the maximum ladder length
+     * @return the ladders (as word ordinals, in canonical order) - or empty if the puzzle has not been stored
+     */
+    public Optional<List<int[]>> find(int start, int end, int maximumLadderLength) {
+        long position;
+        synchronized (this) {
+            checkOpen();
+            int at = INDEX_HEADER_SIZE + (slotOf(start, end, maximumLadderLength) * SLOT_SIZE);
+            if (index.getInt(at) == 0) {
+                missCount.incrementAndGet();
+                return Optional.empty();
+            }
+            position = index.getLong(at + 16);
+        }
+        hitCount.incrementAndGet();
+        // records are never rewritten once indexed - so the (positional) read needs no lock...
+        try {
+            return Optional.of(readLadders(position));
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error reading ladder store '" + dataPath + "'", e);
+        }
+    }
+
+    private List<int[]> readLadders(long position) throws IOException {
+        ByteBuffer header = readFully(position, RECORD_HEADER_SIZE);
+        ByteBuffer body = header == null ? null : readFully(position + RECORD_HEADER_SIZE, header.getInt(0));
+        if (body == null) {
+            throw new ApplicationErrorException("Ladder store '" + dataPath + "' is truncated");
+        }
+        int ladderCount = header.getInt(16);
+        List<int[]> result = new ArrayList<>(ladderCount);
+        for (int l = 0; l < ladderCount; l++) {
+            int[] ladder = new int[body.getInt()];
+            for (int w = 0; w < ladder.length; w++) {
+                ladder[w] = body.getInt();
+            }
+            result.add(ladder);
+        }
+        return result;
+    }
+
+    /**
+     * Stores a puzzle's ladders (unless already stored)
+     * @param start the start word ordinal
+     * @param end the final word ordinal
+     * @param maximumLadderLength the maximum ladder length
+     * @param ladders the ladders (as word ordinals, in canonical order)
+     * @return whether the ladders were stored
+     */
+    public synchronized boolean add(int start, int end, int maximumLadderLength, List<int[]> ladders) {
+        checkOpen();
+        if (index.getInt(INDEX_HEADER_SIZE + (slotOf(start, end, maximumLadderLength) * SLOT_SIZE)) != 0) {
+            return false;
+        }
+        long bodySize = 0L;
+        for (int[] ladder: ladders) {
+            bodySize += 4L * (ladder.length + 1);
+        }
+        if (bodySize > Integer.MAX_VALUE - RECORD_HEADER_SIZE) {
+            // (too many ladders to store as one record - the puzzle is just solved every time)...
+            return false;
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + (int) bodySize).order(ByteOrder.BIG_ENDIAN);
+        record.putInt((int) bodySize).putInt(start).putInt(end).putInt(maximumLadderLength).putInt(ladders.size());
+        for (int[] ladder: ladders) {
+            record.putInt(ladder.length);
+            for (int ordinal: ladder) {
+                record.putInt(ordinal);
+            }
+        }
+        record.flip();
+        long position = dataLength;
+        try {
+            writeFully(record, position);
+            dataLength = position + record.limit();
+            insert(start, end, maximumLadderLength, position);
+            index.putLong(INDEX_DATA_LENGTH_POSITION, dataLength);
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error writing ladder store '" + dataPath + "'", e);
+        }
+        return true;
+    }
+
+    private ByteBuffer readFully(long position, int size) throws IOException {
+        ByteBuffer result = ByteBuffer.allocate(size).order(ByteOrder.BIG_ENDIAN);
+        while (result.hasRemaining()) {
+            if (data.read(result, position + result.position()) == -1) {
+                return null;
+            }
+        }
+        return result.flip();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            data.write(buffer, position + buffer.position());
+        }
+    }
+
+    private void checkOpen() {
+        if (!data.isOpen()) {
+            throw new IllegalStateException("Ladder store '" + dataPath + "' is closed");
+        }
+    }
+
+    /**
+     * Whether the store is for the dictionary as it is now
+     * @param dictionary the dictionary
+     * @return whether the store matches
+     */
+    public boolean matches(Dictionary dictionary) {
+        return wordLength == dictionary.getWordLength()
+                && wordCount == dictionary.getOrdinalLimit()
+                && fingerprint == dictionary.getFingerprint();
+    }
+
+    /**
+     * @return the number of puzzles stored
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public Path getDataFile() {
+        return dataPath;
+    }
+
+    public Path getIndexFile() {
+        return indexPath;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (index != null) {
+                index.force();
+            }
+            data.close();
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error closing ladder store '" + dataPath + "'", e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.DictionaryListener;
+import org.example.wordladder.words.Word;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * The ladder stores used by solvers - a store is opened in the directory named by the
+ * {@value #DIRECTORY_PROPERTY} system property or can be registered directly
+ * <p>A store is only used whilst it matches its dictionary - any edit to the dictionary drops it (the next
+ * solve opens the store for the edited word list), as does the dictionary being replaced by a reloaded one.
+ * A reloaded dictionary of the same word list shares the store already open</p>
+ * <p>A store is only ever an optimisation - a store that cannot be opened, read or written is reported (once)
+ * and no longer used for the dictionary, and solves simply search</p>
+ */
+public class LadderStores {
+    public static final String DIRECTORY_PROPERTY = "wordladder.ladderStore";
+
+    private static final System.Logger LOGGER = System.getLogger(LadderStores.class.getName());
+
+    private static final Map<Dictionary, Optional<LadderStore>> STORES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Set<Dictionary> LISTENING = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    // stores opened here (rather than registered), by data file - closed here once no dictionary uses them
+    // (guarded by STORES)...
+    private static final Map<Path, LadderStore> OPENED = new HashMap<>();
+    private static final DictionaryListener INVALIDATOR = new DictionaryListener() {
+        @Override
+        public void wordAdded(Dictionary dictionary, Word word) {
+            drop(dictionary);
+        }
+
+        @Override
+        public void wordRemoved(Dictionary dictionary, Word word, List<Word> formerLinkedWords) {
+            drop(dictionary);
+        }
+
+        @Override
+        public void dictionaryReplaced(Dictionary dictionary, Dictionary replacement) {
+            drop(dictionary);
+        }
+    };
+
+    private LadderStores() {
+    }
+
+    public static Optional<LadderStore> forDictionary(Dictionary dictionary) {
+        return STORES.computeIfAbsent(dictionary, d -> {
+            listenTo(d);
+            return openStore(d);
+        });
+    }
+
+    /**
+     * Stops using a store for a dictionary after it has failed (so the failure is only reported once)
+     * @param dictionary the dictionary
+     * @param store the store that failed
+     * @param failure the failure
+     */
+    static void failed(Dictionary dictionary, LadderStore store, RuntimeException failure) {
+        synchronized (STORES) {
+            Optional<LadderStore> current = STORES.get(dictionary);
+            if (current != null && current.isPresent() && current.get() == store) {
+                STORES.put(dictionary, Optional.empty());
+                LOGGER.log(System.Logger.Level.WARNING, "Ladder store '" + store.getDataFile()
+                        + "' failed - no longer used for " + dictionary.getWordLength() + " letter words", failure);
+            }
+        }
+    }
+
+    public static void register(Dictionary dictionary, LadderStore store) {
+        if (!store.matches(dictionary)) {
+            throw new IllegalArgumentException("Ladder store does not match dictionary");
+        }
+        listenTo(dictionary);
+        STORES.put(dictionary, Optional.of(store));
+    }
+
+    public static void unregister(Dictionary dictionary) {
+        STORES.put(dictionary, Optional.empty());
+    }
+
+    private static void listenTo(Dictionary dictionary) {
+        if (LISTENING.add(dictionary)) {
+            dictionary.addListener(INVALIDATOR);
+        }
+    }
+
+    private static void drop(Dictionary dictionary) {
+        // (notified whilst the dictionary's write lock is held - so no solve of it is using the store)...
+        synchronized (STORES) {
+            Optional<LadderStore> store = STORES.remove(dictionary);
+            if (store != null && store.isPresent() && OPENED.get(store.get().getDataFile()) == store.get()
+                    && !STORES.containsValue(store)) {
+                OPENED.remove(store.get().getDataFile());
+                store.get().close();
+            }
+        }
+    }
+
+    private static Optional<LadderStore> openStore(Dictionary dictionary) {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null || directory.isEmpty()) {
+            return Optional.empty();
+        }
+        synchronized (STORES) {
+            try {
+                Path path = Paths.get(directory);
+                // (two stores of the same files would both append to them)...
+                LadderStore store = OPENED.get(LadderStore.getDataFile(path, dictionary.getWordLength(),
+                        dictionary.getFingerprint()));
+                if (store == null || !store.matches(dictionary)) {
+                    store = LadderStore.open(path, dictionary);
+                    OPENED.put(store.getDataFile(), store);
+                }
+                return Optional.of(store);
+            } catch (RuntimeException e) {
+                // (the empty store is kept for the dictionary - so it isn't retried, and reported, on every solve)...
+                LOGGER.log(System.Logger.Level.WARNING, "Ladder store in '" + directory
+                        + "' could not be opened for " + dictionary.getWordLength() + " letter words", e);
+                return Optional.empty();
+            }
+        }
+    }
+}
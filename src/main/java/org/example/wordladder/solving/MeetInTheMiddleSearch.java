@@ -0,0 +1,182 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.Word;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enumerates ladders by meeting in the middle - half ladders are enumerated from both the begin word and the
+ * end word (out to about half the maximum ladder length) and then joined on their shared midpoint word
+ * <p>Every ladder of n words is split at one fixed midpoint (word index (n - 1) / 2) - so each ladder is
+ * produced by exactly one join. Joins that would repeat a word are rejected</p>
+ * <p>Half ladders are enumerated over the puzzle's corridor - so the distances that prune them are the
+ * puzzle analysis' layers (searched at most once) rather than searched again</p>
+ * <p>Ladders are produced in canonical order (shortest first, then alphabetically)</p>
+ */
+class MeetInTheMiddleSearch {
+    private final Corridor corridor;
+    private final int begin;
+    private final int end;
+    private final int maximumLadderLength;
+    private final ParallelTasks tasks;
+    private final int[] offsets;
+    private final int[] links;
+    private long explored;
+
+    // forward half ladders (from begin) by length - each list in alphabetical order...
+    private final List<List<int[]>> forwardHalves = new ArrayList<>();
+    // backward half ladders (from end) by midpoint and length...
+    private final Map<Long, List<int[]>> backwardHalves = new HashMap<>();
+
+    /**
+     * @param corridor the corridor to search (begins at the begin word)
+     * @param maximumLadderLength the maximum ladder length
+     * @param tasks runs the joins
+     */
+    MeetInTheMiddleSearch(Corridor corridor, int maximumLadderLength, ParallelTasks tasks) {
+        this.corridor = corridor;
+        this.begin = corridor.getBegin();
+        this.end = corridor.getEnd();
+        this.maximumLadderLength = maximumLadderLength;
+        this.tasks = tasks;
+        this.offsets = corridor.getOffsets();
+        this.links = corridor.getLinks();
+    }
+
+    static int forwardHalfLength(int ladderLength) {
+        return ((ladderLength - 1) / 2) + 1;
+    }
+
+    static int backwardHalfLength(int ladderLength) {
+        return ladderLength - forwardHalfLength(ladderLength) + 1;
+    }
+
+    List<Solution> search() {
+        if (corridor.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int maximumForward = forwardHalfLength(maximumLadderLength);
+        int maximumBackward = backwardHalfLength(maximumLadderLength);
+        for (int length = 0; length <= maximumForward; length++) {
+            forwardHalves.add(new ArrayList<>());
+        }
+        int[] path = new int[Math.max(maximumForward, maximumBackward)];
+        boolean[] onPath = new boolean[corridor.size()];
+        path[0] = begin;
+        onPath[begin] = true;
+        extendForward(path, 1, maximumForward, onPath);
+        onPath[begin] = false;
+        path[0] = end;
+        onPath[end] = true;
+        extendBackward(path, 1, maximumBackward, onPath);
+        // each backward bucket is put into the order of the ladder suffixes it provides...
+        backwardHalves.values().forEach(halves -> halves.sort(MeetInTheMiddleSearch::compareSuffixes));
+
+        List<Solution> result = new ArrayList<>();
+        for (int ladderLength = corridor.getEndDistance(begin); ladderLength <= maximumLadderLength;
+             ladderLength++) {
+            int forwardLength = forwardHalfLength(ladderLength);
+            int backwardLength = backwardHalfLength(ladderLength);
+            List<int[]> forwards = forwardHalves.get(forwardLength);
+            // joins for each forward half are independent - results are taken in forward half order...
+            tasks.map(forwards.size(), f -> join(forwards.get(f), backwardLength))
+                    .forEach(result::addAll);
+        }
+        return result;
+    }
+
+    long getExploredCount() {
+        return explored;
+    }
+
+    private void extendForward(int[] path, int length, int maximumLength, boolean[] onPath) {
+        explored++;
+        int last = path[length - 1];
+        forwardHalves.get(length).add(Arrays.copyOf(path, length));
+        if (length == maximumLength) {
+            return;
+        }
+        for (int l = offsets[last], finish = offsets[last + 1]; l < finish; l++) {
+            int linked = links[l];
+            // the end word can only ever be at the end of a ladder (never a forward half)...
+            if (!onPath[linked] && linked != end
+                    && length + corridor.getEndDistance(linked) <= maximumLadderLength) {
+                path[length] = linked;
+                onPath[linked] = true;
+                extendForward(path, length + 1, maximumLength, onPath);
+                onPath[linked] = false;
+            }
+        }
+    }
+
+    private void extendBackward(int[] path, int length, int maximumLength, boolean[] onPath) {
+        explored++;
+        int last = path[length - 1];
+        backwardHalves.computeIfAbsent(key(last, length), k -> new ArrayList<>()).add(Arrays.copyOf(path, length));
+        // the begin word can only be a midpoint (the end of a backward half)...
+        if (length == maximumLength || last == begin) {
+            return;
+        }
+        for (int l = offsets[last], finish = offsets[last + 1]; l < finish; l++) {
+            int linked = links[l];
+            if (!onPath[linked] && length + corridor.getBeginDistance(linked) <= maximumLadderLength) {
+                path[length] = linked;
+                onPath[linked] = true;
+                extendBackward(path, length + 1, maximumLength, onPath);
+                onPath[linked] = false;
+            }
+        }
+    }
+
+    private List<Solution> join(int[] forward, int backwardLength) {
+        List<int[]> backwards = backwardHalves.get(key(forward[forward.length - 1], backwardLength));
+        if (backwards == null) {
+            return List.of();
+        }
+        List<Solution> result = new ArrayList<>();
+        for (int[] backward: backwards) {
+            if (disjoint(forward, backward)) {
+                Word[] ladder = new Word[forward.length + backward.length - 1];
+                for (int i = 0; i < forward.length; i++) {
+                    ladder[i] = corridor.getWord(forward[i]);
+                }
+                for (int i = backward.length - 2, at = forward.length; i >= 0; i--, at++) {
+                    ladder[at] = corridor.getWord(backward[i]);
+                }
+                result.add(new Solution(ladder));
+            }
+        }
+        return result;
+    }
+
+    private static boolean disjoint(int[] forward, int[] backward) {
+        // the shared midpoint is the last of both halves - so is not compared...
+        for (int f = 0; f < forward.length - 1; f++) {
+            for (int b = 0; b < backward.length - 1; b++) {
+                if (forward[f] == backward[b]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int compareSuffixes(int[] backward1, int[] backward2) {
+        // a backward half provides the ladder suffix in reverse (local indexes are in alphabetical order)...
+        for (int i = backward1.length - 2; i >= 0; i--) {
+            int compare = Integer.compare(backward1[i], backward2[i]);
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        return 0;
+    }
+
+    private static long key(int midpoint, int length) {
+        return ((long)length << Integer.SIZE) | midpoint;
+    }
+}
@@ -1,9 +1,19 @@
 package org.example.wordladder.solving;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 public class Options {
     public static final int DEFAULT_MAXIMUM_LADDER_LENGTH = 6;
+    public static final long DEFAULT_SUFFIX_CACHE_BYTES = 32L * 1024 * 1024;
 
     private int maximumLadderLength = DEFAULT_MAXIMUM_LADDER_LENGTH;
+    private boolean orderedSolutions;
+    private SearchStrategy searchStrategy = SearchStrategy.AUTO;
+    private Executor executor = ForkJoinPool.commonPool();
+    // (the calling thread plus the common pool's workers - as with parallel streams)...
+    private int parallelism = ForkJoinPool.getCommonPoolParallelism() + 1;
+    private long suffixCacheBytes = DEFAULT_SUFFIX_CACHE_BYTES;
 
     public Options() {
     }
@@ -15,4 +25,70 @@ public class Options {
     public void setMaximumLadderLength(int maximumLadderLength) {
         this.maximumLadderLength = maximumLadderLength;
     }
+
+    public boolean isOrderedSolutions() {
+        return orderedSolutions;
+    }
+
+    /**
+     * When set, the solver produces solutions already in canonical order (shortest ladders first,
+     * then alphabetically by word) - so that no sorting of the solutions is needed afterwards
+     * @param orderedSolutions whether solutions should be produced in canonical order
+     */
+    public void setOrderedSolutions(boolean orderedSolutions) {
+        this.orderedSolutions = orderedSolutions;
+    }
+
+    public SearchStrategy getSearchStrategy() {
+        return searchStrategy;
+    }
+
+    public void setSearchStrategy(SearchStrategy searchStrategy) {
+        this.searchStrategy = searchStrategy;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * The executor that a solve runs its parallel tasks on (defaults to the common fork-join pool) - e.g. a
+     * dedicated pool, or a virtual thread per task executor (on runtimes that have them)
+     * @param executor the executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * The maximum number of threads (including the calling thread) a solve may use at once
+     * - 1 means the solve runs entirely on the calling thread
+     * @param parallelism the thread budget
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public long getSuffixCacheBytes() {
+        return suffixCacheBytes;
+    }
+
+    /**
+     * The memory limit (approximate bytes) for memoised ladder suffixes during a solve - suffixes are shared
+     * when the maximum ladder length is above the shortest distance; 0 turns memoising off
+     * @param suffixCacheBytes the limit
+     */
+    public void setSuffixCacheBytes(long suffixCacheBytes) {
+        if (suffixCacheBytes < 0) {
+            throw new IllegalArgumentException("Suffix cache bytes cannot be negative");
+        }
+        this.suffixCacheBytes = suffixCacheBytes;
+    }
 }
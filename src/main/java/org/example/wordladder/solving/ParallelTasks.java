@@ -0,0 +1,94 @@
+package org.example.wordladder.solving;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * Runs the independent tasks of a solve within its thread budget - at most parallelism tasks run at once,
+ * on the solve's executor (with the calling thread always taking part)
+ * <p>Because the calling thread works through tasks too, a solve always makes progress - even when the
+ * executor is saturated (or is the same pool that the solve itself is running on)</p>
+ */
+class ParallelTasks {
+    private final Executor executor;
+    private final int parallelism;
+
+    ParallelTasks(Executor executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    static ParallelTasks forOptions(Options options) {
+        return new ParallelTasks(options.getExecutor(), options.getParallelism());
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param count the number of tasks
+     * @param task the task (given its index)
+     * @param <T> the type of task result
+     * @return the results of the tasks (in task index order)
+     */
+    <T> List<T> map(int count, IntFunction<T> task) {
+        if (parallelism == 1 || count <= 1) {
+            List<T> result = new ArrayList<>(count);
+            for (int index = 0; index < count; index++) {
+                result.add(task.apply(index));
+            }
+            return result;
+        }
+        Object[] results = new Object[count];
+        AtomicInteger nextIndex = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int index;
+            while ((index = nextIndex.getAndIncrement()) < count) {
+                try {
+                    if (failure.get() == null) {
+                        results[index] = task.apply(index);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        int helpers = Math.min(parallelism, count) - 1;
+        for (int h = 0; h < helpers; h++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                // the calling thread still gets through all the tasks...
+                break;
+            }
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted whilst solving", e);
+        }
+        Throwable thrown = failure.get();
+        if (thrown instanceof RuntimeException) {
+            throw (RuntimeException)thrown;
+        } else if (thrown instanceof Error) {
+            throw (Error)thrown;
+        }
+        @SuppressWarnings("unchecked")
+        List<T> result = (List<T>)Arrays.asList(results);
+        return result;
+    }
+}
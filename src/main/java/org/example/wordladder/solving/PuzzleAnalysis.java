@@ -0,0 +1,187 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.words.Word;
+import org.example.wordladder.words.WordNeighbours;
+
+import java.util.Optional;
+
+/**
+ * The distance layers (ladder lengths) out from a puzzle's start and final words - searched at most once
+ * each and shared by everything asked of the puzzle (minimum ladder length, solvability, corridor pruning)
+ * <p>Solving only searches the layers out to the maximum ladder length - a puzzle with no ladders within the
+ * maximum length is found out by the first of those searches. Layers are only searched in full when the minimum
+ * ladder length (or solvability) is asked for and the layers already searched did not reach the other word - and
+ * then also serve any later solve</p>
+ * <p>Layers belong to the dictionary's neighbours - they are discarded if the dictionary has been edited
+ * (or the puzzle's words changed) since. Methods should be called whilst holding the dictionary's read lock</p>
+ */
+public class PuzzleAnalysis {
+    private final Puzzle puzzle;
+    // (null to search single threaded)...
+    private final Options options;
+    private WordNeighbours neighbours;
+    private Word startWord;
+    private Word finalWord;
+    private Layers startLayers;
+    private Layers finalLayers;
+    private int searchCount;
+
+    public PuzzleAnalysis(Puzzle puzzle) {
+        this(puzzle, null);
+    }
+
+    /**
+     * @param puzzle the puzzle
+     * @param options the options - whose executor and parallelism are used to search large dictionaries
+     */
+    public PuzzleAnalysis(Puzzle puzzle, Options options) {
+        this.puzzle = puzzle;
+        this.options = options;
+    }
+
+    private static class Layers {
+        private final int[] ladderLengths;
+        // how far the layers were searched out to (0 = every connected word)...
+        private final int reach;
+        // whether every connected word was reached (a bounded search can run out of words before its reach)...
+        private final boolean complete;
+
+        private Layers(int[] ladderLengths, int reach) {
+            this.ladderLengths = ladderLengths;
+            this.reach = reach;
+            int deepest = 0;
+            if (reach != 0) {
+                for (int ladderLength: ladderLengths) {
+                    deepest = Math.max(deepest, ladderLength);
+                }
+            }
+            this.complete = reach == 0 || deepest < reach;
+        }
+
+        private boolean covers(int maximumLadderLength) {
+            return complete || (maximumLadderLength > 0 && reach >= maximumLadderLength);
+        }
+    }
+
+    /**
+     * @return the minimum ladder length (or empty if the puzzle is not solvable)
+     */
+    public synchronized Optional<Integer> getMinimumLadderLength() {
+        refresh();
+        Optional<DistanceTable> table = DistanceTables.forWords(puzzle.getDictionary(), startWord, finalWord);
+        if (table.isPresent()) {
+            return table.get().getMinimumLadderLength(startWord, finalWord);
+        }
+        // (layers searched out to a maximum that reached the other word already have its minimum)...
+        Layers first = reachingLayers();
+        if (first == null) {
+            first = fullLayers();
+        }
+        int result = first.ladderLengths[otherOrdinal(first)];
+        return result == 0 ? Optional.empty() : Optional.of(result);
+    }
+
+    public boolean isSolvable() {
+        return getMinimumLadderLength().isPresent();
+    }
+
+    /**
+     * @return the number of breadth first searches run so far
+     */
+    public synchronized int getSearchCount() {
+        return searchCount;
+    }
+
+    /**
+     * @param beginWord the begin word (the puzzle's start or final word)
+     * @param endWord the end word (the other one)
+     * @param maximumLadderLength the maximum ladder length
+     * @return the corridor of words that can be on a ladder within the maximum length
+     */
+    synchronized Corridor corridor(Word beginWord, Word endWord, int maximumLadderLength) {
+        refresh();
+        Optional<DistanceTable> table = DistanceTables.forWords(puzzle.getDictionary(), beginWord, endWord);
+        if (table.isPresent()) {
+            return Corridor.build(neighbours, beginWord, endWord, maximumLadderLength, table);
+        }
+        // layers already searched in full are used as they are - otherwise only search out to the maximum...
+        Layers first = completeLayers();
+        if (first == null) {
+            first = layers(startWord.getLinkedWords().size() <= finalWord.getLinkedWords().size(),
+                    maximumLadderLength);
+        }
+        // (no ladder short enough - so no need to search from the other word)...
+        int minimum = first.ladderLengths[otherOrdinal(first)];
+        if (minimum == 0 || minimum > maximumLadderLength) {
+            return Corridor.build(neighbours, beginWord.getOrdinal(), endWord.getOrdinal(), maximumLadderLength,
+                    new int[neighbours.size()], new int[neighbours.size()]);
+        }
+        int[] fromStart = layers(true, maximumLadderLength).ladderLengths;
+        int[] fromFinal = layers(false, maximumLadderLength).ladderLengths;
+        boolean reversed = beginWord != startWord;
+        return Corridor.build(neighbours, beginWord.getOrdinal(), endWord.getOrdinal(), maximumLadderLength,
+                reversed ? fromFinal : fromStart, reversed ? fromStart : fromFinal);
+    }
+
+    private void refresh() {
+        WordNeighbours current = puzzle.getDictionary().getNeighbours();
+        if (current != neighbours || puzzle.getStartWord() != startWord || puzzle.getFinalWord() != finalWord) {
+            neighbours = current;
+            startWord = puzzle.getStartWord();
+            finalWord = puzzle.getFinalWord();
+            startLayers = null;
+            finalLayers = null;
+        }
+    }
+
+    /**
+     * Layers searched in full - from whichever word already has them, otherwise searched from the word with
+     * the least number of linked words
+     */
+    private Layers fullLayers() {
+        Layers result = completeLayers();
+        return result != null ? result
+                : layers(startWord.getLinkedWords().size() <= finalWord.getLinkedWords().size(), 0);
+    }
+
+    private Layers reachingLayers() {
+        if (startLayers != null && startLayers.ladderLengths[finalWord.getOrdinal()] != 0) {
+            return startLayers;
+        } else if (finalLayers != null && finalLayers.ladderLengths[startWord.getOrdinal()] != 0) {
+            return finalLayers;
+        }
+        return null;
+    }
+
+    private Layers completeLayers() {
+        if (startLayers != null && startLayers.complete) {
+            return startLayers;
+        } else if (finalLayers != null && finalLayers.complete) {
+            return finalLayers;
+        }
+        return null;
+    }
+
+    private int otherOrdinal(Layers layers) {
+        return layers == startLayers ? finalWord.getOrdinal() : startWord.getOrdinal();
+    }
+
+    private Layers layers(boolean fromStart, int maximumLadderLength) {
+        Layers result = fromStart ? startLayers : finalLayers;
+        if (result == null || !result.covers(maximumLadderLength)) {
+            Word source = fromStart ? startWord : finalWord;
+            ParallelTasks tasks = options != null ? ParallelTasks.forOptions(options)
+                    : new ParallelTasks(Runnable::run, 1);
+            result = new Layers(GraphDistances.ladderLengths(neighbours, source.getOrdinal(), maximumLadderLength,
+                    tasks), maximumLadderLength);
+            searchCount++;
+            if (fromStart) {
+                startLayers = result;
+            } else {
+                finalLayers = result;
+            }
+        }
+        return result;
+    }
+}
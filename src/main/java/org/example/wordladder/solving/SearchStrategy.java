@@ -0,0 +1,16 @@
+package org.example.wordladder.solving;
+
+public enum SearchStrategy {
+    /**
+     * Choose the strategy according to the maximum ladder length
+     */
+    AUTO,
+    /**
+     * Depth first search from one word towards the other
+     */
+    DEPTH_FIRST,
+    /**
+     * Half ladders from both words, joined on their midpoints - best for long maximum ladder lengths
+     */
+    MEET_IN_THE_MIDDLE
+}
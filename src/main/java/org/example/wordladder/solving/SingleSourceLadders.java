@@ -0,0 +1,324 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.Word;
+import org.example.wordladder.words.WordGraph;
+import org.example.wordladder.words.WordNeighbours;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * One-to-many ladder queries - a single breadth first search from a source word answers distance and
+ * shortest ladder queries to any number of targets (and neighbourhood exports)
+ * <p>Words are searched in canonical order (the queue is in alphabetical order of shortest ladder within
+ * each distance) - so the first way each word is reached is its canonical shortest ladder</p>
+ * <p>Answers stay consistent if the dictionary is subsequently edited - they come from the graph snapshot
+ * or, in implicit mode, from the links of the words reached (taken whilst searching)</p>
+ */
+public class SingleSourceLadders implements DistanceLookup {
+    private final WordNeighbours neighbours;
+    private final int source;
+    // ladder lengths and parents, indexed by ordinal (length 0 = not reached)...
+    private final int[] ladderLengths;
+    private final int[] parents;
+    // words in the order reached...
+    private final int[] reached;
+    private final int reachedCount;
+
+    /**
+     * Searches out to every connected word
+     * @param dictionary the dictionary
+     * @param source the source word
+     */
+    public SingleSourceLadders(Dictionary dictionary, Word source) {
+        this(dictionary, source, 0);
+    }
+
+    /**
+     * @param dictionary the dictionary
+     * @param source the source word
+     * @param maximumLadderLength how far to search (ladder length, or 0 for no limit)
+     */
+    public SingleSourceLadders(Dictionary dictionary, Word source, int maximumLadderLength) {
+        Lock lock = dictionary.readLock();
+        lock.lock();
+        try {
+            WordNeighbours current = dictionary.getNeighbours();
+            this.source = source.getOrdinal();
+            int size = current.size();
+            ladderLengths = new int[size];
+            parents = new int[size];
+            reached = new int[size];
+            // (graphs are snapshots already - other neighbours have the rows of the words reached kept)...
+            int[][] rows = current instanceof WordGraph ? null : new int[size][];
+            reachedCount = search(current, maximumLadderLength, rows);
+            neighbours = rows == null ? current : new ReachedNeighbours(current, reached, reachedCount, rows);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int search(WordNeighbours current, int maximumLadderLength, int[][] rows) {
+        int[] row = new int[current.getMaximumDegree()];
+        int limit = maximumLadderLength > 0 ? maximumLadderLength : Integer.MAX_VALUE;
+        ladderLengths[this.source] = 1;
+        parents[this.source] = -1;
+        reached[0] = this.source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int word = reached[head++];
+            int ladderLength = ladderLengths[word] + 1;
+            if (ladderLength > limit) {
+                break;
+            }
+            int count = current.linksOf(word, row);
+            if (rows != null) {
+                rows[word] = Arrays.copyOf(row, count);
+            }
+            for (int l = 0; l < count; l++) {
+                int linked = row[l];
+                if (ladderLengths[linked] == 0) {
+                    ladderLengths[linked] = ladderLength;
+                    parents[linked] = word;
+                    reached[tail++] = linked;
+                }
+            }
+        }
+        return tail;
+    }
+
+    public Word getSource() {
+        return neighbours.getWord(source);
+    }
+
+    /**
+     * @param target the target word
+     * @return the minimum ladder length to the target (or empty if not reached)
+     */
+    @Override
+    public Optional<Integer> getDistance(Word target) {
+        int result = ladderLength(target);
+        return result == 0 ? Optional.empty() : Optional.of(result);
+    }
+
+    @Override
+    public boolean reachable(Word word, int maximumLadderLength) {
+        int ladderLength = ladderLength(word);
+        return ladderLength != 0 && ladderLength <= maximumLadderLength;
+    }
+
+    @Override
+    public boolean reachable(Word word, int maximumLadderLength, int currentLadderLength) {
+        int ladderLength = ladderLength(word);
+        return ladderLength != 0 && ladderLength <= (maximumLadderLength - currentLadderLength);
+    }
+
+    /**
+     * @param targets the target words
+     * @return the minimum ladder length to each target reached (in target order)
+     */
+    public Map<Word, Integer> getDistances(Collection<Word> targets) {
+        Map<Word, Integer> result = new LinkedHashMap<>();
+        for (Word target: targets) {
+            int ladderLength = ladderLength(target);
+            if (ladderLength != 0) {
+                result.put(target, ladderLength);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the minimum ladder length to every word reached (in order of ladder length, then alphabetical)
+     */
+    public Map<Word, Integer> getDistances() {
+        Map<Word, Integer> result = new LinkedHashMap<>(reachedCount * 4 / 3 + 1);
+        for (int r = 0; r < reachedCount; r++) {
+            result.put(neighbours.getWord(reached[r]), ladderLengths[reached[r]]);
+        }
+        return result;
+    }
+
+    /**
+     * @param steps the number of steps (letter changes)
+     * @return every word within that many steps of the source (nearest first, then in canonical ladder order)
+     */
+    public List<Word> getWordsWithin(int steps) {
+        List<Word> result = new ArrayList<>();
+        for (int r = 0; r < reachedCount && ladderLengths[reached[r]] - 1 <= steps; r++) {
+            result.add(neighbours.getWord(reached[r]));
+        }
+        return result;
+    }
+
+    /**
+     * @param target the target word
+     * @return the canonical (alphabetically first) shortest ladder to the target - or empty if not reached
+     */
+    public Optional<Solution> getShortestLadder(Word target) {
+        int ladderLength = ladderLength(target);
+        if (ladderLength == 0) {
+            return Optional.empty();
+        }
+        Word[] words = new Word[ladderLength];
+        for (int word = target.getOrdinal(), w = ladderLength - 1; word != -1; word = parents[word], w--) {
+            words[w] = neighbours.getWord(word);
+        }
+        return Optional.of(new Solution(words));
+    }
+
+    /**
+     * @param targets the target words
+     * @return the canonical shortest ladder to each target reached (in target order)
+     */
+    public Map<Word, Solution> getShortestLadders(Collection<Word> targets) {
+        Map<Word, Solution> result = new LinkedHashMap<>();
+        for (Word target: targets) {
+            getShortestLadder(target).ifPresent(solution -> result.put(target, solution));
+        }
+        return result;
+    }
+
+    /**
+     * @param target the target word
+     * @return every shortest ladder to the target (in canonical order)
+     */
+    public List<Solution> getAllShortestLadders(Word target) {
+        List<Solution> result = new ArrayList<>();
+        int ladderLength = ladderLength(target);
+        if (ladderLength != 0) {
+            int[] path = new int[ladderLength];
+            path[ladderLength - 1] = target.getOrdinal();
+            collectShortestLadders(path, ladderLength - 1, result);
+            result.sort(Solution::compareTo);
+        }
+        return result;
+    }
+
+    private void collectShortestLadders(int[] path, int at, List<Solution> result) {
+        int word = path[at];
+        if (at == 0) {
+            Word[] words = new Word[path.length];
+            for (int w = 0; w < path.length; w++) {
+                words[w] = neighbours.getWord(path[w]);
+            }
+            result.add(new Solution(words));
+            return;
+        }
+        // (every linked word one nearer the source is on a shortest ladder)...
+        int[] row = new int[neighbours.getMaximumDegree()];
+        for (int l = 0, count = neighbours.linksOf(word, row); l < count; l++) {
+            int linked = row[l];
+            if (ladderLengths[linked] == at) {
+                path[at - 1] = linked;
+                collectShortestLadders(path, at - 1, result);
+            }
+        }
+    }
+
+    /**
+     * Exports the neighbourhood of the source - one line per word within the steps (nearest first):
+     * the word, its steps from the source and its linked words that are also within the neighbourhood
+     * (tab separated, linked words comma separated)
+     * @param steps the number of steps
+     * @param writer where to write
+     */
+    public void exportNeighbourhood(int steps, Writer writer) {
+        int[] row = new int[neighbours.getMaximumDegree()];
+        try {
+            for (int r = 0; r < reachedCount && ladderLengths[reached[r]] - 1 <= steps; r++) {
+                int word = reached[r];
+                writer.write(neighbours.getWord(word).toString());
+                writer.write('\t');
+                writer.write(Integer.toString(ladderLengths[word] - 1));
+                writer.write('\t');
+                boolean first = true;
+                for (int l = 0, count = neighbours.linksOf(word, row); l < count; l++) {
+                    int linked = row[l];
+                    if (ladderLengths[linked] != 0 && ladderLengths[linked] - 1 <= steps) {
+                        if (!first) {
+                            writer.write(',');
+                        }
+                        writer.write(neighbours.getWord(linked).toString());
+                        first = false;
+                    }
+                }
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int ladderLength(Word target) {
+        int ordinal = target.getOrdinal();
+        // (words added since the search are not in the snapshot)...
+        if (ordinal < 0 || ordinal >= ladderLengths.length || neighbours.getWord(ordinal) != target) {
+            return 0;
+        }
+        return ladderLengths[ordinal];
+    }
+
+    /**
+     * The links of just the words reached by a search (taken whilst searching - words at the search limit have
+     * their links taken afterwards)
+     */
+    private static class ReachedNeighbours implements WordNeighbours {
+        private final Word[] words;
+        private final int[][] rows;
+        private final int maximumDegree;
+
+        private ReachedNeighbours(WordNeighbours neighbours, int[] reached, int reachedCount, int[][] rows) {
+            this.words = new Word[neighbours.size()];
+            this.rows = rows;
+            int[] row = new int[neighbours.getMaximumDegree()];
+            int degree = 0;
+            for (int r = 0; r < reachedCount; r++) {
+                int word = reached[r];
+                words[word] = neighbours.getWord(word);
+                if (rows[word] == null) {
+                    rows[word] = Arrays.copyOf(row, neighbours.linksOf(word, row));
+                }
+                degree = Math.max(degree, rows[word].length);
+            }
+            this.maximumDegree = degree;
+        }
+
+        @Override
+        public int size() {
+            return words.length;
+        }
+
+        @Override
+        public Word getWord(int ordinal) {
+            return words[ordinal];
+        }
+
+        @Override
+        public int linksOf(int ordinal, int[] into) {
+            int[] row = rows[ordinal];
+            if (row == null) {
+                return 0;
+            }
+            System.arraycopy(row, 0, into, 0, row.length);
+            return row.length;
+        }
+
+        @Override
+        public int getMaximumDegree() {
+            return maximumDegree;
+        }
+    }
+}
@@ -4,22 +4,11 @@ import org.example.wordladder.words.Word;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 public class Solution {
     private final List<Word> ladder;
 
-    Solution(CandidateSolution candidateSolution, boolean reversed) {
-        if (reversed) {
-            List<Word> copy = new ArrayList<>(candidateSolution.getLadder());
-            Collections.reverse(copy);
-            this.ladder = Collections.unmodifiableList(copy);
-        } else {
-            this.ladder = Collections.unmodifiableList(candidateSolution.getLadder());
-        }
-    }
-
     Solution(Word... words) {
         ladder = new ArrayList<>(Arrays.asList(words));
     }
@@ -47,7 +36,7 @@ public class Solution {
         if (sizeCompare == 0) {
             int wordCompare = 0;
             for (int w = 0; w < (ladder.size() - 1) && wordCompare == 0; w++) {
-                wordCompare = ladder.get(w).toString().compareTo(other.ladder.get(w).toString());
+                wordCompare = Word.compareByRank(ladder.get(w), other.ladder.get(w));
             }
             return wordCompare;
         }
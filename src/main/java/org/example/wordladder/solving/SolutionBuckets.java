@@ -0,0 +1,37 @@
+package org.example.wordladder.solving;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Solutions grouped by ladder length - appending buckets in search order (rather than sorting
+ * afterwards) keeps solutions in canonical order
+ */
+class SolutionBuckets {
+    private final List<List<Solution>> bySize = new ArrayList<>();
+
+    void add(Solution solution) {
+        bucket(solution.size()).add(solution);
+    }
+
+    void addAll(SolutionBuckets other) {
+        for (int size = 0; size < other.bySize.size(); size++) {
+            List<Solution> otherBucket = other.bySize.get(size);
+            if (!otherBucket.isEmpty()) {
+                bucket(size).addAll(otherBucket);
+            }
+        }
+    }
+
+    void drainTo(List<Solution> solutions) {
+        bySize.forEach(solutions::addAll);
+        bySize.clear();
+    }
+
+    private List<Solution> bucket(int size) {
+        while (bySize.size() <= size) {
+            bySize.add(new ArrayList<>());
+        }
+        return bySize.get(size);
+    }
+}
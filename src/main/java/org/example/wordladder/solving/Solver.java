@@ -2,6 +2,7 @@ package org.example.wordladder.solving;
 
 import org.example.wordladder.Puzzle;
 import org.example.wordladder.words.Word;
+import org.example.wordladder.words.WordNeighbours;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -9,10 +10,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 
 public class Solver {
+    /**
+     * The maximum ladder length from which meet-in-the-middle is used (for the auto search strategy)
+     */
+    public static final int MEET_IN_THE_MIDDLE_MINIMUM_LADDER_LENGTH = 8;
+
     private final Puzzle puzzle;
     private final Options options;
+    private final PuzzleAnalysis analysis;
     private final AtomicLong exploredCount = new AtomicLong();
     private final List<Solution> solutions = new ArrayList<>();
     private Word beginWord;
@@ -20,14 +28,25 @@ public class Solver {
     private boolean reversed;
 
     private int maximumLadderLength;
-    private WordDistanceMap endDistances;
 
     public Solver(Puzzle puzzle, Options options) {
         this.puzzle = puzzle;
         this.options = options;
+        this.analysis = new PuzzleAnalysis(puzzle, options);
     }
 
     public void solve() {
+        // hold the dictionary read lock - so that words cannot be added/removed part way through...
+        Lock lock = puzzle.getDictionary().readLock();
+        lock.lock();
+        try {
+            solveLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void solveLocked() {
         exploredCount.set(0);
         solutions.clear();
         maximumLadderLength = options.getMaximumLadderLength();
@@ -38,67 +57,165 @@ public class Solver {
         beginWord = puzzle.getStartWord();
         endWord = puzzle.getFinalWord();
         reversed = false;
-        // check for short-circuits...
+        if (shortCircuit()) {
+            return;
+        }
+        // puzzles already solved (e.g. before a restart) are served from the store - without any search...
+        Optional<LadderStore> store = LadderStores.forDictionary(puzzle.getDictionary());
+        int start = beginWord.getOrdinal();
+        int end = endWord.getOrdinal();
+        if (store.isPresent()) {
+            Optional<List<int[]>> stored = findStored(store.get(), start, end);
+            if (stored.isPresent()) {
+                WordNeighbours neighbours = puzzle.getDictionary().getNeighbours();
+                stored.get().forEach(ladder -> solutions.add(toSolution(neighbours, ladder)));
+                return;
+            }
+        }
+        search();
+        if (store.isPresent()) {
+            try {
+                store.get().add(start, end, maximumLadderLength, toLadders(solutions));
+            } catch (RuntimeException e) {
+                // the solutions are still good - the store just doesn't get them...
+                LadderStores.failed(puzzle.getDictionary(), store.get(), e);
+            }
+        }
+    }
+
+    private Optional<List<int[]>> findStored(LadderStore store, int start, int end) {
+        try {
+            return store.find(start, end, maximumLadderLength);
+        } catch (RuntimeException e) {
+            // (a store that can't be read is just a miss)...
+            LadderStores.failed(puzzle.getDictionary(), store, e);
+            return Optional.empty();
+        }
+    }
+
+    private boolean shortCircuit() {
         int differences = beginWord.differences(endWord);
         switch (differences) {
             case 0:
                 // same word - so there's only one solution...
                 solutions.add(new Solution(beginWord));
-                return;
+                return true;
             case 1:
                 // the two words are only one letter different...
-                solutions.add(new Solution(beginWord, endWord));
                 if (maximumLadderLength == 2) {
                     // maximum ladder is 2 so we already have the only answer...
-                    return;
+                    solutions.add(new Solution(beginWord, endWord));
+                    return true;
                 }
             case 2:
                 if (maximumLadderLength == 3) {
+                    if (differences == 1) {
+                        solutions.add(new Solution(beginWord, endWord));
+                    }
                     // the two words are only two letters different and maximum ladder is 3...
                     // so we can determine solutions by convergence of the two linked word sets...
-                    Set<Word> startLinkedWords = new HashSet<>(beginWord.getLinkedWords());
-                    startLinkedWords.retainAll(endWord.getLinkedWords());
-                    for (Word intermediateWord: startLinkedWords) {
-                        solutions.add(new Solution(beginWord, intermediateWord, endWord));
+                    Set<Word> endLinkedWords = new HashSet<>(endWord.getLinkedWords());
+                    for (Word intermediateWord: beginWord.getLinkedWords()) {
+                        if (endLinkedWords.contains(intermediateWord)) {
+                            solutions.add(new Solution(beginWord, intermediateWord, endWord));
+                        }
                     }
-                    return;
+                    return true;
                 }
         }
-        // begin with the word that has the least number of linked words...
-        // (this limits the number of pointless candidates explored!)
-        reversed = beginWord.getLinkedWords().size() > endWord.getLinkedWords().size();
-        if (reversed) {
-            beginWord = puzzle.getFinalWord();
-            endWord = puzzle.getStartWord();
+        return false;
+    }
+
+    private void search() {
+        if (isMeetInTheMiddle()) {
+            // (ladders from meeting in the middle are always in canonical order)...
+            MeetInTheMiddleSearch search = new MeetInTheMiddleSearch(
+                    analysis.corridor(beginWord, endWord, maximumLadderLength), maximumLadderLength,
+                    ParallelTasks.forOptions(options));
+            solutions.addAll(search.search());
+            exploredCount.addAndGet(search.getExploredCount());
+            return;
+        }
+        if (!options.isOrderedSolutions()) {
+            // begin with the word that has the least number of linked words...
+            // (this limits the number of pointless candidates explored!)
+            // (ordered solutions always search from the start word - the depth-first search over
+            // alphabetically ordered links then finds the ladders of each length in alphabetical order)
+            reversed = beginWord.getLinkedWords().size() > endWord.getLinkedWords().size();
+            if (reversed) {
+                beginWord = puzzle.getFinalWord();
+                endWord = puzzle.getStartWord();
+            }
         }
-        endDistances = new WordDistanceMap(endWord, maximumLadderLength - 1);
-        beginWord.getLinkedWords()
-                .parallelStream()
-                .filter(word -> endDistances.reachable(word, maximumLadderLength))
-                .map(linkedWord -> new CandidateSolution(this, beginWord, linkedWord))
-                .forEach(this::solve);
-    }
-
-    private void solve(CandidateSolution candidate) {
-        Word lastWord = candidate.ladder.get(candidate.ladder.size() - 1);
-        if (lastWord.equals(endWord)) {
-            foundSolution(candidate);
-        } else if (candidate.ladder.size() < maximumLadderLength) {
-            lastWord.getLinkedWords()
-                    .parallelStream()
-                    .filter(linkedWord -> !candidate.seenWords.contains(linkedWord) && endDistances.reachable(linkedWord, maximumLadderLength, candidate.ladder.size()))
-                    .map(linkedWord -> new CandidateSolution(candidate, linkedWord))
-                    .forEach(this::solve);
+        // only words whose distance from both ends fits within the maximum can be on a ladder...
+        Corridor corridor = analysis.corridor(beginWord, endWord, maximumLadderLength);
+        CorridorSearch search = new CorridorSearch(corridor, maximumLadderLength, reversed,
+                ParallelTasks.forOptions(options), options.getSuffixCacheBytes());
+        solutions.addAll(search.search());
+        exploredCount.addAndGet(search.getExploredCount());
+    }
+
+    private static Solution toSolution(WordNeighbours neighbours, int[] ladder) {
+        Word[] words = new Word[ladder.length];
+        for (int w = 0; w < ladder.length; w++) {
+            words[w] = neighbours.getWord(ladder[w]);
         }
+        return new Solution(words);
     }
 
-    private synchronized void foundSolution(CandidateSolution candidate) {
-        Solution solution = new Solution(candidate, reversed);
-        solutions.add(solution);
+    /**
+     * @return the ladders as word ordinals (in canonical order - whatever order they were found in)
+     */
+    private static List<int[]> toLadders(List<Solution> solutions) {
+        List<Solution> sorted = new ArrayList<>(solutions);
+        sorted.sort(Solution::compareTo);
+        List<int[]> result = new ArrayList<>(sorted.size());
+        for (Solution solution: sorted) {
+            result.add(solution.getLadder().stream().mapToInt(Word::getOrdinal).toArray());
+        }
+        return result;
+    }
+
+    private boolean isMeetInTheMiddle() {
+        switch (options.getSearchStrategy()) {
+            case MEET_IN_THE_MIDDLE:
+                return true;
+            case AUTO:
+                return maximumLadderLength >= MEET_IN_THE_MIDDLE_MINIMUM_LADDER_LENGTH;
+            default:
+                return false;
+        }
     }
 
-    synchronized void incrementExplored() {
-        exploredCount.incrementAndGet();
+    /**
+     * Ranked mode - finds the shortest ladders (in canonical order) regardless of the maximum ladder length
+     * in the options - so there is no need to guess a maximum that is neither too short nor too long
+     * @param count the number of ladders wanted
+     */
+    public void solveShortest(int count) {
+        Lock lock = puzzle.getDictionary().readLock();
+        lock.lock();
+        try {
+            exploredCount.set(0);
+            solutions.clear();
+            Word start = puzzle.getStartWord();
+            Word end = puzzle.getFinalWord();
+            if (count < 1) {
+                return;
+            }
+            if (start.equals(end)) {
+                solutions.add(new Solution(start));
+                return;
+            }
+            WordNeighbours neighbours = puzzle.getDictionary().getNeighbours();
+            KShortestLadders search = new KShortestLadders(neighbours, start.getOrdinal(), end.getOrdinal());
+            for (int[] ladder: search.search(count)) {
+                solutions.add(toSolution(neighbours, ladder));
+            }
+            exploredCount.addAndGet(search.getExploredCount());
+        } finally {
+            lock.unlock();
+        }
     }
 
     public List<Solution> getSolutions() {
@@ -109,7 +226,24 @@ public class Solver {
         return exploredCount.get();
     }
 
+    /**
+     * @return the puzzle's analysis - shared by solving and minimum ladder length calculation
+     */
+    public PuzzleAnalysis getAnalysis() {
+        return analysis;
+    }
+
     public Optional<Integer> calculateMinimumLadderLength() {
+        Lock lock = puzzle.getDictionary().readLock();
+        lock.lock();
+        try {
+            return calculateMinimumLadderLengthLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<Integer> calculateMinimumLadderLengthLocked() {
         Word start = puzzle.getStartWord();
         Word end = puzzle.getFinalWord();
         // check for short-circuits...
@@ -125,12 +259,7 @@ public class Solver {
                 }
                 break;
         }
-        if (start.getLinkedWords().size() > end.getLinkedWords().size()) {
-            // swap start and end word...
-            end = puzzle.getStartWord();
-            start = puzzle.getFinalWord();
-        }
-        return new WordDistanceMap(start).getDistance(end);
+        return analysis.getMinimumLadderLength();
     }
 
     public boolean isSolvable() {
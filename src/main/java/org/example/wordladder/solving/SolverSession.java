@@ -0,0 +1,358 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.exceptions.PuzzleErrorException;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.Word;
+import org.example.wordladder.words.WordNeighbours;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A long-lived solver bound to one dictionary - for solving a stream of puzzles with almost no steady-state
+ * allocation
+ * <p>Each solve borrows scratch state (distances, stamps, queue and path stack - all sized to the dictionary)
+ * from a pool and returns it afterwards - so concurrent solves each get their own, and the pool only ever
+ * grows to the number of solves run at once. Scratch arrays are never cleared - entries are only valid when
+ * stamped with the current solve's epoch</p>
+ * <p>Solves run sequentially on the calling thread and always produce ladders in canonical order - from a
+ * single depth first pass: the shortest ladders are streamed as they are found and longer ladders are held
+ * (as word ordinals, in per length buffers kept with the scratch state) until the pass ends. If the held
+ * ladders would exceed {@value #MAXIMUM_HELD_ORDINALS} ordinals (by default), the longest lengths are dropped from the
+ * pass and each of those is then searched by its own pass</p>
+ */
+public class SolverSession {
+    /**
+     * The most word ordinals (of ladders longer than the shortest) held by any one solve
+     */
+    public static final int MAXIMUM_HELD_ORDINALS = 1 << 22;
+
+    private final Dictionary dictionary;
+    private final int maximumHeldOrdinals;
+    private final ConcurrentLinkedQueue<Scratch> pool = new ConcurrentLinkedQueue<>();
+
+    public SolverSession(Dictionary dictionary) {
+        this(dictionary, MAXIMUM_HELD_ORDINALS);
+    }
+
+    SolverSession(Dictionary dictionary, int maximumHeldOrdinals) {
+        this.dictionary = dictionary;
+        this.maximumHeldOrdinals = maximumHeldOrdinals;
+    }
+
+    /**
+     * Receives each ladder found - the words array is reused for subsequent ladders, so must be copied
+     * if it is to be retained
+     */
+    @FunctionalInterface
+    public interface LadderConsumer {
+        void accept(Word[] words, int length);
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @param startWord the start word
+     * @param finalWord the final word
+     * @param maximumLadderLength the maximum ladder length
+     * @return the ladders (in canonical order)
+     */
+    public List<Solution> solve(String startWord, String finalWord, int maximumLadderLength) {
+        List<Solution> result = new ArrayList<>();
+        solve(lookup(startWord), lookup(finalWord), maximumLadderLength,
+                (words, length) -> result.add(new Solution(Arrays.copyOf(words, length))));
+        return result;
+    }
+
+    /**
+     * Streams the ladders (in canonical order) to a consumer
+     * @param start the start word
+     * @param end the final word
+     * @param maximumLadderLength the maximum ladder length
+     * @param consumer receives each ladder
+     * @return the number of ladders
+     */
+    public long solve(Word start, Word end, int maximumLadderLength, LadderConsumer consumer) {
+        if (maximumLadderLength < 1) {
+            return 0L;
+        }
+        Lock lock = dictionary.readLock();
+        lock.lock();
+        try {
+            Scratch scratch = borrow();
+            try {
+                return scratch.solve(start.getOrdinal(), end.getOrdinal(), maximumLadderLength, consumer);
+            } finally {
+                pool.offer(scratch);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param start the start word
+     * @param end the final word
+     * @return the minimum ladder length (or empty if the words are not connected)
+     */
+    public Optional<Integer> calculateMinimumLadderLength(Word start, Word end) {
+        Lock lock = dictionary.readLock();
+        lock.lock();
+        try {
+            Scratch scratch = borrow();
+            try {
+                int result = scratch.minimumLadderLength(start.getOrdinal(), end.getOrdinal());
+                return result == 0 ? Optional.empty() : Optional.of(result);
+            } finally {
+                pool.offer(scratch);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Word lookup(String str) {
+        Word result = dictionary.getWord(str);
+        if (result == null) {
+            throw new PuzzleErrorException("Word '" + str.toUpperCase() + "' not found in dictionary");
+        }
+        return result;
+    }
+
+    private Scratch borrow() {
+        WordNeighbours neighbours = dictionary.getNeighbours();
+        Scratch result = pool.poll();
+        if (result == null) {
+            return new Scratch(neighbours, maximumHeldOrdinals);
+        }
+        // the dictionary has been edited since the scratch was last used...
+        if (result.neighbours != neighbours) {
+            result.rebind(neighbours);
+        }
+        return result;
+    }
+
+    private static class Scratch {
+        private final int maximumHeldOrdinals;
+        private WordNeighbours neighbours;
+        private int epoch;
+        private int[] endStamps;
+        private int[] endDistances;
+        private int[] beginStamps;
+        private int[] beginDistances;
+        private int[] queue;
+        private int[] onPath;
+        private int[] path = new int[16];
+        private Word[] words = new Word[16];
+        // the links of the word at each ladder position (the last for the breadth first searches)...
+        private int[][] rows = new int[17][0];
+        // ladders held until the pass ends - by ladder length (each buffer is the ladders' ordinals, end to end)...
+        private int[][] held = new int[17][0];
+        private int[] heldCounts = new int[17];
+        private int heldTotal;
+        // the pass - ladders up to the limit (only of exactly the limit length when exact)...
+        private int limit;
+        private boolean exact;
+        private int shortest;
+        private LadderConsumer consumer;
+
+        private Scratch(WordNeighbours neighbours, int maximumHeldOrdinals) {
+            this.maximumHeldOrdinals = maximumHeldOrdinals;
+            rebind(neighbours);
+        }
+
+        private void rebind(WordNeighbours neighbours) {
+            this.neighbours = neighbours;
+            if (rows[0].length < neighbours.getMaximumDegree()) {
+                rows = new int[rows.length][neighbours.getMaximumDegree()];
+            }
+            int size = neighbours.size();
+            if (queue == null || queue.length < size) {
+                endStamps = new int[size];
+                endDistances = new int[size];
+                beginStamps = new int[size];
+                beginDistances = new int[size];
+                queue = new int[size];
+                onPath = new int[size];
+            }
+        }
+
+        private void nextEpoch() {
+            if (++epoch == Integer.MAX_VALUE) {
+                // stamps wrap - so everything is invalidated once...
+                Arrays.fill(endStamps, 0);
+                Arrays.fill(beginStamps, 0);
+                epoch = 1;
+            }
+        }
+
+        /**
+         * Breadth first ladder lengths from a source out to the limit - only valid where stamped with the epoch
+         */
+        private void search(int source, int limit, int[] stamps, int[] distances) {
+            int[] row = rows[rows.length - 1];
+            stamps[source] = epoch;
+            distances[source] = 1;
+            queue[0] = source;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int word = queue[head++];
+                int distance = distances[word] + 1;
+                if (distance > limit) {
+                    break;
+                }
+                for (int l = 0, count = neighbours.linksOf(word, row); l < count; l++) {
+                    int linked = row[l];
+                    if (stamps[linked] != epoch) {
+                        stamps[linked] = epoch;
+                        distances[linked] = distance;
+                        queue[tail++] = linked;
+                    }
+                }
+            }
+        }
+
+        private int minimumLadderLength(int start, int end) {
+            nextEpoch();
+            int[] row = rows[rows.length - 1];
+            beginStamps[start] = epoch;
+            beginDistances[start] = 1;
+            queue[0] = start;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int word = queue[head++];
+                if (word == end) {
+                    return beginDistances[word];
+                }
+                for (int l = 0, count = neighbours.linksOf(word, row); l < count; l++) {
+                    int linked = row[l];
+                    if (beginStamps[linked] != epoch) {
+                        beginStamps[linked] = epoch;
+                        beginDistances[linked] = beginDistances[word] + 1;
+                        queue[tail++] = linked;
+                    }
+                }
+            }
+            return 0;
+        }
+
+        private long solve(int start, int end, int maximumLadderLength, LadderConsumer consumer) {
+            nextEpoch();
+            if (path.length < maximumLadderLength) {
+                path = new int[maximumLadderLength];
+                words = new Word[maximumLadderLength];
+                rows = new int[maximumLadderLength + 1][neighbours.getMaximumDegree()];
+                held = Arrays.copyOf(held, maximumLadderLength + 1);
+                for (int length = 0; length < held.length; length++) {
+                    held[length] = held[length] != null ? held[length] : new int[0];
+                }
+                heldCounts = new int[maximumLadderLength + 1];
+            }
+            search(end, maximumLadderLength, endStamps, endDistances);
+            if (endStamps[start] != epoch) {
+                return 0L;
+            }
+            // (distances from the start complete the corridor - words on no short enough ladder are skipped)...
+            search(start, maximumLadderLength, beginStamps, beginDistances);
+            path[0] = start;
+            onPath[start] = epoch;
+            this.consumer = consumer;
+            shortest = endDistances[start];
+            Arrays.fill(heldCounts, 0);
+            heldTotal = 0;
+            // one pass for every length - the shortest ladders are streamed, longer ones held until it ends...
+            limit = maximumLadderLength;
+            exact = false;
+            long result = extend(start, 1, end);
+            for (int length = shortest + 1; length <= limit; length++) {
+                int[] buffer = held[length];
+                for (int at = 0; at < heldCounts[length]; at += length) {
+                    for (int w = 0; w < length; w++) {
+                        words[w] = neighbours.getWord(buffer[at + w]);
+                    }
+                    consumer.accept(words, length);
+                    result++;
+                }
+            }
+            // (any lengths dropped from the pass, as too many to hold, get a tightly pruned pass each)...
+            exact = true;
+            for (int length = limit + 1; length <= maximumLadderLength; length++) {
+                limit = length;
+                result += extend(start, 1, end);
+            }
+            onPath[start] = 0;
+            this.consumer = null;
+            return result;
+        }
+
+        private boolean inCorridor(int word) {
+            return endStamps[word] == epoch && beginStamps[word] == epoch
+                    && beginDistances[word] + endDistances[word] - 1 <= limit;
+        }
+
+        private long extend(int word, int length, int end) {
+            if (word == end) {
+                if (exact && length != limit) {
+                    return 0L;
+                } else if (!exact && length != shortest) {
+                    hold(length);
+                    return 0L;
+                }
+                for (int w = 0; w < length; w++) {
+                    words[w] = neighbours.getWord(path[w]);
+                }
+                consumer.accept(words, length);
+                return 1L;
+            }
+            if (length == limit) {
+                return 0L;
+            }
+            long result = 0L;
+            int[] row = rows[length];
+            for (int l = 0, count = neighbours.linksOf(word, row); l < count; l++) {
+                int linked = row[l];
+                // (the limit can come down part way through a pass)...
+                if (onPath[linked] != epoch && length < limit && inCorridor(linked)
+                        && length + endDistances[linked] <= limit) {
+                    path[length] = linked;
+                    onPath[linked] = epoch;
+                    result += extend(linked, length + 1, end);
+                    onPath[linked] = 0;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Holds the ladder on the path (of the length) until the pass ends - or, if that would hold too many,
+         * drops the length (and any longer) from the pass
+         */
+        private void hold(int length) {
+            if (heldTotal + length > maximumHeldOrdinals) {
+                for (int dropped = length; dropped <= limit; dropped++) {
+                    heldTotal -= heldCounts[dropped];
+                    heldCounts[dropped] = 0;
+                }
+                limit = length - 1;
+                return;
+            }
+            int[] buffer = held[length];
+            int count = heldCounts[length];
+            if (count + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(count + length, buffer.length * 2));
+                held[length] = buffer;
+            }
+            System.arraycopy(path, 0, buffer, count, length);
+            heldCounts[length] = count + length;
+            heldTotal += length;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.wordladder.solving;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Memoised ladder suffixes over a corridor - every loopless word sequence from a word to the end word within a
+ * number of words, keyed by (word, remaining words)
+ * <p>Suffixes are built from the suffixes of linked words (one word less remaining) - so each (word, remaining)
+ * subproblem is only expanded once, however many prefixes lead to it. Suffixes know nothing of the prefix they
+ * will be joined to - so the no repeated word rule is applied when joining (a suffix mask of words, then an
+ * exact check only where the masks overlap)</p>
+ * <p>The cache is bounded to a number of bytes - least recently used entries are evicted, and subproblems
+ * too big for the cache are not memoised at all (the search just expands those directly)</p>
+ */
+class SuffixCache {
+    // (a single entry may use up to this fraction of the limit)...
+    private static final int ENTRY_LIMIT_DIVISOR = 4;
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final Corridor corridor;
+    private final long limitBytes;
+    private final Map<Long, Suffixes> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param corridor the corridor
+     * @param limitBytes the maximum (approximate) bytes held
+     */
+    SuffixCache(Corridor corridor, long limitBytes) {
+        this.corridor = corridor;
+        this.limitBytes = limitBytes;
+    }
+
+    /**
+     * The suffixes from a word - each starting with the word and ending with the end word (in the order a depth
+     * first search over ascending links would find them)
+     */
+    static class Suffixes {
+        private static final Suffixes NONE = new Suffixes(new int[0], new int[] {0}, new long[0]);
+
+        private final int[] words;
+        private final int[] starts;
+        private final long[] masks;
+
+        private Suffixes(int[] words, int[] starts, long[] masks) {
+            this.words = words;
+            this.starts = starts;
+            this.masks = masks;
+        }
+
+        int size() {
+            return masks.length;
+        }
+
+        int start(int suffix) {
+            return starts[suffix];
+        }
+
+        int length(int suffix) {
+            return starts[suffix + 1] - starts[suffix];
+        }
+
+        int word(int at) {
+            return words[at];
+        }
+
+        /**
+         * @return the mask of the words in the suffix (see {@link #bit(int)})
+         */
+        long mask(int suffix) {
+            return masks[suffix];
+        }
+
+        private long bytes() {
+            return ENTRY_OVERHEAD_BYTES + words.length * 4L + starts.length * 4L + masks.length * 8L;
+        }
+    }
+
+    static long bit(int word) {
+        return 1L << (word & 63);
+    }
+
+    /**
+     * @param word the (local) word
+     * @param remaining the maximum number of words in a suffix (including the word itself and the end word)
+     * @return the suffixes - or null if there are too many to be memoised
+     */
+    Suffixes get(int word, int remaining) {
+        Long key = ((long) remaining << 32) | word;
+        synchronized (entries) {
+            Suffixes result = entries.get(key);
+            if (result != null) {
+                hits++;
+                return result;
+            }
+            misses++;
+        }
+        // built outside of the sync - so other branches can still fetch meanwhile...
+        Suffixes result = build(word, remaining);
+        if (result != null) {
+            synchronized (entries) {
+                if (entries.put(key, result) == null) {
+                    usedBytes += result.bytes();
+                }
+                evict();
+            }
+        }
+        return result;
+    }
+
+    private void evict() {
+        Iterator<Suffixes> iterator = entries.values().iterator();
+        while (usedBytes > limitBytes && iterator.hasNext()) {
+            usedBytes -= iterator.next().bytes();
+            iterator.remove();
+        }
+    }
+
+    private Suffixes build(int word, int remaining) {
+        int end = corridor.getEnd();
+        if (word == end) {
+            return new Suffixes(new int[] {end}, new int[] {0, 1}, new long[] {bit(end)});
+        }
+        if (remaining < 2 || corridor.getEndDistance(word) > remaining) {
+            return Suffixes.NONE;
+        }
+        long entryLimit = limitBytes / ENTRY_LIMIT_DIVISOR;
+        int[] offsets = corridor.getOffsets();
+        int[] links = corridor.getLinks();
+        // (sized for the children first - then filled)...
+        Suffixes[] children = new Suffixes[offsets[word + 1] - offsets[word]];
+        long count = 0;
+        long total = 0;
+        for (int l = offsets[word], finish = offsets[word + 1]; l < finish; l++) {
+            int linked = links[l];
+            if (corridor.getEndDistance(linked) <= remaining - 1) {
+                Suffixes child = get(linked, remaining - 1);
+                if (child == null) {
+                    return null;
+                }
+                children[l - offsets[word]] = child;
+                count += child.size();
+                total += child.words.length + child.size();
+                if (ENTRY_OVERHEAD_BYTES + total * 4L + count * 12L > entryLimit) {
+                    return null;
+                }
+            }
+        }
+        int[] words = new int[(int) total];
+        int[] starts = new int[(int) count + 1];
+        long[] masks = new long[(int) count];
+        int suffixCount = 0;
+        int at = 0;
+        long wordBit = bit(word);
+        for (Suffixes child: children) {
+            if (child == null) {
+                continue;
+            }
+            for (int s = 0; s < child.size(); s++) {
+                // a suffix that goes back through the word is not loopless...
+                if ((child.masks[s] & wordBit) != 0 && contains(child, s, word)) {
+                    continue;
+                }
+                starts[suffixCount] = at;
+                words[at++] = word;
+                System.arraycopy(child.words, child.starts[s], words, at, child.length(s));
+                at += child.length(s);
+                masks[suffixCount++] = child.masks[s] | wordBit;
+            }
+        }
+        starts[suffixCount] = at;
+        if (suffixCount == 0) {
+            return Suffixes.NONE;
+        }
+        if (suffixCount < count) {
+            return new Suffixes(Arrays.copyOf(words, at), Arrays.copyOf(starts, suffixCount + 1),
+                    Arrays.copyOf(masks, suffixCount));
+        }
+        return new Suffixes(words, starts, masks);
+    }
+
+    private static boolean contains(Suffixes suffixes, int suffix, int word) {
+        for (int at = suffixes.starts[suffix], finish = suffixes.starts[suffix + 1]; at < finish; at++) {
+            if (suffixes.words[at] == word) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long getHitCount() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    long getMissCount() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    long getUsedBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+}
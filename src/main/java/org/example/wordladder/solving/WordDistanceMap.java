@@ -1,6 +1,8 @@
 package org.example.wordladder.solving;
 
+import org.example.wordladder.words.Dictionary;
 import org.example.wordladder.words.Word;
+import org.example.wordladder.words.WordNeighbours;
 
 import java.util.ArrayDeque;
 import java.util.HashMap;
@@ -9,7 +11,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 
-public class WordDistanceMap {
+public class WordDistanceMap implements DistanceLookup {
     public final Map<Word, Integer> distances = new HashMap<>();
 
     public WordDistanceMap(Word word, Integer maximumLadderLength) {
@@ -35,17 +37,41 @@ public class WordDistanceMap {
         this(word, null);
     }
 
-    Optional<Integer> getDistance(Word toWord) {
+    /**
+     * Distances over the dictionary's neighbours - large dictionaries are searched a level at a time, in
+     * parallel within the options' thread budget (should be called whilst holding the dictionary's read lock)
+     * @param dictionary the dictionary (of the word)
+     * @param word the word from which distances are mapped
+     * @param maximumLadderLength the maximum ladder length to map out to (or null for no limit)
+     * @param options the options
+     */
+    public WordDistanceMap(Dictionary dictionary, Word word, Integer maximumLadderLength, Options options) {
+        WordNeighbours neighbours = dictionary.getNeighbours();
+        // (0 is no limit to the search)...
+        int limit = maximumLadderLength != null ? Math.max(1, maximumLadderLength) : 0;
+        int[] ladderLengths = GraphDistances.ladderLengths(neighbours, word.getOrdinal(), limit,
+                ParallelTasks.forOptions(options));
+        for (int ordinal = 0; ordinal < ladderLengths.length; ordinal++) {
+            if (ladderLengths[ordinal] != 0) {
+                distances.put(neighbours.getWord(ordinal), ladderLengths[ordinal]);
+            }
+        }
+    }
+
+    @Override
+    public Optional<Integer> getDistance(Word toWord) {
         return Optional.ofNullable(distances.get(toWord));
     }
 
-    boolean reachable(Word word, int maximumLadderLength) {
+    @Override
+    public boolean reachable(Word word, int maximumLadderLength) {
         int distance = distances.getOrDefault(word, -1);
         return distance != -1
                 && distance <= maximumLadderLength;
     }
 
-    boolean reachable(Word word, int maximumLadderLength, int currentLadderLength) {
+    @Override
+    public boolean reachable(Word word, int maximumLadderLength, int currentLadderLength) {
         int distance = distances.getOrDefault(word, -1);
         return distance != -1
                 && distance <= (maximumLadderLength - currentLadderLength);
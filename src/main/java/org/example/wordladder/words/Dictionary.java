@@ -2,97 +2,522 @@ package org.example.wordladder.words;
 
 import org.example.wordladder.exceptions.BadWordException;
 import org.example.wordladder.exceptions.DictionaryLoadErrorException;
-import org.example.wordladder.exceptions.NoResourceForDictionaryException;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class Dictionary {
-    private static final String RESOURCE_NAME_SUFFIX = "-letter-words.txt";
-
     private final int wordLength;
-    private final Map<String, Word> words = new HashMap<>();
+    // the words (by ordinal) and their lookup...
+    private final WordLookup lookup;
+    private final WordPatternIndex patternIndex;
+    private volatile WordGraph graph;
+    // after edits, the last graph built - and the ordinals whose links the edits changed (the next graph is
+    // patched from it, guarded by the dictionary's locks)...
+    private WordGraph patchableGraph;
+    private final BitSet changedOrdinals = new BitSet();
+    private volatile long fingerprint;
+    // (whether any word has been added or removed since loading)...
+    private volatile boolean edited;
+    // (implicit mode only - replaced after every edit)...
+    private volatile ImplicitNeighbours implicitNeighbours;
+    private final LocalityOrder persistedLocalityOrder;
+    // (null unless implicit mode)...
+    private final ImplicitLinks implicitLinks;
+    // edits take the write lock - anything traversing the words (e.g. solving) holds the read lock...
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<DictionaryListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean retired;
 
     public Dictionary(int wordLength) {
+        this(wordLength, DictionarySource.bundled(wordLength));
+    }
+
+    public Dictionary(int wordLength, DictionarySource source) {
+        this(wordLength, source, false, 0);
+    }
+
+    private Dictionary(int wordLength, DictionarySource source, boolean implicit, int linksCacheSize) {
         this.wordLength = wordLength;
-        loadWordsFromResources();
+        this.implicitLinks = implicit ? new ImplicitLinks(this, linksCacheSize) : null;
+        WordLinkageBuilder linkageBuilder = implicit ? null : new WordLinkageBuilder();
+        Map<String, Word> loaded = new HashMap<>();
+        loadWords(source, linkageBuilder, loaded);
+        Word[] words = assignOrdinals(loaded.values());
+        lookup = new WordLookup(wordLength, words);
+        fingerprint = fingerprintOf(words);
+        // the variations built whilst linking are retained as the pattern index...
+        patternIndex = new WordPatternIndex(this, implicit ? null : linkageBuilder.buildVariationsIndex());
+        persistedLocalityOrder = loadLocalityOrder(source);
     }
 
-    private void loadWordsFromResources() {
-        URL resource = Thread.currentThread().getContextClassLoader().getResource(wordLength + RESOURCE_NAME_SUFFIX);
-        if (resource == null) {
-            throw new NoResourceForDictionaryException("Dictionary resource for word length "
-                    + wordLength + " does not exist");
+    /**
+     * Loads a dictionary in implicit mode - word links are not built at load, but generated on demand (by trying
+     * letter substitutions against the word lookup) - for very large word lists, where holding every link
+     * costs far more than the words themselves
+     * <p>Solving searches the dictionary's {@link #getNeighbours() neighbours} - which only generate the links of
+     * the words visited. The graph snapshot (as used by whole dictionary analysis and distance tables) still
+     * holds every link once built - as flat ints</p>
+     * @param wordLength the word length
+     * @param source the word list source
+     * @param linksCacheSize the maximum number of words' links to keep (least recently used are discarded)
+     *                       - 0 for none
+     * @return the dictionary
+     */
+    public static Dictionary implicit(int wordLength, DictionarySource source, int linksCacheSize) {
+        if (linksCacheSize < 0) {
+            throw new IllegalArgumentException("Links cache size cannot be negative");
         }
-        WordLinkageBuilder linkageBuilder = new WordLinkageBuilder();
+        return new Dictionary(wordLength, source, true, linksCacheSize);
+    }
+
+    /**
+     * @return whether word links are generated on demand (rather than built at load)
+     */
+    public boolean isImplicit() {
+        return implicitLinks != null;
+    }
+
+    private LocalityOrder loadLocalityOrder(DictionarySource source) {
+        try (InputStream inputStream = source.openCompanion(LocalityOrder.FILE_SUFFIX)) {
+            return inputStream != null ? LocalityOrder.read(inputStream) : null;
+        } catch (IOException e) {
+            throw new DictionaryLoadErrorException("Error loading word locality order for " + source, e);
+        }
+    }
+
+    private void loadWords(DictionarySource source, WordLinkageBuilder linkageBuilder, Map<String, Word> loaded) {
+        WordListParser parser = new WordListParser(wordLength, source.isStrict(),
+                str -> addWord(str, linkageBuilder, loaded));
         try {
-            Files.lines(Paths.get(resource.toURI()))
-                    .forEach(line -> addWord(line, linkageBuilder));
-        } catch (IOException | URISyntaxException e) {
-            throw new DictionaryLoadErrorException("Error loading " + wordLength + " letter word dictionary", e);
+            source.read(parser);
+            parser.finish();
+        } catch (IOException e) {
+            throw new DictionaryLoadErrorException("Error loading " + wordLength + " letter word dictionary from "
+                    + source, e);
         }
     }
 
-    private void addWord(String str, WordLinkageBuilder linkageBuilder) {
-        if (!str.isEmpty()) {
-            if (str.length() != wordLength) {
-                throw new BadWordException("Word '" + str + "' (length = "
-                        + str.length() + ") cannot be loaded into " + wordLength + " letter word dictionary");
-            }
+    private void addWord(String str, WordLinkageBuilder linkageBuilder, Map<String, Word> loaded) {
+        // word lists may contain the same word more than once (e.g. in different case)...
+        if (!loaded.containsKey(str)) {
             Word word = new Word(str);
-            words.put(word.toString(), word);
-            linkageBuilder.link(word);
+            loaded.put(word.toString(), word);
+            if (linkageBuilder != null) {
+                linkageBuilder.link(word);
+            } else {
+                word.setImplicitLinks(implicitLinks);
+            }
+        }
+    }
+
+    private Word createWord(String str) {
+        if (str.length() != wordLength) {
+            throw new BadWordException("Word '" + str + "' (length = "
+                    + str.length() + ") cannot be loaded into " + wordLength + " letter word dictionary");
         }
+        return new Word(str);
+    }
+
+    private static Word[] assignOrdinals(Collection<Word> loaded) {
+        // loaded words are numbered in alphabetical order (words added later take the next ordinals - so
+        // anything ordered goes by rank rather than ordinal)...
+        Word[] sorted = loaded.toArray(new Word[0]);
+        Arrays.sort(sorted, Word::compareByRank);
+        for (int ordinal = 0; ordinal < sorted.length; ordinal++) {
+            sorted[ordinal].setOrdinal(ordinal);
+        }
+        for (Word word: sorted) {
+            word.sortLinkedWords();
+        }
+        return sorted;
+    }
+
+    /**
+     * Adds a word to the live dictionary - linking it to its neighbours via the variation buckets
+     * (waits for any solving that holds the read lock to finish)
+     * <p>The word takes the next ordinal - no other word's ordinal changes</p>
+     * @param str the word to add
+     * @return the added word (or the existing word if it was already in the dictionary)
+     */
+    public Word addWord(String str) {
+        Word word = createWord(str);
+        lock.writeLock().lock();
+        try {
+            Word existing = lookup.find(word.toString());
+            if (existing != null) {
+                return existing;
+            }
+            lookup.add(word);
+            List<Word> linkedWords;
+            if (implicitLinks != null) {
+                word.setImplicitLinks(implicitLinks);
+                linkedWords = word.findLinkedWords();
+                // (only the new word's neighbours now have another link)...
+                implicitLinks.forget(linkedWords);
+            } else {
+                patternIndex.link(word);
+                linkedWords = word.getLinkedWords();
+            }
+            patternIndex.indexPositions(word);
+            fingerprint += fingerprintTerm(word.getOrdinal(), word);
+            edited = true;
+            linksChanged(word.getOrdinal(), linkedWords);
+            listeners.forEach(listener -> listener.wordAdded(this, word));
+            return word;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a word from the live dictionary - unlinking it from its neighbours
+     * (waits for any solving that holds the read lock to finish)
+     * <p>The word's ordinal is left empty (and not reused) - no other word's ordinal changes</p>
+     * @param str the word to remove
+     * @return whether the word was removed
+     */
+    public boolean removeWord(String str) {
+        lock.writeLock().lock();
+        try {
+            Word word = lookup.find(str);
+            if (word == null) {
+                return false;
+            }
+            List<Word> formerLinkedWords = new ArrayList<>(word.getLinkedWords());
+            if (implicitLinks == null) {
+                patternIndex.unlink(word);
+            }
+            int ordinal = word.getOrdinal();
+            fingerprint -= fingerprintTerm(ordinal, word);
+            edited = true;
+            lookup.remove(word);
+            if (implicitLinks != null) {
+                word.setImplicitLinks(null);
+                implicitLinks.forget(List.of(word));
+                implicitLinks.forget(formerLinkedWords);
+            }
+            linksChanged(ordinal, formerLinkedWords);
+            listeners.forEach(listener -> listener.wordRemoved(this, word, formerLinkedWords));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Notes the ordinals whose links an edit changed - so that the next graph is patched from the current one
+     * (called whilst holding the write lock)
+     */
+    private void linksChanged(int ordinal, List<Word> linkedWords) {
+        implicitNeighbours = null;
+        WordGraph current = graph;
+        if (current != null) {
+            patchableGraph = current;
+            changedOrdinals.clear();
+            graph = null;
+        }
+        if (patchableGraph != null) {
+            // (ordinals beyond the patchable graph are added words - whose rows are always fetched)...
+            int size = patchableGraph.size();
+            if (ordinal < size) {
+                changedOrdinals.set(ordinal);
+            }
+            for (Word linkedWord: linkedWords) {
+                if (linkedWord.getOrdinal() < size) {
+                    changedOrdinals.set(linkedWord.getOrdinal());
+                }
+            }
+        }
+    }
+
+    /**
+     * The read lock to hold whilst traversing words (their links and ordinals) - so that
+     * edits (add/remove word) cannot happen part way through
+     * @return the read lock
+     */
+    public Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * The (ordinal indexed) graph of word links - built on first use, and after edits patched from the previous
+     * graph (only the rows of edited words and their neighbours change)
+     * @return the current graph snapshot
+     */
+    public WordGraph getGraph() {
+        WordGraph result = graph;
+        if (result == null) {
+            lock.readLock().lock();
+            try {
+                // (other readers may be here at the same time - only one builds)...
+                synchronized (changedOrdinals) {
+                    result = graph;
+                    if (result == null) {
+                        result = buildGraph();
+                        graph = result;
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The links between the words - as searched by solvers
+     * @return the graph snapshot - or, in implicit mode, neighbours that generate the links of just the words
+     * a search visits (so that solving never builds the graph)
+     */
+    public WordNeighbours getNeighbours() {
+        if (implicitLinks == null) {
+            return getGraph();
+        }
+        ImplicitNeighbours result = implicitNeighbours;
+        if (result == null) {
+            result = new ImplicitNeighbours(this, implicitLinks);
+            implicitNeighbours = result;
+        }
+        return result;
+    }
+
+    private WordGraph buildGraph() {
+        Word[] wordsByOrdinal = lookup.copyWords();
+        if (patchableGraph != null) {
+            WordGraph result = patchableGraph.patched(wordsByOrdinal, changedOrdinals, fingerprint);
+            patchableGraph = null;
+            changedOrdinals.clear();
+            return result;
+        }
+        WordGraph result = new WordGraph(wordsByOrdinal);
+        if (persistedLocalityOrder != null && persistedLocalityOrder.matches(wordsByOrdinal)) {
+            result.setLocalityOrder(persistedLocalityOrder);
+        }
+        return result;
+    }
+
+    /**
+     * @return the graph snapshot (or the snapshot before edits that the next will be patched from) - or null if
+     * not (yet) built
+     */
+    WordGraph builtGraph() {
+        WordGraph result = graph;
+        return result != null ? result : patchableGraph;
+    }
+
+    /**
+     * The approximate heap bytes held by the dictionary - its words (and their links), word lookup, pattern
+     * index and, if built, graph snapshot
+     * @return the estimated footprint
+     */
+    public long estimateFootprint() {
+        lock.readLock().lock();
+        try {
+            long result = MemoryEstimates.OBJECT_HEADER + lookup.estimateBytes() + patternIndex.estimateBytes();
+            for (int ordinal = 0, limit = lookup.getOrdinalLimit(); ordinal < limit; ordinal++) {
+                Word word = lookup.getWord(ordinal);
+                result += word != null ? word.estimateBytes() : 0L;
+            }
+            WordGraph snapshot = builtGraph();
+            if (snapshot != null) {
+                result += snapshot.estimateBytes();
+            }
+            if (implicitLinks != null) {
+                result += implicitLinks.estimateBytes();
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether any word has been added or removed since the dictionary was loaded (so reloading it would
+     * lose the edits)
+     */
+    public boolean isEdited() {
+        return edited;
+    }
+
+    /**
+     * A hash of all the words and their ordinals - so that anything persisted by ordinal can check it still
+     * matches the dictionary
+     * @return the fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    static long fingerprintOf(Word[] words) {
+        // the sum of a hash of every (ordinal, word) - so an edit just adds or subtracts its word's hash...
+        long result = 0L;
+        for (int ordinal = 0; ordinal < words.length; ordinal++) {
+            if (words[ordinal] != null) {
+                result += fingerprintTerm(ordinal, words[ordinal]);
+            }
+        }
+        return result;
+    }
+
+    private static long fingerprintTerm(int ordinal, Word word) {
+        // FNV-1a over the word, then the ordinal mixed in...
+        long result = 0xcbf29ce484222325L;
+        String str = word.toString();
+        for (int i = 0; i < str.length(); i++) {
+            result = (result ^ str.charAt(i)) * 0x100000001b3L;
+        }
+        result = (result ^ ordinal) * 0x9e3779b97f4a7c15L;
+        return result ^ (result >>> 31);
+    }
+
+    /**
+     * Marks the dictionary as replaced - waiting for anything holding the read lock (e.g. solving) to finish,
+     * then notifying listeners
+     * @param replacement the dictionary that replaced it
+     */
+    void retire(Dictionary replacement) {
+        lock.writeLock().lock();
+        try {
+            retired = true;
+            listeners.forEach(listener -> listener.dictionaryReplaced(this, replacement));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the dictionary has been replaced by a reloaded one (it can still be used - but is no
+     * longer the registry's dictionary for its word length)
+     */
+    public boolean isRetired() {
+        return retired;
+    }
+
+    public void addListener(DictionaryListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(DictionaryListener listener) {
+        listeners.remove(listener);
     }
 
     public boolean isEmpty() {
-        return words.isEmpty();
+        return lookup.size() == 0;
     }
 
+    /**
+     * @return the number of words
+     */
     public int size() {
-        return words.size();
+        return lookup.size();
+    }
+
+    /**
+     * @return one more than the highest ordinal any word has had - the same as the size unless words have been
+     * removed (whose ordinals are not reused)
+     */
+    public int getOrdinalLimit() {
+        return lookup.getOrdinalLimit();
     }
 
+    /**
+     * @param word the word (in any case)
+     * @return the word (or null if it is not in the dictionary)
+     */
     public Word getWord(String word) {
-        return words.get(word.toUpperCase());
+        return lookup.find(word);
+    }
+
+    /**
+     * @param word the word (in any case)
+     * @return the word's ordinal (or -1 if it is not in the dictionary)
+     */
+    public int getOrdinal(CharSequence word) {
+        return lookup.ordinalOf(word);
+    }
+
+    Word lookup(CharSequence word) {
+        return lookup.find(word);
+    }
+
+    ImplicitLinks getImplicitLinks() {
+        return implicitLinks;
+    }
+
+    /**
+     * @param ordinal the ordinal (less than the {@link #getOrdinalLimit() ordinal limit})
+     * @return the word - or null if the word with that ordinal has been removed
+     */
+    public Word getWord(int ordinal) {
+        return lookup.getWord(ordinal);
     }
 
     public int getWordLength() {
         return wordLength;
     }
 
+    public WordPatternIndex getPatternIndex() {
+        return patternIndex;
+    }
+
     private static class WordLinkageBuilder {
-        private final Map<String, List<Word>> variations = new HashMap<>();
+        private final VariationBuckets variations = new VariationBuckets();
 
         private void link(Word word) {
-            word.getVariationPatterns().forEach(variation -> {
-                List<Word> links = variations.computeIfAbsent(variation, s -> new ArrayList<>());
-                links.forEach(linkedWord -> {
-                    linkedWord.addLinkedWord(word);
-                    word.addLinkedWord(linkedWord);
-                });
-                links.add(word);
-            });
+            char[] letters = word.toString().toCharArray();
+            for (int pos = 0; pos < letters.length; pos++) {
+                Word[] links = variations.get(letters, pos);
+                if (links == null) {
+                    variations.put(letters, pos, new Word[] {word});
+                } else {
+                    for (Word linkedWord: links) {
+                        linkedWord.addLinkedWord(word);
+                        word.addLinkedWord(linkedWord);
+                    }
+                    Word[] updated = Arrays.copyOf(links, links.length + 1);
+                    updated[links.length] = word;
+                    variations.put(letters, pos, updated);
+                }
+            }
+        }
+
+        private VariationBuckets buildVariationsIndex() {
+            // (words are linked in load order - the index keeps each variation's words alphabetical)...
+            variations.sortBuckets();
+            return variations;
         }
     }
 
+    /**
+     * Shared (bundled) dictionaries - held in a {@link DictionaryRegistry}, bounded by the
+     * {@value DictionaryRegistry#BUDGET_PROPERTY} system property (bytes - unlimited if not set)
+     */
     public static class Factory {
-        private static final Map<Integer, Dictionary> CACHE = new HashMap<>();
+        private static final DictionaryRegistry REGISTRY = new DictionaryRegistry(
+                Long.getLong(DictionaryRegistry.BUDGET_PROPERTY, DictionaryRegistry.UNLIMITED));
 
         public static Dictionary fromWord(String word) {
             return forWordLength(word.length());
         }
 
         public static Dictionary forWordLength(int wordLength) {
-            return CACHE.computeIfAbsent(wordLength, integer -> new Dictionary(wordLength));
+            return REGISTRY.get(wordLength);
+        }
+
+        public static DictionaryRegistry getRegistry() {
+            return REGISTRY;
         }
     }
 }
@@ -0,0 +1,23 @@
+package org.example.wordladder.words;
+
+import java.util.List;
+
+/**
+ * Notified of edits to a live dictionary - so that anything derived from the dictionary (e.g. cached
+ * distances) can discard just the parts affected by the edit
+ * <p>Notifications are made whilst the dictionary's write lock is held</p>
+ */
+public interface DictionaryListener {
+    void wordAdded(Dictionary dictionary, Word word);
+
+    void wordRemoved(Dictionary dictionary, Word word, List<Word> formerLinkedWords);
+
+    /**
+     * The dictionary has been replaced by a reloaded one (see {@link DictionaryRegistry#replace(Dictionary)}) -
+     * anything derived from it can be discarded (notified once solves on the dictionary have finished)
+     * @param dictionary the replaced dictionary
+     * @param replacement the dictionary that replaced it
+     */
+    default void dictionaryReplaced(Dictionary dictionary, Dictionary replacement) {
+    }
+}
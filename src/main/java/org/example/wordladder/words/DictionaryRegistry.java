@@ -0,0 +1,288 @@
+package org.example.wordladder.words;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * Loaded dictionaries by word length - bounded by an (approximate) memory budget
+ * <p>Each dictionary's footprint is estimated when it is loaded (and again whenever its graph snapshot has
+ * changed) - once the total exceeds the budget, the least recently requested word lengths are evicted. An evicted
+ * word length is simply loaded again on its next request (bundled word lists load from their compact lists, so
+ * reloading is cheap). The most recently requested dictionary is never evicted - even if it alone exceeds the
+ * budget - and nor is an {@link Dictionary#isEdited() edited} dictionary (reloading it would lose the edits)</p>
+ * <p>Evicting only drops the registry's reference - anything still holding an evicted dictionary (e.g. a puzzle)
+ * carries on using it</p>
+ * <p>A word length can also be reloaded (e.g. after its word list has been updated) without stopping - the new
+ * dictionary is built whilst the current one carries on being served, and then swapped in (see
+ * {@link #replace(Dictionary)})</p>
+ */
+public class DictionaryRegistry {
+    public static final String BUDGET_PROPERTY = "wordladder.dictionaryBudget";
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final IntFunction<Dictionary> loader;
+    // access ordered - so the eldest is the least recently requested...
+    private final Map<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // (so that a word length is only loaded once, without loads of other lengths waiting)...
+    private final Map<Integer, Object> loadLocks = new ConcurrentHashMap<>();
+    private long budgetBytes;
+    private long usedBytes;
+    private long loadCount;
+    private long evictionCount;
+
+    private static class Entry {
+        private final Dictionary dictionary;
+        private WordGraph estimatedGraph;
+        private long bytes;
+
+        private Entry(Dictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        private boolean isStale() {
+            return estimatedGraph != dictionary.builtGraph();
+        }
+
+        private long estimate() {
+            estimatedGraph = dictionary.builtGraph();
+            bytes = dictionary.estimateFootprint();
+            return bytes;
+        }
+    }
+
+    /**
+     * @param budgetBytes the maximum (approximate) bytes of loaded dictionaries ({@link #UNLIMITED} for no limit)
+     */
+    public DictionaryRegistry(long budgetBytes) {
+        this(budgetBytes, Dictionary::new);
+    }
+
+    /**
+     * @param budgetBytes the maximum (approximate) bytes of loaded dictionaries ({@link #UNLIMITED} for no limit)
+     * @param loader loads the dictionary for a word length
+     */
+    public DictionaryRegistry(long budgetBytes, IntFunction<Dictionary> loader) {
+        checkBudget(budgetBytes);
+        this.budgetBytes = budgetBytes;
+        this.loader = loader;
+    }
+
+    private static void checkBudget(long budgetBytes) {
+        if (budgetBytes < 0L) {
+            throw new IllegalArgumentException("Dictionary budget cannot be negative");
+        }
+    }
+
+    /**
+     * @param wordLength the word length
+     * @return the dictionary - loaded if not already (or if evicted)
+     */
+    public Dictionary get(int wordLength) {
+        Dictionary result = find(wordLength);
+        if (result != null) {
+            return result;
+        }
+        synchronized (loadLock(wordLength)) {
+            result = find(wordLength);
+            if (result == null) {
+                result = loader.apply(wordLength);
+                Entry entry = new Entry(result);
+                long bytes = entry.estimate();
+                synchronized (this) {
+                    entries.put(wordLength, entry);
+                    usedBytes += bytes;
+                    loadCount++;
+                    evictOverBudget();
+                }
+            }
+        }
+        return result;
+    }
+
+    private Object loadLock(int wordLength) {
+        return loadLocks.computeIfAbsent(wordLength, length -> new Object());
+    }
+
+    /**
+     * Swaps in a dictionary for its word length - requests from then on get the replacement, whilst anything
+     * already holding the replaced dictionary (e.g. puzzles being solved) carries on using it. Once solves of the
+     * replaced dictionary have finished, it is retired - and its listeners notified, so that anything derived
+     * from it (distance tables, stored ladders etc.) is dropped with it
+     * <p>The replacement's graph snapshots are built before it is swapped in - so the first solves after the
+     * swap don't pay for them (except in implicit mode - where solving doesn't use the graph). Returns once the
+     * replaced dictionary has been retired</p>
+     * @param replacement the replacement dictionary
+     * @return the replaced dictionary (or null if the word length was not loaded)
+     */
+    public Dictionary replace(Dictionary replacement) {
+        int wordLength = replacement.getWordLength();
+        if (!replacement.isImplicit()) {
+            replacement.getGraph().inLocalityOrder();
+        }
+        Entry entry = new Entry(replacement);
+        long bytes = entry.estimate();
+        Entry replaced;
+        // (the load lock - so that a load of the word length already under way cannot overwrite the swap)...
+        synchronized (loadLock(wordLength)) {
+            synchronized (this) {
+                replaced = entries.put(wordLength, entry);
+                usedBytes += bytes - (replaced != null ? replaced.bytes : 0L);
+                evictOverBudget();
+            }
+        }
+        if (replaced == null) {
+            return null;
+        }
+        if (replaced.dictionary != replacement) {
+            replaced.dictionary.retire(replacement);
+        }
+        return replaced.dictionary;
+    }
+
+    /**
+     * Reloads a word length's dictionary (see {@link #replace(Dictionary)})
+     * @param wordLength the word length
+     * @return the reloaded dictionary
+     */
+    public Dictionary reload(int wordLength) {
+        Dictionary result = loader.apply(wordLength);
+        synchronized (this) {
+            loadCount++;
+        }
+        replace(result);
+        return result;
+    }
+
+    /**
+     * Reloads a word length's dictionary in the background (see {@link #replace(Dictionary)})
+     * @param wordLength the word length
+     * @param executor the executor to load on
+     * @return the reloaded dictionary - completed once swapped in and the replaced dictionary retired
+     */
+    public CompletableFuture<Dictionary> reloadAsync(int wordLength, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> reload(wordLength), executor);
+    }
+
+    private Dictionary find(int wordLength) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(wordLength);
+            if (entry == null) {
+                return null;
+            }
+            if (!entry.isStale()) {
+                return entry.dictionary;
+            }
+        }
+        // (a rebuilt graph changes the footprint - estimated outside the sync, as it visits every word)...
+        long bytes = entry.dictionary.estimateFootprint();
+        synchronized (this) {
+            if (entries.get(wordLength) == entry) {
+                usedBytes += bytes - entry.bytes;
+                entry.bytes = bytes;
+                entry.estimatedGraph = entry.dictionary.builtGraph();
+                evictOverBudget();
+            }
+        }
+        return entry.dictionary;
+    }
+
+    private void evictOverBudget() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        // (the most recently requested is last - and is never evicted)...
+        for (int remaining = entries.size(); usedBytes > budgetBytes && remaining > 1; remaining--) {
+            Entry entry = iterator.next();
+            if (!entry.dictionary.isEdited()) {
+                usedBytes -= entry.bytes;
+                iterator.remove();
+                evictionCount++;
+            }
+        }
+    }
+
+    /**
+     * Re-estimates every loaded dictionary (e.g. after edits or building graphs) and evicts down to the budget
+     */
+    public void trim() {
+        List<Entry> estimating;
+        synchronized (this) {
+            estimating = new ArrayList<>(entries.values());
+        }
+        for (Entry entry: estimating) {
+            long bytes = entry.dictionary.estimateFootprint();
+            synchronized (this) {
+                if (entries.containsValue(entry)) {
+                    usedBytes += bytes - entry.bytes;
+                    entry.bytes = bytes;
+                    entry.estimatedGraph = entry.dictionary.builtGraph();
+                }
+            }
+        }
+        synchronized (this) {
+            evictOverBudget();
+        }
+    }
+
+    /**
+     * Evicts a word length's dictionary (it will be loaded again on its next request) - even if it has been
+     * edited
+     * @param wordLength the word length
+     * @return whether the word length was loaded
+     */
+    public synchronized boolean evict(int wordLength) {
+        Entry entry = entries.remove(wordLength);
+        if (entry == null) {
+            return false;
+        }
+        usedBytes -= entry.bytes;
+        evictionCount++;
+        return true;
+    }
+
+    public synchronized boolean isLoaded(int wordLength) {
+        return entries.containsKey(wordLength);
+    }
+
+    /**
+     * @return the loaded word lengths (least recently requested first)
+     */
+    public synchronized List<Integer> getLoadedWordLengths() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    public synchronized long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * @param budgetBytes the maximum (approximate) bytes of loaded dictionaries ({@link #UNLIMITED} for no limit)
+     *                    - lowering the budget evicts straight away
+     */
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        checkBudget(budgetBytes);
+        this.budgetBytes = budgetBytes;
+        evictOverBudget();
+    }
+
+    /**
+     * @return the estimated bytes of the loaded dictionaries
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized long getLoadCount() {
+        return loadCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.wordladder.words;
+
+import org.example.wordladder.exceptions.NoResourceForDictionaryException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Where the words for a dictionary are streamed from - the bundled word lists (on the classpath, so also
+ * from within a jar), arbitrary files (memory-mapped when large) or any input stream (optionally gzipped)
+ * <p>Word lists are one word per line - other than for the bundled lists, lines that are not words of the
+ * dictionary's length (or contain anything other than letters) are skipped, so one list containing words of
+ * many lengths can be used for every dictionary</p>
+ * <p>Word lists can also be {@link FrontCodedWordList compact} (files named with the ".fc" suffix) - and
+ * bundled word lists are read from their compact form when it is on the classpath</p>
+ */
+public abstract class DictionarySource {
+    static final String RESOURCE_NAME_SUFFIX = "-letter-words.txt";
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    static final long MEMORY_MAP_THRESHOLD = 8 * 1024 * 1024;
+
+    private final String description;
+    private final boolean strict;
+
+    private DictionarySource(String description, boolean strict) {
+        this.description = description;
+        this.strict = strict;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    boolean isStrict() {
+        return strict;
+    }
+
+    abstract void read(WordListParser parser) throws IOException;
+
+    /**
+     * Opens a companion of the word list (e.g. a persisted word order) - the word list name plus a suffix
+     * @param suffix the companion suffix
+     * @return the companion stream (or null if the source has no such companion)
+     * @throws IOException if the companion cannot be opened
+     */
+    InputStream openCompanion(String suffix) throws IOException {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    /**
+     * The word list bundled for a given word length
+     * @param wordLength the word length
+     * @return the source
+     */
+    public static DictionarySource bundled(int wordLength) {
+        return new ClasspathSource(wordLength + RESOURCE_NAME_SUFFIX, true, true);
+    }
+
+    /**
+     * The (plain text) word list bundled for a given word length - ignoring any compact form
+     * @param wordLength the word length
+     * @return the source
+     */
+    public static DictionarySource bundledText(int wordLength) {
+        return new ClasspathSource(wordLength + RESOURCE_NAME_SUFFIX, true, false);
+    }
+
+    public static DictionarySource classpath(String resourceName) {
+        return new ClasspathSource(resourceName, false, false);
+    }
+
+    /**
+     * A word list file - gzipped if the file name ends with ".gz", memory-mapped if it is large
+     * @param path the file path
+     * @return the source
+     */
+    public static DictionarySource file(Path path) {
+        if (path.getFileName().toString().endsWith(FrontCodedWordList.FILE_SUFFIX)) {
+            return compactStream(path.toString(), () -> Files.newInputStream(path));
+        }
+        if (path.getFileName().toString().endsWith(GZIP_SUFFIX)) {
+            return stream(path.toString(), () -> Files.newInputStream(path), true);
+        }
+        return new FileSource(path);
+    }
+
+    public static DictionarySource stream(String description, StreamOpener opener, boolean gzipped) {
+        return new StreamSource(description, gzipped ? () -> new GZIPInputStream(opener.open(), BUFFER_SIZE) : opener);
+    }
+
+    /**
+     * A {@link FrontCodedWordList compact} word list stream
+     * @param description the description of the source
+     * @param opener opens the stream
+     * @return the source
+     */
+    public static DictionarySource compactStream(String description, StreamOpener opener) {
+        return new CompactStreamSource(description, opener);
+    }
+
+    @FunctionalInterface
+    public interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+
+    private static void readStream(InputStream inputStream, WordListParser parser) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            parser.parse(buffer, 0, read);
+        }
+    }
+
+    private static class ClasspathSource extends DictionarySource {
+        private final String resourceName;
+        private final boolean preferCompact;
+
+        private ClasspathSource(String resourceName, boolean strict, boolean preferCompact) {
+            super("classpath:" + resourceName, strict);
+            this.resourceName = resourceName;
+            this.preferCompact = preferCompact;
+        }
+
+        @Override
+        void read(WordListParser parser) throws IOException {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (preferCompact) {
+                InputStream compactStream = classLoader.getResourceAsStream(resourceName + FrontCodedWordList.FILE_SUFFIX);
+                if (compactStream != null) {
+                    try (compactStream) {
+                        FrontCodedWordList.read(compactStream, parser);
+                    }
+                    return;
+                }
+            }
+            // streamed (rather than via a file path) - which works whether the resource is in a jar or not...
+            InputStream inputStream = classLoader.getResourceAsStream(resourceName);
+            if (inputStream == null) {
+                throw new NoResourceForDictionaryException("Dictionary resource '" + resourceName + "' does not exist");
+            }
+            try (inputStream) {
+                readStream(inputStream, parser);
+            }
+        }
+
+        @Override
+        InputStream openCompanion(String suffix) {
+            return Thread.currentThread().getContextClassLoader().getResourceAsStream(resourceName + suffix);
+        }
+    }
+
+    private static class FileSource extends DictionarySource {
+        private final Path path;
+
+        private FileSource(Path path) {
+            super(path.toString(), false);
+            this.path = path;
+        }
+
+        @Override
+        void read(WordListParser parser) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < MEMORY_MAP_THRESHOLD) {
+                    readStream(Channels.newInputStream(channel), parser);
+                    return;
+                }
+                // map in chunks - a single mapping cannot exceed 2GB...
+                for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(Integer.MAX_VALUE, size - position));
+                    parser.parse(buffer);
+                }
+            }
+        }
+
+        @Override
+        InputStream openCompanion(String suffix) throws IOException {
+            Path companion = path.resolveSibling(path.getFileName() + suffix);
+            return Files.isRegularFile(companion) ? Files.newInputStream(companion) : null;
+        }
+    }
+
+    private static class CompactStreamSource extends DictionarySource {
+        private final StreamOpener opener;
+
+        private CompactStreamSource(String description, StreamOpener opener) {
+            super(description, false);
+            this.opener = opener;
+        }
+
+        @Override
+        void read(WordListParser parser) throws IOException {
+            try (InputStream inputStream = opener.open()) {
+                FrontCodedWordList.read(inputStream, parser);
+            }
+        }
+    }
+
+    private static class StreamSource extends DictionarySource {
+        private final StreamOpener opener;
+
+        private StreamSource(String description, StreamOpener opener) {
+            super(description, false);
+            this.opener = opener;
+        }
+
+        @Override
+        void read(WordListParser parser) throws IOException {
+            try (InputStream inputStream = opener.open()) {
+                readStream(inputStream, parser);
+            }
+        }
+    }
+}
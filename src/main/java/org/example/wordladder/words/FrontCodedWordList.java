@@ -0,0 +1,193 @@
+package org.example.wordladder.words;
+
+import org.example.wordladder.exceptions.ApplicationErrorException;
+import org.example.wordladder.exceptions.DictionaryLoadErrorException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary word lists - a sorted word list front coded (each word stored as the length of the prefix it
+ * shares with the previous word, followed by just its remaining letters), optionally deflated
+ * <p>Bundled word lists are also shipped in this form (the plain text lists remain the source of truth - and
+ * are what the compact lists are written from). Compact lists are fed to the dictionary straight from the
+ * bytes - no line parsing or checking is needed, as they are only ever written from already loaded words</p>
+ */
+public class FrontCodedWordList {
+    public static final String FILE_SUFFIX = ".fc";
+    private static final int MAGIC = 0x574c4643;
+    private static final int VERSION = 1;
+    private static final int FLAG_DEFLATED = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private FrontCodedWordList() {
+    }
+
+    /**
+     * Writes a dictionary's words (via a temporary file, so a partially written list is never seen)
+     * @param dictionary the dictionary
+     * @param path the file to write to
+     * @param deflated whether to deflate the front coded words
+     */
+    public static void write(Dictionary dictionary, Path path, boolean deflated) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(temp)) {
+            write(dictionary, outputStream, deflated);
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error writing compact word list '" + path + "'", e);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error writing compact word list '" + path + "'", e);
+        }
+    }
+
+    /**
+     * @param dictionary the dictionary
+     * @param outputStream the stream to write to (not closed)
+     * @param deflated whether to deflate the front coded words
+     * @throws IOException if the stream cannot be written
+     */
+    public static void write(Dictionary dictionary, OutputStream outputStream, boolean deflated) throws IOException {
+        int wordLength = dictionary.getWordLength();
+        // (words added to the dictionary take later ordinals - so the words are sorted again)...
+        String[] words = new String[dictionary.size()];
+        for (int ordinal = 0, w = 0; ordinal < dictionary.getOrdinalLimit(); ordinal++) {
+            Word word = dictionary.getWord(ordinal);
+            if (word != null) {
+                words[w++] = word.toString();
+            }
+        }
+        Arrays.sort(words);
+        DataOutputStream header = new DataOutputStream(outputStream);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte(deflated ? FLAG_DEFLATED : 0);
+        header.writeByte(wordLength);
+        header.writeInt(words.length);
+        header.flush();
+        Deflater deflater = deflated ? new Deflater(Deflater.BEST_COMPRESSION) : null;
+        OutputStream body = deflated
+                ? new DeflaterOutputStream(outputStream, deflater, BUFFER_SIZE)
+                : new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        try {
+            byte[] previous = new byte[wordLength];
+            byte[] current = new byte[wordLength];
+            for (int w = 0; w < words.length; w++) {
+                String word = words[w];
+                int shared = 0;
+                for (int i = 0; i < wordLength; i++) {
+                    current[i] = (byte) word.charAt(i);
+                    if (shared == i && current[i] == previous[i] && w > 0) {
+                        shared++;
+                    }
+                }
+                body.write(shared);
+                body.write(current, shared, wordLength - shared);
+                byte[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            if (body instanceof DeflaterOutputStream) {
+                ((DeflaterOutputStream) body).finish();
+            }
+            body.flush();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Writes the compact lists of the bundled (text) word lists - named so that, when the directory is on the
+     * classpath, they are used instead of the text lists
+     * @param directory the directory to write to
+     * @param wordLengths the word lengths of the bundled dictionaries
+     */
+    public static void writeBundled(Path directory, int... wordLengths) {
+        for (int wordLength: wordLengths) {
+            Dictionary dictionary = new Dictionary(wordLength, DictionarySource.bundledText(wordLength));
+            write(dictionary, directory.resolve(wordLength + DictionarySource.RESOURCE_NAME_SUFFIX + FILE_SUFFIX),
+                    true);
+        }
+    }
+
+    /**
+     * Reads a compact list - feeding each word to the parser's acceptor
+     * @param inputStream the stream to read from
+     * @param parser the parser (of the dictionary being loaded)
+     * @throws IOException if the stream cannot be read
+     */
+    static void read(InputStream inputStream, WordListParser parser) throws IOException {
+        DataInputStream header = new DataInputStream(inputStream);
+        if (header.readInt() != MAGIC || header.readUnsignedByte() != VERSION) {
+            throw new DictionaryLoadErrorException("Not a compact word list");
+        }
+        boolean deflated = (header.readUnsignedByte() & FLAG_DEFLATED) != 0;
+        int wordLength = header.readUnsignedByte();
+        int wordCount = header.readInt();
+        if (wordLength != parser.getWordLength()) {
+            throw new DictionaryLoadErrorException("Compact word list has " + wordLength
+                    + " letter words - cannot be loaded into " + parser.getWordLength() + " letter word dictionary");
+        }
+        Inflater inflater = deflated ? new Inflater() : null;
+        InputStream body = deflated
+                ? new InflaterInputStream(inputStream, inflater, BUFFER_SIZE)
+                : new BufferedInputStream(inputStream, BUFFER_SIZE);
+        try {
+            readWords(body, wordLength, wordCount, parser);
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    private static void readWords(InputStream body, int wordLength, int wordCount, WordListParser parser)
+            throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] word = new byte[wordLength];
+        int available = 0;
+        int at = 0;
+        for (int w = 0; w < wordCount; w++) {
+            // (each entry is at most a prefix length byte plus a whole word)...
+            if (available - at < wordLength + 1) {
+                System.arraycopy(buffer, at, buffer, 0, available - at);
+                available -= at;
+                at = 0;
+                int read;
+                while (available < wordLength + 1
+                        && (read = body.read(buffer, available, buffer.length - available)) != -1) {
+                    available += read;
+                }
+            }
+            if (at >= available) {
+                throw new DictionaryLoadErrorException("Compact word list is truncated");
+            }
+            int shared = buffer[at++];
+            int remaining = wordLength - shared;
+            if (shared < 0 || remaining < 0 || at + remaining > available) {
+                throw new DictionaryLoadErrorException("Compact word list is corrupt");
+            }
+            System.arraycopy(buffer, at, word, shared, remaining);
+            at += remaining;
+            parser.acceptWord(new String(word, 0, wordLength, StandardCharsets.ISO_8859_1));
+        }
+    }
+}
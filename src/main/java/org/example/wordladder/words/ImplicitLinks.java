@@ -0,0 +1,115 @@
+package org.example.wordladder.words;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Word links generated on demand (for implicit mode dictionaries) - by trying every letter substitution
+ * against the dictionary's word lookup, rather than holding every link from load
+ * <p>Optionally, the most recently used link lists are kept in a bounded cache - so memory stays proportional
+ * to the number of words (plus the cache) rather than to the number of links</p>
+ * <p>Substitutions are letters A to Z only (as in word lists)</p>
+ */
+class ImplicitLinks {
+    private final Dictionary dictionary;
+    private final int cacheSize;
+    private final Map<Word, List<Word>> cache;
+
+    /**
+     * @param dictionary the dictionary
+     * @param cacheSize the maximum number of link lists cached (0 for none)
+     */
+    ImplicitLinks(Dictionary dictionary, int cacheSize) {
+        this.dictionary = dictionary;
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Word, List<Word>> eldest) {
+                return size() > ImplicitLinks.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @param word the word
+     * @return the linked words (in alphabetical order)
+     */
+    List<Word> linksOf(Word word) {
+        if (cacheSize == 0) {
+            return find(word.toString().toCharArray());
+        }
+        synchronized (cache) {
+            List<Word> result = cache.get(word);
+            if (result != null) {
+                return result;
+            }
+        }
+        List<Word> result = find(word.toString().toCharArray());
+        synchronized (cache) {
+            cache.put(word, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param chars the letters of any string (of the dictionary's word length) - restored afterwards
+     * @return the words one letter different (in alphabetical order)
+     */
+    List<Word> find(char[] chars) {
+        CharBuffer probe = CharBuffer.wrap(chars);
+        List<Word> result = new ArrayList<>();
+        for (int pos = 0; pos < chars.length; pos++) {
+            char original = chars[pos];
+            for (char letter = 'A'; letter <= 'Z'; letter++) {
+                if (letter != original) {
+                    chars[pos] = letter;
+                    Word found = dictionary.lookup(probe);
+                    if (found != null) {
+                        result.add(found);
+                    }
+                }
+            }
+            chars[pos] = original;
+        }
+        if (result.isEmpty()) {
+            return Collections.emptyList();
+        }
+        result.sort(Word::compareByRank);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Discards the cached links of words (e.g. after an edit - which changes the links of the edited word's
+     * neighbours)
+     * @param words the words whose links have changed
+     */
+    void forget(Collection<Word> words) {
+        synchronized (cache) {
+            for (Word word: words) {
+                cache.remove(word);
+            }
+        }
+    }
+
+    long estimateBytes() {
+        synchronized (cache) {
+            long result = MemoryEstimates.OBJECT_HEADER;
+            for (List<Word> links: cache.values()) {
+                result += MemoryEstimates.MAP_ENTRY + MemoryEstimates.OBJECT_HEADER
+                        + MemoryEstimates.referenceArray(links.size());
+            }
+            return result;
+        }
+    }
+
+    int getCachedCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.wordladder.words;
+
+import java.util.List;
+
+/**
+ * The neighbours of an implicit mode dictionary - the links of each word visited are generated (or taken
+ * from the links cache) as they are asked for, rather than from a graph of every word's links
+ */
+class ImplicitNeighbours implements WordNeighbours {
+    private final Dictionary dictionary;
+    private final ImplicitLinks implicitLinks;
+    private final int size;
+
+    ImplicitNeighbours(Dictionary dictionary, ImplicitLinks implicitLinks) {
+        this.dictionary = dictionary;
+        this.implicitLinks = implicitLinks;
+        this.size = dictionary.getOrdinalLimit();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Word getWord(int ordinal) {
+        return dictionary.getWord(ordinal);
+    }
+
+    @Override
+    public int linksOf(int ordinal, int[] into) {
+        Word word = dictionary.getWord(ordinal);
+        if (word == null) {
+            return 0;
+        }
+        List<Word> linkedWords = implicitLinks.linksOf(word);
+        for (int l = 0; l < linkedWords.size(); l++) {
+            into[l] = linkedWords.get(l).getOrdinal();
+        }
+        return linkedWords.size();
+    }
+
+    @Override
+    public int getMaximumDegree() {
+        // (every other letter at every position)...
+        return 25 * dictionary.getWordLength();
+    }
+}
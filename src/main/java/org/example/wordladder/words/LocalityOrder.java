@@ -0,0 +1,192 @@
+package org.example.wordladder.words;
+
+import org.example.wordladder.exceptions.ApplicationErrorException;
+import org.example.wordladder.exceptions.DictionaryLoadErrorException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * A traversal friendly numbering of a dictionary's words (reverse Cuthill-McKee over the word links) - words
+ * that are linked get nearby numbers, so breadth first searches over a graph in this order touch far fewer
+ * distinct cache lines than over the alphabetical (ordinal) order
+ * <p>Orders can be persisted alongside a word list (as a companion file with the same name plus
+ * {@link #FILE_SUFFIX}) - a persisted order is only used whilst it still matches the dictionary's words</p>
+ */
+public class LocalityOrder {
+    public static final String FILE_SUFFIX = ".order";
+    private static final int MAGIC = 0x574c4c4f;
+    private static final int VERSION = 1;
+
+    private final long fingerprint;
+    // position in the order -> word ordinal...
+    private final int[] ordinals;
+
+    private LocalityOrder(long fingerprint, int[] ordinals) {
+        this.fingerprint = fingerprint;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Computes the order for a graph
+     * @param graph the (ordinal indexed) graph
+     * @return the order
+     */
+    public static LocalityOrder compute(WordGraph graph) {
+        int size = graph.size();
+        int[] offsets = graph.getOffsets();
+        int[] links = graph.getLinks();
+        // each component is started from its lowest degree word (a cheap stand-in for a peripheral word)...
+        Integer[] byDegree = new Integer[size];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            byDegree[ordinal] = ordinal;
+        }
+        Arrays.sort(byDegree, (ordinal1, ordinal2) -> Integer.compare(graph.degree(ordinal1), graph.degree(ordinal2)));
+        int[] order = new int[size];
+        boolean[] placed = new boolean[size];
+        int[] neighbours = new int[0];
+        int tail = 0;
+        for (int start: byDegree) {
+            if (placed[start]) {
+                continue;
+            }
+            placed[start] = true;
+            int head = tail;
+            order[tail++] = start;
+            while (head < tail) {
+                int ordinal = order[head++];
+                int count = 0;
+                if (neighbours.length < graph.degree(ordinal)) {
+                    neighbours = new int[graph.degree(ordinal)];
+                }
+                for (int l = offsets[ordinal], end = offsets[ordinal + 1]; l < end; l++) {
+                    if (!placed[links[l]]) {
+                        neighbours[count++] = links[l];
+                        placed[links[l]] = true;
+                    }
+                }
+                // unplaced neighbours are placed in increasing degree order...
+                for (int i = 1; i < count; i++) {
+                    int neighbour = neighbours[i];
+                    int j = i - 1;
+                    while (j >= 0 && graph.degree(neighbours[j]) > graph.degree(neighbour)) {
+                        neighbours[j + 1] = neighbours[j];
+                        j--;
+                    }
+                    neighbours[j + 1] = neighbour;
+                }
+                System.arraycopy(neighbours, 0, order, tail, count);
+                tail += count;
+            }
+        }
+        // (reversing the Cuthill-McKee order narrows the profile further)...
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return new LocalityOrder(Dictionary.fingerprintOf(graph.getWords()), order);
+    }
+
+    /**
+     * Reads a persisted order
+     * @param inputStream the stream to read from
+     * @return the order
+     * @throws IOException if the stream cannot be read
+     */
+    public static LocalityOrder read(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new DictionaryLoadErrorException("Not a word locality order");
+        }
+        int wordCount = input.readInt();
+        long fingerprint = input.readLong();
+        int[] ordinals = new int[wordCount];
+        for (int position = 0; position < wordCount; position++) {
+            ordinals[position] = input.readInt();
+        }
+        return new LocalityOrder(fingerprint, ordinals);
+    }
+
+    /**
+     * Writes the order (via a temporary file, so a partially written order is never seen)
+     * @param path the file to write to
+     */
+    public void write(Path path) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(ordinals.length);
+            output.writeLong(fingerprint);
+            for (int ordinal: ordinals) {
+                output.writeInt(ordinal);
+            }
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error writing word locality order '" + path + "'", e);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ApplicationErrorException("Error writing word locality order '" + path + "'", e);
+        }
+    }
+
+    /**
+     * Writes the orders for bundled dictionaries - named so that, when the directory is on the classpath,
+     * they are picked up as the companions of the bundled word lists
+     * @param directory the directory to write to
+     * @param wordLengths the word lengths of the bundled dictionaries
+     */
+    public static void writeBundled(Path directory, int... wordLengths) {
+        for (int wordLength: wordLengths) {
+            Dictionary.Factory.forWordLength(wordLength).getGraph().getLocalityOrder()
+                    .write(directory.resolve(wordLength + DictionarySource.RESOURCE_NAME_SUFFIX + FILE_SUFFIX));
+        }
+    }
+
+    /**
+     * @param words the words (in ordinal order)
+     * @return whether the order was built for exactly these words
+     */
+    boolean matches(Word[] words) {
+        return ordinals.length == words.length && fingerprint == Dictionary.fingerprintOf(words);
+    }
+
+    /**
+     * @param size the number of ordinals now (words added since the order was made have the ordinals after its own)
+     * @param fingerprint the dictionary's fingerprint now
+     * @return the order with the added words at the end
+     */
+    LocalityOrder extend(int size, long fingerprint) {
+        int[] extended = Arrays.copyOf(ordinals, size);
+        for (int ordinal = ordinals.length; ordinal < size; ordinal++) {
+            extended[ordinal] = ordinal;
+        }
+        return new LocalityOrder(fingerprint, extended);
+    }
+
+    public int size() {
+        return ordinals.length;
+    }
+
+    /**
+     * @param position the position in the order
+     * @return the ordinal of the word at that position
+     */
+    public int getOrdinal(int position) {
+        return ordinals[position];
+    }
+
+    int[] getOrdinals() {
+        return ordinals;
+    }
+}
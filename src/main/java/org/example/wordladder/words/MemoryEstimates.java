@@ -0,0 +1,49 @@
+package org.example.wordladder.words;
+
+/**
+ * Rough heap sizes (assuming compressed references and 16 byte aligned object/array headers) - for budgeting,
+ * not accounting, so only the structures that grow with the words are counted
+ */
+final class MemoryEstimates {
+    static final long OBJECT_HEADER = 16L;
+    static final long REFERENCE = 4L;
+    static final long ARRAY_HEADER = 16L;
+    // a map entry (node and its table slot)...
+    static final long MAP_ENTRY = 36L;
+    // a word's own fields, its string (with its bytes) and its letters, and its (empty) links list...
+    private static final long WORD = OBJECT_HEADER + 32L + OBJECT_HEADER + 8L + ARRAY_HEADER
+            + ARRAY_HEADER + OBJECT_HEADER + 8L + ARRAY_HEADER;
+
+    private MemoryEstimates() {
+    }
+
+    static long intArray(long length) {
+        return ARRAY_HEADER + length * 4L;
+    }
+
+    static long longArray(long length) {
+        return ARRAY_HEADER + length * 8L;
+    }
+
+    static long charArray(long length) {
+        return ARRAY_HEADER + length * 2L;
+    }
+
+    static long referenceArray(long length) {
+        return ARRAY_HEADER + length * REFERENCE;
+    }
+
+    static long string(int length) {
+        return OBJECT_HEADER + 8L + ARRAY_HEADER + length;
+    }
+
+    /**
+     * @param wordLength the word length
+     * @param links the number of links held in the word's links list
+     * @return the bytes of a word
+     */
+    static long word(int wordLength, int links) {
+        // (links lists grow by half as much again - so on average a quarter is spare)...
+        return WORD + wordLength * 3L + (links + (links / 4)) * REFERENCE;
+    }
+}
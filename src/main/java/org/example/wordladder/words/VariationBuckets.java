@@ -0,0 +1,160 @@
+package org.example.wordladder.words;
+
+import java.util.Arrays;
+
+/**
+ * The words of each single wildcard variation (e.g. "C_T"), keyed by a packed variation code rather than by
+ * a pattern string - the wildcard position (4 bits) and each other letter (5 bits) for A-Z words of up to
+ * {@value #PACKED_LETTERS} letters, or a hash of them otherwise
+ * <p>An open addressed (linear probing) table - a hashed code can be shared, so every find checks the letters
+ * of the bucket's first word</p>
+ */
+class VariationBuckets {
+    // the most letters a code packs exactly (4 bits of wildcard position, and 5 bits for each other letter)...
+    static final int PACKED_LETTERS = 12;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] codes = new long[INITIAL_CAPACITY];
+    private Word[][] buckets = new Word[INITIAL_CAPACITY][];
+    private int size;
+
+    static long code(char[] letters, int wildcard) {
+        long result = wildcard;
+        if (letters.length <= PACKED_LETTERS) {
+            int shift = 4;
+            for (int pos = 0; pos < letters.length; pos++, shift += 5) {
+                char ch = letters[pos];
+                if (pos == wildcard) {
+                    continue;
+                } else if (ch < 'A' || ch > 'Z') {
+                    return hash(letters, wildcard);
+                }
+                result |= (long)(ch - 'A') << shift;
+            }
+            return result;
+        }
+        return hash(letters, wildcard);
+    }
+
+    private static long hash(char[] letters, int wildcard) {
+        long result = wildcard;
+        for (int pos = 0; pos < letters.length; pos++) {
+            result = (result * 31L) + (pos == wildcard ? 0 : letters[pos]);
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param letters the letters (the letter at the wildcard position is ignored)
+     * @param wildcard the wildcard position
+     * @return the words of the variation (or null if none)
+     */
+    Word[] get(char[] letters, int wildcard) {
+        int slot = find(code(letters, wildcard), letters, wildcard);
+        return slot == -1 ? null : buckets[slot];
+    }
+
+    void put(char[] letters, int wildcard, Word[] bucket) {
+        long code = code(letters, wildcard);
+        int slot = find(code, letters, wildcard);
+        if (slot != -1) {
+            buckets[slot] = bucket;
+            return;
+        }
+        if ((size + 1) * 4 > codes.length * 3) {
+            grow();
+        }
+        slot = slotOf(code);
+        while (buckets[slot] != null) {
+            slot = (slot + 1) & (codes.length - 1);
+        }
+        codes[slot] = code;
+        buckets[slot] = bucket;
+        size++;
+    }
+
+    void remove(char[] letters, int wildcard) {
+        int slot = find(code(letters, wildcard), letters, wildcard);
+        if (slot == -1) {
+            return;
+        }
+        buckets[slot] = null;
+        size--;
+        // shift back any later entries of the run that could then no longer be found...
+        int mask = codes.length - 1;
+        for (int next = (slot + 1) & mask; buckets[next] != null; next = (next + 1) & mask) {
+            int home = slotOf(codes[next]);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                codes[slot] = codes[next];
+                buckets[slot] = buckets[next];
+                buckets[next] = null;
+                slot = next;
+            }
+        }
+    }
+
+    void sortBuckets() {
+        for (Word[] bucket: buckets) {
+            if (bucket != null) {
+                Arrays.sort(bucket, Word::compareByRank);
+            }
+        }
+    }
+
+    /**
+     * @return the (approximate) heap bytes of the table (not including the words themselves)
+     */
+    long estimateBytes() {
+        long result = MemoryEstimates.OBJECT_HEADER + MemoryEstimates.longArray(codes.length)
+                + MemoryEstimates.referenceArray(buckets.length);
+        for (Word[] bucket: buckets) {
+            result += bucket == null ? 0L : MemoryEstimates.referenceArray(bucket.length);
+        }
+        return result;
+    }
+
+    private int find(long code, char[] letters, int wildcard) {
+        int mask = codes.length - 1;
+        for (int slot = slotOf(code); buckets[slot] != null; slot = (slot + 1) & mask) {
+            if (codes[slot] == code && matches(buckets[slot][0], letters, wildcard)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(Word word, char[] letters, int wildcard) {
+        for (int pos = 0; pos < letters.length; pos++) {
+            if (pos != wildcard && word.charAt(pos) != letters[pos]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int slotOf(long code) {
+        return (int)((code * 0x9E3779B97F4A7C15L) >>> (64 - Integer.numberOfTrailingZeros(codes.length)));
+    }
+
+    private void grow() {
+        long[] oldCodes = codes;
+        Word[][] oldBuckets = buckets;
+        codes = new long[oldCodes.length << 1];
+        buckets = new Word[oldBuckets.length << 1][];
+        int mask = codes.length - 1;
+        for (int old = 0; old < oldCodes.length; old++) {
+            if (oldBuckets[old] != null) {
+                int slot = slotOf(oldCodes[old]);
+                while (buckets[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                codes[slot] = oldCodes[old];
+                buckets[slot] = oldBuckets[old];
+            }
+        }
+    }
+}
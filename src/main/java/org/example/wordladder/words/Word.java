@@ -3,15 +3,22 @@ package org.example.wordladder.words;
 import org.example.wordladder.exceptions.BadWordException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Word {
-    private static final char VARIATION_CHAR = '_';
+    static final char VARIATION_CHAR = '_';
+    // the most letters packed into a sort rank (5 bits each)...
+    private static final int RANK_LETTERS = 12;
 
     private final String actualWord;
     private final char[] wordChars;
     private final int hashCode;
+    private final long rank;
     private final List<Word> linkedWords = new ArrayList<>();
+    // (only for words of implicit mode dictionaries - whose links are generated on demand)...
+    private ImplicitLinks implicitLinks;
+    private int ordinal = -1;
 
     Word(String actualWord) {
         if (actualWord.indexOf(VARIATION_CHAR) != -1) {
@@ -21,12 +28,49 @@ public class Word {
         this.actualWord = actualWord.toUpperCase();
         this.wordChars = this.actualWord.toCharArray();
         this.hashCode = generateHashCode();
+        this.rank = generateRank();
     }
 
     private int generateHashCode() {
         return this.actualWord.hashCode();
     }
 
+    private long generateRank() {
+        // the leading letters packed in order (a missing letter packs the same as 'A') - so ranks compare
+        // the same way as the words themselves, until ranks tie...
+        long result = 0;
+        for (int i = 0; i < RANK_LETTERS; i++) {
+            char ch = i < wordChars.length ? wordChars[i] : 'A';
+            if (ch < 'A' || ch > 'Z') {
+                return -1L;
+            }
+            result = (result << 5) | (ch - 'A');
+        }
+        return result;
+    }
+
+    void setImplicitLinks(ImplicitLinks implicitLinks) {
+        this.implicitLinks = implicitLinks;
+    }
+
+    void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * Position of the word within its dictionary - loaded words are assigned ordinals in alphabetical order,
+     * words added later take the next ordinals and ordinals never change whilst the word is in the dictionary
+     * (so words are ordered by {@link #compareByRank(Word, Word) rank} rather than by ordinal)
+     * @return the ordinal (or -1 if the word does not belong to a dictionary)
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    char charAt(int index) {
+        return wordChars[index];
+    }
+
     List<String> getVariationPatterns() {
         List<String> result = new ArrayList<>();
         for (int i = 0; i < wordChars.length; i++) {
@@ -41,12 +85,45 @@ public class Word {
         linkedWords.add(word);
     }
 
+    void insertLinkedWord(Word word) {
+        int index = Collections.binarySearch(linkedWords, word, Word::compareByRank);
+        if (index < 0) {
+            linkedWords.add(-index - 1, word);
+        }
+    }
+
+    void removeLinkedWord(Word word) {
+        linkedWords.remove(word);
+    }
+
+    void clearLinkedWords() {
+        linkedWords.clear();
+    }
+
+    void sortLinkedWords() {
+        linkedWords.sort(Word::compareByRank);
+    }
+
     public List<Word> getLinkedWords() {
-        return linkedWords;
+        return implicitLinks != null ? implicitLinks.linksOf(this) : linkedWords;
+    }
+
+    /**
+     * @return the linked words - bypassing any implicit links cache (e.g. for visiting every word once)
+     */
+    List<Word> findLinkedWords() {
+        return implicitLinks != null ? implicitLinks.find(wordChars.clone()) : linkedWords;
+    }
+
+    /**
+     * @return the (approximate) heap bytes of the word - including any links it holds, but not implicit links
+     */
+    long estimateBytes() {
+        return MemoryEstimates.word(wordChars.length, linkedWords.size());
     }
 
     public boolean isIslandWord() {
-        return linkedWords.isEmpty();
+        return getLinkedWords().isEmpty();
     }
 
     public int differences(Word other) {
@@ -57,6 +134,17 @@ public class Word {
         return result;
     }
 
+    /**
+     * Compares words alphabetically - by their sort rank (the packed leading letters, which comes with the
+     * word - so edits to a dictionary never renumber it), then by the words themselves if the ranks tie
+     */
+    public static int compareByRank(Word word1, Word word2) {
+        if (word1.rank != word2.rank && word1.rank != -1L && word2.rank != -1L) {
+            return Long.compare(word1.rank, word2.rank);
+        }
+        return word1.actualWord.compareTo(word2.actualWord);
+    }
+
     @Override
     public String toString() {
         return actualWord;
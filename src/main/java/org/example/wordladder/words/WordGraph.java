@@ -0,0 +1,343 @@
+package org.example.wordladder.words;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a dictionary's word links, indexed by word ordinal (compressed rows - the links of
+ * word ordinal n are at positions offsets[n] to offsets[n + 1] - 1 of links)
+ * <p>For traversal engines that want flat int arrays rather than chasing word objects - the snapshot stays
+ * consistent even if the dictionary is subsequently edited</p>
+ * <p>The same links are also available {@link #inLocalityOrder() in locality order} - indexed by position in
+ * the {@link LocalityOrder} rather than by ordinal (for searches that don't care about word order)</p>
+ * <p>The ordinals of removed words have no word (null) and no links. After edits, the dictionary's next
+ * snapshot is patched from the previous one - only the rows of the edited words and their neighbours change</p>
+ */
+public class WordGraph implements WordNeighbours {
+    private final Word[] words;
+    private final int[] offsets;
+    private final int[] links;
+    // index -> ordinal and ordinal -> index (both null when indexed by ordinal)...
+    private final int[] ordinals;
+    private final int[] indexes;
+    private volatile LocalityOrder localityOrder;
+    private volatile WordGraph localityGraph;
+    // (computed on first use - -1 until then)...
+    private volatile int maximumDegree = -1;
+
+    WordGraph(Word[] words) {
+        this.words = words;
+        this.ordinals = null;
+        this.indexes = null;
+        this.offsets = new int[words.length + 1];
+        // (each word's links are fetched just once - for implicit mode words, that's when they're generated)...
+        int[] collected = new int[words.length * 4];
+        int at = 0;
+        for (int ordinal = 0; ordinal < words.length; ordinal++) {
+            offsets[ordinal] = at;
+            List<Word> linkedWords = words[ordinal] != null ? words[ordinal].findLinkedWords() : List.of();
+            if (at + linkedWords.size() > collected.length) {
+                collected = Arrays.copyOf(collected, Math.max(collected.length * 2, at + linkedWords.size()));
+            }
+            for (Word linkedWord: linkedWords) {
+                collected[at++] = linkedWord.getOrdinal();
+            }
+        }
+        offsets[words.length] = at;
+        this.links = collected.length == at ? collected : Arrays.copyOf(collected, at);
+    }
+
+    private WordGraph(WordGraph graph, LocalityOrder order) {
+        int size = graph.size();
+        this.ordinals = order.getOrdinals();
+        this.indexes = new int[size];
+        this.words = new Word[size];
+        for (int index = 0; index < size; index++) {
+            indexes[ordinals[index]] = index;
+            words[index] = graph.words[ordinals[index]];
+        }
+        this.offsets = new int[size + 1];
+        this.links = new int[graph.links.length];
+        int at = 0;
+        for (int index = 0; index < size; index++) {
+            offsets[index] = at;
+            int ordinal = ordinals[index];
+            int rowStart = at;
+            for (int l = graph.offsets[ordinal], end = graph.offsets[ordinal + 1]; l < end; l++) {
+                links[at++] = indexes[graph.links[l]];
+            }
+            // keep each row in index order - so a row's links are visited in memory order...
+            Arrays.sort(links, rowStart, at);
+        }
+        offsets[size] = at;
+        this.localityOrder = order;
+        this.localityGraph = this;
+    }
+
+    private WordGraph(Word[] words, int[] offsets, int[] links, int[] ordinals, int[] indexes,
+                      LocalityOrder localityOrder) {
+        this.words = words;
+        this.offsets = offsets;
+        this.links = links;
+        this.ordinals = ordinals;
+        this.indexes = indexes;
+        this.localityOrder = localityOrder;
+        this.localityGraph = ordinals != null ? this : null;
+    }
+
+    /**
+     * A snapshot of the words after edits - rows of unchanged words are copied as they are (a row at a time
+     * is only fetched from the words for the changed ordinals and any added ordinals), and any locality order
+     * (and locality ordered copy) is extended with the added words at the end rather than recomputed
+     * @param words the words by ordinal now (null for removed words) - at least as many as in this graph
+     * @param changed the ordinals (of this graph) whose links may have changed
+     * @param fingerprint the dictionary's fingerprint now
+     * @return the patched graph
+     */
+    WordGraph patched(Word[] words, BitSet changed, long fingerprint) {
+        int oldSize = this.words.length;
+        int size = words.length;
+        int[] rowOrdinals = new int[changed.cardinality() + (size - oldSize)];
+        int[][] rows = new int[rowOrdinals.length][];
+        int count = 0;
+        for (int ordinal = changed.nextSetBit(0); ordinal >= 0 && ordinal < oldSize;
+             ordinal = changed.nextSetBit(ordinal + 1)) {
+            rowOrdinals[count] = ordinal;
+            rows[count++] = rowOf(words[ordinal], null);
+        }
+        for (int ordinal = oldSize; ordinal < size; ordinal++) {
+            rowOrdinals[count] = ordinal;
+            rows[count++] = rowOf(words[ordinal], null);
+        }
+        int[][] patchedRows = patchRows(offsets, links, size, Arrays.copyOf(rowOrdinals, count),
+                Arrays.copyOf(rows, count));
+        LocalityOrder order = localityOrder != null ? localityOrder.extend(size, fingerprint) : null;
+        WordGraph result = new WordGraph(words, patchedRows[0], patchedRows[1], null, null, order);
+        WordGraph inLocalityOrder = localityGraph;
+        if (inLocalityOrder != null) {
+            result.localityGraph = inLocalityOrder.patchedInLocalityOrder(result, rowOrdinals, count, order);
+        }
+        return result;
+    }
+
+    private WordGraph patchedInLocalityOrder(WordGraph graph, int[] rowOrdinals, int count, LocalityOrder order) {
+        int oldSize = words.length;
+        int size = graph.words.length;
+        int[] newIndexes = Arrays.copyOf(indexes, size);
+        Word[] newWords = Arrays.copyOf(words, size);
+        for (int ordinal = oldSize; ordinal < size; ordinal++) {
+            // (added words are at the end of the extended order - in ordinal order)...
+            newIndexes[ordinal] = ordinal;
+            newWords[ordinal] = graph.words[ordinal];
+        }
+        for (int ordinal = 0; ordinal < oldSize; ordinal++) {
+            if (graph.words[ordinal] == null) {
+                newWords[newIndexes[ordinal]] = null;
+            }
+        }
+        int[] rowIndexes = new int[count];
+        int[][] rows = new int[count][];
+        for (int r = 0; r < count; r++) {
+            rowIndexes[r] = newIndexes[rowOrdinals[r]];
+        }
+        Integer[] byIndex = new Integer[count];
+        for (int r = 0; r < count; r++) {
+            byIndex[r] = r;
+        }
+        Arrays.sort(byIndex, (r1, r2) -> Integer.compare(rowIndexes[r1], rowIndexes[r2]));
+        int[] sortedIndexes = new int[count];
+        for (int r = 0; r < count; r++) {
+            sortedIndexes[r] = rowIndexes[byIndex[r]];
+            rows[r] = rowOf(graph.words[rowOrdinals[byIndex[r]]], newIndexes);
+        }
+        int[][] patchedRows = patchRows(offsets, links, size, sortedIndexes, rows);
+        return new WordGraph(newWords, patchedRows[0], patchedRows[1], order.getOrdinals(), newIndexes, order);
+    }
+
+    /**
+     * @param indexes ordinal to index (or null for ordinals)
+     * @return the row of a word's links (in alphabetical order - or in index order if given indexes)
+     */
+    private static int[] rowOf(Word word, int[] indexes) {
+        if (word == null) {
+            return new int[0];
+        }
+        List<Word> linkedWords = word.findLinkedWords();
+        int[] result = new int[linkedWords.size()];
+        for (int l = 0; l < result.length; l++) {
+            int ordinal = linkedWords.get(l).getOrdinal();
+            result[l] = indexes != null ? indexes[ordinal] : ordinal;
+        }
+        if (indexes != null) {
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    /**
+     * Copies compressed rows - with the given rows (in increasing order) replaced, and any rows beyond the
+     * current rows added
+     * @return the new offsets and links
+     */
+    private static int[][] patchRows(int[] offsets, int[] links, int size, int[] rowNumbers, int[][] rows) {
+        int oldSize = offsets.length - 1;
+        long total = links.length;
+        for (int r = 0; r < rowNumbers.length; r++) {
+            int row = rowNumbers[r];
+            total += rows[r].length - (row < oldSize ? offsets[row + 1] - offsets[row] : 0);
+        }
+        int[] newOffsets = new int[size + 1];
+        int[] newLinks = new int[Math.toIntExact(total)];
+        int at = 0;
+        int row = 0;
+        for (int r = 0; r <= rowNumbers.length; r++) {
+            int next = r < rowNumbers.length ? rowNumbers[r] : size;
+            // unchanged rows up to the next replaced row are copied as one run...
+            int copyEnd = Math.min(next, oldSize);
+            if (row < copyEnd) {
+                int from = offsets[row];
+                int length = offsets[copyEnd] - from;
+                System.arraycopy(links, from, newLinks, at, length);
+                int shift = at - from;
+                for (; row < copyEnd; row++) {
+                    newOffsets[row] = offsets[row] + shift;
+                }
+                at += length;
+            }
+            for (; row < next; row++) {
+                newOffsets[row] = at;
+            }
+            if (r < rowNumbers.length) {
+                newOffsets[next] = at;
+                System.arraycopy(rows[r], 0, newLinks, at, rows[r].length);
+                at += rows[r].length;
+                row = next + 1;
+            }
+        }
+        newOffsets[size] = at;
+        return new int[][] {newOffsets, newLinks};
+    }
+
+    void setLocalityOrder(LocalityOrder localityOrder) {
+        this.localityOrder = localityOrder;
+    }
+
+    /**
+     * @return the locality order of the graph's words (computed on first use, unless one was persisted)
+     */
+    public LocalityOrder getLocalityOrder() {
+        LocalityOrder result = localityOrder;
+        if (result == null) {
+            result = LocalityOrder.compute(this);
+            localityOrder = result;
+        }
+        return result;
+    }
+
+    /**
+     * The same graph re-indexed by locality order (use {@link #getIndex(int)} and {@link #getOrdinal(int)}
+     * to translate between ordinals and indexes)
+     * @return the graph in locality order
+     */
+    public WordGraph inLocalityOrder() {
+        WordGraph result = localityGraph;
+        if (result == null) {
+            result = new WordGraph(this, getLocalityOrder());
+            localityGraph = result;
+        }
+        return result;
+    }
+
+    /**
+     * @param ordinal a word ordinal
+     * @return the index of the word in this graph
+     */
+    public int getIndex(int ordinal) {
+        return indexes == null ? ordinal : indexes[ordinal];
+    }
+
+    /**
+     * @param index the index of a word in this graph
+     * @return the word's ordinal
+     */
+    public int getOrdinal(int index) {
+        return ordinals == null ? index : ordinals[index];
+    }
+
+    /**
+     * @return the (approximate) heap bytes of the graph - including its locality ordered copy, if built
+     */
+    public long estimateBytes() {
+        long result = MemoryEstimates.OBJECT_HEADER + MemoryEstimates.referenceArray(words.length)
+                + MemoryEstimates.intArray(offsets.length) + MemoryEstimates.intArray(links.length);
+        if (ordinals != null) {
+            result += MemoryEstimates.intArray(ordinals.length) + MemoryEstimates.intArray(indexes.length);
+        }
+        WordGraph inLocalityOrder = localityGraph;
+        if (inLocalityOrder != null && inLocalityOrder != this) {
+            result += inLocalityOrder.estimateBytes();
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return words.length;
+    }
+
+    @Override
+    public Word getWord(int index) {
+        return words[index];
+    }
+
+    @Override
+    public int linksOf(int index, int[] into) {
+        int start = offsets[index];
+        int count = offsets[index + 1] - start;
+        System.arraycopy(links, start, into, 0, count);
+        return count;
+    }
+
+    @Override
+    public int getMaximumDegree() {
+        int result = maximumDegree;
+        if (result == -1) {
+            result = 0;
+            for (int index = 0; index < words.length; index++) {
+                result = Math.max(result, offsets[index + 1] - offsets[index]);
+            }
+            maximumDegree = result;
+        }
+        return result;
+    }
+
+    Word[] getWords() {
+        return words;
+    }
+
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * The row offsets into links (one more than the number of words) - must not be modified
+     * @return the offsets
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * The linked word indexes of every word (in alphabetical order within each row - or in index order when
+     * in locality order) - must not be modified
+     * @return the links
+     */
+    public int[] getLinks() {
+        return links;
+    }
+
+    public int getLinkCount() {
+        return links.length;
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.wordladder.words;
+
+import org.example.wordladder.exceptions.BadWordException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Byte level parser for word lists (one word per line) - lines are checked and case folded as bytes,
+ * so a string is only created for lines that are accepted as words
+ * <p>Input can be fed in any number of chunks - lines may span chunks</p>
+ */
+class WordListParser {
+    private static final int MAXIMUM_REPORTED_LINE = 64;
+
+    private final int wordLength;
+    private final boolean strict;
+    private final Consumer<String> acceptor;
+    private final byte[] line;
+    private int lineLength;
+    private boolean lineValid = true;
+    private long acceptedCount;
+    private long rejectedCount;
+
+    /**
+     * @param wordLength the length of words to accept
+     * @param strict whether lines that cannot be accepted are an error (otherwise they are skipped)
+     * @param acceptor receives each accepted (upper case) word
+     */
+    WordListParser(int wordLength, boolean strict, Consumer<String> acceptor) {
+        this.wordLength = wordLength;
+        this.strict = strict;
+        this.acceptor = acceptor;
+        this.line = new byte[Math.max(wordLength, MAXIMUM_REPORTED_LINE)];
+    }
+
+    void parse(byte[] buffer, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            next(buffer[i]);
+        }
+    }
+
+    void parse(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            next(buffer.get());
+        }
+    }
+
+    void finish() {
+        endLine();
+    }
+
+    /**
+     * Accepts a word that is already known to be valid (e.g. from a compact word list) - bypassing parsing
+     * @param word the (upper case) word
+     */
+    void acceptWord(String word) {
+        acceptedCount++;
+        acceptor.accept(word);
+    }
+
+    int getWordLength() {
+        return wordLength;
+    }
+
+    long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    private void next(byte b) {
+        switch (b) {
+            case '\n':
+                endLine();
+                break;
+            case '\r':
+                break;
+            default:
+                if (b >= 'a' && b <= 'z') {
+                    b -= ('a' - 'A');
+                } else if (b < 'A' || b > 'Z') {
+                    lineValid = false;
+                }
+                if (lineLength < line.length) {
+                    line[lineLength] = b;
+                }
+                lineLength++;
+        }
+    }
+
+    private void endLine() {
+        if (lineLength != 0) {
+            if (lineValid && lineLength == wordLength) {
+                acceptedCount++;
+                acceptor.accept(new String(line, 0, wordLength, StandardCharsets.US_ASCII));
+            } else {
+                rejectedCount++;
+                if (strict) {
+                    throw rejection();
+                }
+            }
+        }
+        lineLength = 0;
+        lineValid = true;
+    }
+
+    private BadWordException rejection() {
+        String str = new String(line, 0, Math.min(lineLength, line.length), StandardCharsets.ISO_8859_1)
+                + (lineLength > line.length ? "..." : "");
+        if (lineLength != wordLength) {
+            return new BadWordException("Word '" + str + "' (length = "
+                    + lineLength + ") cannot be loaded into " + wordLength + " letter word dictionary");
+        }
+        return new BadWordException("Word '" + str + "' contains characters other than letters");
+    }
+}
@@ -0,0 +1,442 @@
+package org.example.wordladder.words;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Word lookup by minimal perfect hash (hash and displace) - every word hashes to its own slot in a table of
+ * exactly one slot per word. Each slot holds the word's letters and its ordinal, bit packed - the letters at
+ * 5 bits each (16 if any word has a letter other than A-Z) and the ordinal at just as many bits as the
+ * highest ordinal needs - so a candidate is verified against the packed letters without visiting the word
+ * <p>Words are hashed into buckets (about four words per bucket) and each bucket has a displacement - chosen,
+ * largest buckets first, so that the bucket's words land on slots not yet taken. So a lookup is two hashes,
+ * a bucket displacement and a packed letter comparison - with no allocation (lookups fold case as they
+ * hash)</p>
+ * <p>The lookup also holds the words by ordinal - and ordinals are stable across edits: an added word takes the
+ * next ordinal (and goes into a small open addressed table alongside the perfect hash), a removed word just
+ * leaves its ordinal empty. The perfect hash is only rebuilt once the edits since it was built reach a fraction
+ * of its words - so an edit costs amortised constant time. Edits must be serialized (the dictionary's write
+ * lock) - lookups need no lock</p>
+ */
+class WordLookup {
+    private static final int WORDS_PER_BUCKET = 4;
+    private static final int MAXIMUM_DISPLACEMENT = 1 << 20;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    // the perfect hash is rebuilt after more than 16 edits plus one per 8 words hashed...
+    private static final int MINIMUM_EDITS_BEFORE_REBUILD = 16;
+    private static final int WORDS_PER_EDIT_BEFORE_REBUILD = 8;
+    private static final int[] NO_ORDINALS = new int[0];
+    private static final int LETTER_BITS = 5;
+
+    private final int wordLength;
+    // the words by ordinal (null where removed) - with room for words to be added...
+    private volatile Word[] words;
+    private volatile int ordinalLimit;
+    private volatile int size;
+    private volatile PerfectHash perfectHash;
+
+    /**
+     * @param wordLength the word length
+     * @param words the words (in ordinal order - null for any ordinal not in use)
+     */
+    WordLookup(int wordLength, Word[] words) {
+        this.wordLength = wordLength;
+        this.words = words.clone();
+        this.ordinalLimit = words.length;
+        int live = 0;
+        for (Word word: words) {
+            live += word != null ? 1 : 0;
+        }
+        this.size = live;
+        this.perfectHash = buildHash();
+    }
+
+    private static class PerfectHash {
+        private final long seed;
+        private final int[] displacements;
+        private final int slotCount;
+        // slot -> word letters (letterBits each) and slot -> word ordinal (ordinalBits each)...
+        private final int letterBits;
+        private final long[] letters;
+        private final int ordinalBits;
+        private final long[] ordinals;
+        // words added since it was built - open addressed by hash (ordinal plus one, so 0 is an empty slot) and
+        // kept at most half full...
+        private volatile int[] added = NO_ORDINALS;
+        private int addedCount;
+        private int editCount;
+
+        private PerfectHash(long seed, int[] displacements, int slotCount, int letterBits, long[] letters,
+                            int ordinalBits, long[] ordinals) {
+            this.seed = seed;
+            this.displacements = displacements;
+            this.slotCount = slotCount;
+            this.letterBits = letterBits;
+            this.letters = letters;
+            this.ordinalBits = ordinalBits;
+            this.ordinals = ordinals;
+        }
+
+        private boolean needsRebuild() {
+            return editCount > MINIMUM_EDITS_BEFORE_REBUILD + (slotCount / WORDS_PER_EDIT_BEFORE_REBUILD);
+        }
+    }
+
+    private PerfectHash buildHash() {
+        Word[] byOrdinal = words;
+        int[] keys = new int[size];
+        int count = 0;
+        for (int ordinal = 0; ordinal < ordinalLimit; ordinal++) {
+            if (byOrdinal[ordinal] != null) {
+                keys[count++] = ordinal;
+            }
+        }
+        int[] displacements = new int[keys.length / WORDS_PER_BUCKET + 1];
+        int[] slotOrdinals = new int[keys.length];
+        long attemptSeed = 0L;
+        // (in the very unlikely event that some bucket cannot be placed, start again with other hashes)...
+        while (!build(byOrdinal, keys, attemptSeed, displacements, slotOrdinals)) {
+            attemptSeed += GOLDEN_GAMMA;
+            Arrays.fill(displacements, 0);
+        }
+        boolean lettersOnly = true;
+        for (int k = 0; k < count && lettersOnly; k++) {
+            for (int i = 0; i < wordLength && lettersOnly; i++) {
+                lettersOnly = letterCode(byOrdinal[keys[k]].charAt(i), LETTER_BITS) != -1;
+            }
+        }
+        int letterBits = lettersOnly ? LETTER_BITS : Character.SIZE;
+        int ordinalBits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(ordinalLimit - 1));
+        long[] letters = new long[packedLength((long)count * wordLength * letterBits)];
+        long[] ordinals = new long[packedLength((long)count * ordinalBits)];
+        for (int slot = 0; slot < count; slot++) {
+            Word word = byOrdinal[slotOrdinals[slot]];
+            for (int i = 0; i < wordLength; i++) {
+                pack(letters, ((long)slot * wordLength + i) * letterBits, letterBits,
+                        letterCode(word.charAt(i), letterBits));
+            }
+            pack(ordinals, (long)slot * ordinalBits, ordinalBits, slotOrdinals[slot]);
+        }
+        return new PerfectHash(attemptSeed, displacements, count, letterBits, letters, ordinalBits, ordinals);
+    }
+
+    private static int packedLength(long bits) {
+        return Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    private static void pack(long[] packed, long bitIndex, int bits, long value) {
+        int at = (int)(bitIndex >>> 6);
+        int shift = (int)(bitIndex & 63);
+        packed[at] |= value << shift;
+        if (shift + bits > Long.SIZE) {
+            packed[at + 1] |= value >>> (Long.SIZE - shift);
+        }
+    }
+
+    private static long unpack(long[] packed, long bitIndex, int bits) {
+        int at = (int)(bitIndex >>> 6);
+        int shift = (int)(bitIndex & 63);
+        long value = packed[at] >>> shift;
+        if (shift + bits > Long.SIZE) {
+            value |= packed[at + 1] << (Long.SIZE - shift);
+        }
+        return value & ((1L << bits) - 1);
+    }
+
+    /**
+     * @return the packed code of an (upper case) letter - or -1 if it cannot be packed in that many bits
+     */
+    private static int letterCode(char ch, int letterBits) {
+        if (letterBits == Character.SIZE) {
+            return ch;
+        }
+        return ch >= 'A' && ch <= 'Z' ? ch - 'A' : -1;
+    }
+
+    /**
+     * @return the (approximate) heap bytes of the lookup (not including the words themselves)
+     */
+    long estimateBytes() {
+        PerfectHash current = perfectHash;
+        int[] added = current.added;
+        return MemoryEstimates.OBJECT_HEADER + MemoryEstimates.referenceArray(words.length)
+                + MemoryEstimates.OBJECT_HEADER + MemoryEstimates.intArray(current.displacements.length)
+                + MemoryEstimates.longArray(current.letters.length)
+                + MemoryEstimates.longArray(current.ordinals.length)
+                + (added.length == 0 ? 0L : MemoryEstimates.intArray(added.length));
+    }
+
+    private boolean build(Word[] byOrdinal, int[] keys, long attemptSeed, int[] displacements, int[] ordinals) {
+        int wordCount = keys.length;
+        int bucketCount = displacements.length;
+        long[] hashes = new long[wordCount];
+        int[] bucketSizes = new int[bucketCount + 1];
+        for (int k = 0; k < wordCount; k++) {
+            hashes[k] = hash(byOrdinal[keys[k]], attemptSeed);
+            bucketSizes[reduce(hashes[k], bucketCount) + 1]++;
+        }
+        // group the words by bucket...
+        int[] bucketStarts = new int[bucketCount + 1];
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            bucketStarts[bucket + 1] = bucketStarts[bucket] + bucketSizes[bucket + 1];
+        }
+        int[] fill = bucketStarts.clone();
+        int[] bucketWords = new int[wordCount];
+        for (int k = 0; k < wordCount; k++) {
+            bucketWords[fill[reduce(hashes[k], bucketCount)]++] = k;
+        }
+        // place the largest buckets first (whilst most slots are free)...
+        Integer[] bucketOrder = new Integer[bucketCount];
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            bucketOrder[bucket] = bucket;
+        }
+        Arrays.sort(bucketOrder, (bucket1, bucket2) -> Integer.compare(
+                bucketStarts[bucket2 + 1] - bucketStarts[bucket2], bucketStarts[bucket1 + 1] - bucketStarts[bucket1]));
+        boolean[] taken = new boolean[wordCount];
+        int[] slots = new int[WORDS_PER_BUCKET * 8];
+        for (int bucket: bucketOrder) {
+            int start = bucketStarts[bucket];
+            int size = bucketStarts[bucket + 1] - start;
+            if (size == 0) {
+                break;
+            }
+            if (slots.length < size) {
+                slots = new int[size];
+            }
+            int displacement = 0;
+            while (!fits(hashes, bucketWords, start, size, displacement, taken, slots)) {
+                if (++displacement == MAXIMUM_DISPLACEMENT) {
+                    return false;
+                }
+            }
+            displacements[bucket] = displacement;
+            for (int w = 0; w < size; w++) {
+                taken[slots[w]] = true;
+                ordinals[slots[w]] = keys[bucketWords[start + w]];
+            }
+        }
+        return true;
+    }
+
+    private static boolean fits(long[] hashes, int[] bucketWords, int start, int size, int displacement,
+                                boolean[] taken, int[] slots) {
+        for (int w = 0; w < size; w++) {
+            int slot = slot(hashes[bucketWords[start + w]], displacement, taken.length);
+            if (taken[slot]) {
+                return false;
+            }
+            for (int other = 0; other < w; other++) {
+                if (slots[other] == slot) {
+                    return false;
+                }
+            }
+            slots[w] = slot;
+        }
+        return true;
+    }
+
+    /**
+     * @param str the word to look up (in any case)
+     * @return the word's ordinal (or -1 if not a word)
+     */
+    int ordinalOf(CharSequence str) {
+        if (str.length() != wordLength) {
+            return -1;
+        }
+        PerfectHash current = perfectHash;
+        Word[] byOrdinal = words;
+        long hashed = current.seed;
+        for (int i = 0; i < wordLength; i++) {
+            hashed = (hashed ^ fold(str.charAt(i))) * 0x100000001b3L;
+        }
+        hashed = mix(hashed);
+        int slotCount = current.slotCount;
+        if (slotCount != 0) {
+            int hashSlot = slot(hashed, current.displacements[reduce(hashed, current.displacements.length)],
+                    slotCount);
+            if (matchesSlot(current, hashSlot, str)) {
+                int ordinal = (int)unpack(current.ordinals, (long)hashSlot * current.ordinalBits,
+                        current.ordinalBits);
+                // (a removed word stays in the perfect hash until it is rebuilt - but leaves its ordinal empty)...
+                if (ordinal < byOrdinal.length && byOrdinal[ordinal] != null) {
+                    return ordinal;
+                }
+            }
+        }
+        int[] added = current.added;
+        if (added.length != 0) {
+            int mask = added.length - 1;
+            for (int slot = (int) hashed & mask; added[slot] != 0; slot = (slot + 1) & mask) {
+                if (matches(byOrdinal, added[slot] - 1, str)) {
+                    return added[slot] - 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean matchesSlot(PerfectHash current, int slot, CharSequence str) {
+        int letterBits = current.letterBits;
+        long bitIndex = (long)slot * wordLength * letterBits;
+        for (int i = 0; i < wordLength; i++, bitIndex += letterBits) {
+            int code = letterCode(fold(str.charAt(i)), letterBits);
+            if (code == -1 || unpack(current.letters, bitIndex, letterBits) != code) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(Word[] byOrdinal, int ordinal, CharSequence str) {
+        // (a removed word leaves its ordinal empty - and a word being added may not be visible yet)...
+        Word candidate = ordinal < byOrdinal.length ? byOrdinal[ordinal] : null;
+        if (candidate == null) {
+            return false;
+        }
+        for (int i = 0; i < wordLength; i++) {
+            if (candidate.charAt(i) != fold(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param str the word to look up (in any case)
+     * @return the word (or null if not a word)
+     */
+    Word find(CharSequence str) {
+        int ordinal = ordinalOf(str);
+        return ordinal == -1 ? null : words[ordinal];
+    }
+
+    /**
+     * Adds a word (not already in the lookup) - giving it the next ordinal
+     * @param word the word
+     */
+    void add(Word word) {
+        int ordinal = ordinalLimit;
+        Word[] byOrdinal = words;
+        if (ordinal == byOrdinal.length) {
+            byOrdinal = Arrays.copyOf(byOrdinal, Math.max(16, byOrdinal.length + (byOrdinal.length >> 1)));
+        }
+        byOrdinal[ordinal] = word;
+        word.setOrdinal(ordinal);
+        words = byOrdinal;
+        ordinalLimit = ordinal + 1;
+        size++;
+        PerfectHash current = perfectHash;
+        current.editCount++;
+        if (current.needsRebuild()) {
+            perfectHash = buildHash();
+        } else {
+            insertAdded(current, ordinal);
+        }
+    }
+
+    /**
+     * Removes a word - its ordinal is left empty (and is not reused)
+     * @param word the word
+     */
+    void remove(Word word) {
+        words[word.getOrdinal()] = null;
+        word.setOrdinal(-1);
+        size--;
+        PerfectHash current = perfectHash;
+        current.editCount++;
+        if (current.needsRebuild()) {
+            perfectHash = buildHash();
+        }
+    }
+
+    private void insertAdded(PerfectHash current, int ordinal) {
+        int[] table = current.added;
+        if ((current.addedCount + 1) * 2 > table.length) {
+            // (grown into a new table - so a concurrent lookup only ever sees a whole table)...
+            // (and words removed since being added are dropped)...
+            int[] grown = new int[Math.max(16, table.length * 2)];
+            int count = 0;
+            for (int entry: table) {
+                if (entry != 0 && words[entry - 1] != null) {
+                    place(grown, entry, hash(words[entry - 1], current.seed));
+                    count++;
+                }
+            }
+            place(grown, ordinal + 1, hash(words[ordinal], current.seed));
+            current.added = grown;
+            current.addedCount = count + 1;
+        } else {
+            place(table, ordinal + 1, hash(words[ordinal], current.seed));
+            current.addedCount++;
+        }
+    }
+
+    private static void place(int[] table, int entry, long hashed) {
+        int mask = table.length - 1;
+        int slot = (int) hashed & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry;
+    }
+
+    /**
+     * @param ordinal the ordinal
+     * @return the word with the ordinal - or null if that word has been removed
+     */
+    Word getWord(int ordinal) {
+        Objects.checkIndex(ordinal, ordinalLimit);
+        return words[ordinal];
+    }
+
+    /**
+     * @return the words by ordinal (null for removed words) - a copy, so unaffected by later edits
+     */
+    Word[] copyWords() {
+        return Arrays.copyOf(words, ordinalLimit);
+    }
+
+    /**
+     * @return one more than the highest ordinal ever given to a word
+     */
+    int getOrdinalLimit() {
+        return ordinalLimit;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static char fold(char ch) {
+        if (ch >= 'a' && ch <= 'z') {
+            return (char) (ch - ('a' - 'A'));
+        }
+        return ch < 128 ? ch : Character.toUpperCase(ch);
+    }
+
+    private long hash(Word word, long seed) {
+        // FNV-1a over the letters, then mixed (so that both the bucket and the slot bits are well spread)...
+        long result = seed;
+        for (int i = 0; i < wordLength; i++) {
+            result = (result ^ word.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(result);
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static int slot(long hash, int displacement, int slotCount) {
+        return reduce(mix(hash + displacement * GOLDEN_GAMMA), slotCount);
+    }
+
+    /**
+     * Maps a hash onto [0, range) - by multiplying rather than dividing
+     */
+    private static int reduce(long hash, int range) {
+        return (int) (((hash >>> 33) * range) >>> 31);
+    }
+}
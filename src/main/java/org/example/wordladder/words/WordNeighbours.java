@@ -0,0 +1,36 @@
+package org.example.wordladder.words;
+
+/**
+ * The links between words, indexed by word ordinal - as traversed by searches
+ * <p>A dictionary's {@link Dictionary#getNeighbours() neighbours} are its graph snapshot - except in implicit
+ * mode, where only the links of the words a search actually visits are generated (so searching never builds
+ * the graph). Either way, there are new neighbours after every edit - so anything derived from them can tell
+ * when it is out of date</p>
+ * <p>Implicit mode neighbours follow the live dictionary - so should only be used whilst holding the
+ * dictionary's read lock</p>
+ */
+public interface WordNeighbours {
+    /**
+     * @return the number of word ordinals (removed words have no word and no links)
+     */
+    int size();
+
+    /**
+     * @param ordinal the word ordinal
+     * @return the word (or null for a removed word)
+     */
+    Word getWord(int ordinal);
+
+    /**
+     * @param ordinal the word ordinal
+     * @param into receives the ordinals of the linked words (in alphabetical order) - must be at least
+     *             {@link #getMaximumDegree()} long
+     * @return the number of linked words
+     */
+    int linksOf(int ordinal, int[] into);
+
+    /**
+     * @return the most links any word can have
+     */
+    int getMaximumDegree();
+}
@@ -0,0 +1,283 @@
+package org.example.wordladder.words;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Wildcard pattern index over a dictionary - patterns use the variation char ('_') for any letter,
+ * e.g. "C_T" or "C__T"
+ */
+public class WordPatternIndex {
+    private static final int LETTERS = 26;
+    private static final int[] NO_ORDINALS = new int[0];
+
+    private final Dictionary dictionary;
+    private final int wordLength;
+    // single wildcard variations (as built during linking) to words, in alphabetical order - null in implicit mode...
+    private final VariationBuckets variations;
+    // ordinals of words with a given letter at a given position - indexed by (position * LETTERS) + letter
+    // (each list has room to grow - only the first positionCounts entries are used)...
+    private final int[][] positionLetters;
+    private final int[] positionCounts;
+
+    WordPatternIndex(Dictionary dictionary, VariationBuckets variations) {
+        this.dictionary = dictionary;
+        this.wordLength = dictionary.getWordLength();
+        this.variations = variations;
+        this.positionCounts = new int[wordLength * LETTERS];
+        this.positionLetters = buildPositionLetters();
+    }
+
+    private int[][] buildPositionLetters() {
+        int limit = dictionary.getOrdinalLimit();
+        for (int ordinal = 0; ordinal < limit; ordinal++) {
+            Word word = dictionary.getWord(ordinal);
+            for (int pos = 0; word != null && pos < wordLength; pos++) {
+                int letter = letterIndex(word.charAt(pos));
+                if (letter != -1) {
+                    positionCounts[(pos * LETTERS) + letter]++;
+                }
+            }
+        }
+        int[][] result = new int[positionCounts.length][];
+        for (int i = 0; i < positionCounts.length; i++) {
+            result[i] = positionCounts[i] == 0 ? NO_ORDINALS : new int[positionCounts[i]];
+            positionCounts[i] = 0;
+        }
+        // filling in ordinal order means every list is already sorted...
+        for (int ordinal = 0; ordinal < limit; ordinal++) {
+            Word word = dictionary.getWord(ordinal);
+            for (int pos = 0; word != null && pos < wordLength; pos++) {
+                int letter = letterIndex(word.charAt(pos));
+                if (letter != -1) {
+                    int slot = (pos * LETTERS) + letter;
+                    result[slot][positionCounts[slot]++] = ordinal;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indexes the positions of an added word - which has the highest ordinal, so is appended to each list
+     * (called whilst holding the dictionary's write lock)
+     */
+    void indexPositions(Word word) {
+        for (int pos = 0; pos < wordLength; pos++) {
+            int letter = letterIndex(word.charAt(pos));
+            if (letter != -1) {
+                int slot = (pos * LETTERS) + letter;
+                int[] ordinals = positionLetters[slot];
+                if (positionCounts[slot] == ordinals.length) {
+                    ordinals = Arrays.copyOf(ordinals, Math.max(4, ordinals.length + (ordinals.length >> 1)));
+                    positionLetters[slot] = ordinals;
+                }
+                ordinals[positionCounts[slot]++] = word.getOrdinal();
+            }
+        }
+    }
+
+    void link(Word word) {
+        char[] letters = word.toString().toCharArray();
+        for (int pos = 0; pos < wordLength; pos++) {
+            Word[] bucket = variations.get(letters, pos);
+            if (bucket == null) {
+                variations.put(letters, pos, new Word[] {word});
+            } else {
+                for (Word linkedWord: bucket) {
+                    linkedWord.insertLinkedWord(word);
+                    word.insertLinkedWord(linkedWord);
+                }
+                int insertAt = -Arrays.binarySearch(bucket, word, Word::compareByRank) - 1;
+                Word[] updated = new Word[bucket.length + 1];
+                System.arraycopy(bucket, 0, updated, 0, insertAt);
+                updated[insertAt] = word;
+                System.arraycopy(bucket, insertAt, updated, insertAt + 1, bucket.length - insertAt);
+                variations.put(letters, pos, updated);
+            }
+        }
+    }
+
+    void unlink(Word word) {
+        char[] letters = word.toString().toCharArray();
+        for (int pos = 0; pos < wordLength; pos++) {
+            Word[] bucket = variations.get(letters, pos);
+            if (bucket != null) {
+                if (bucket.length == 1) {
+                    variations.remove(letters, pos);
+                } else {
+                    Word[] updated = new Word[bucket.length - 1];
+                    int kept = 0;
+                    for (Word bucketWord: bucket) {
+                        if (bucketWord != word && kept < updated.length) {
+                            updated[kept++] = bucketWord;
+                        }
+                    }
+                    variations.put(letters, pos, updated);
+                }
+            }
+        }
+        for (Word linkedWord: word.getLinkedWords()) {
+            linkedWord.removeLinkedWord(word);
+        }
+        word.clearLinkedWords();
+    }
+
+    /**
+     * @return the (approximate) heap bytes of the index (not including the words themselves)
+     */
+    long estimateBytes() {
+        long result = MemoryEstimates.OBJECT_HEADER;
+        if (variations != null) {
+            result += variations.estimateBytes();
+        }
+        result += MemoryEstimates.referenceArray(positionLetters.length)
+                + MemoryEstimates.intArray(positionCounts.length);
+        for (int[] ordinals: positionLetters) {
+            // (empty lists are all the same shared array)...
+            result += ordinals.length == 0 ? 0L : MemoryEstimates.intArray(ordinals.length);
+        }
+        return result;
+    }
+
+    private static int letterIndex(char ch) {
+        return ch >= 'A' && ch <= 'Z' ? ch - 'A' : -1;
+    }
+
+    /**
+     * Finds all words matching a pattern
+     * @param pattern the pattern - any number of variation chars ('_') can be used as wildcards
+     * @return the matching words (in alphabetical order)
+     */
+    public List<Word> findMatching(String pattern) {
+        dictionary.readLock().lock();
+        try {
+            if (pattern.length() != wordLength) {
+                return Collections.emptyList();
+            }
+            String upperPattern = pattern.toUpperCase();
+            int wildcards = 0;
+            for (int pos = 0; pos < wordLength; pos++) {
+                wildcards += upperPattern.charAt(pos) == Word.VARIATION_CHAR ? 1 : 0;
+            }
+            switch (wildcards) {
+                case 0:
+                    Word word = dictionary.getWord(upperPattern);
+                    return word == null ? Collections.emptyList() : Collections.singletonList(word);
+                case 1:
+                    if (variations != null) {
+                        Word[] bucket = variations.get(upperPattern.toCharArray(),
+                                upperPattern.indexOf(Word.VARIATION_CHAR));
+                        return bucket == null ? Collections.emptyList()
+                                : Collections.unmodifiableList(Arrays.asList(bucket));
+                    }
+            }
+            if (wildcards == wordLength) {
+                List<Word> result = new ArrayList<>(dictionary.size());
+                for (int ordinal = 0, limit = dictionary.getOrdinalLimit(); ordinal < limit; ordinal++) {
+                    Word word = dictionary.getWord(ordinal);
+                    if (word != null) {
+                        result.add(word);
+                    }
+                }
+                // (ordinal order is only alphabetical until words are added)...
+                result.sort(Word::compareByRank);
+                return result;
+            }
+            return toWords(intersectPositions(upperPattern));
+        } finally {
+            dictionary.readLock().unlock();
+        }
+    }
+
+    public int countMatching(String pattern) {
+        return findMatching(pattern).size();
+    }
+
+    private int[] intersectPositions(String upperPattern) {
+        List<Integer> slots = new ArrayList<>();
+        for (int pos = 0; pos < wordLength; pos++) {
+            char ch = upperPattern.charAt(pos);
+            if (ch != Word.VARIATION_CHAR) {
+                int letter = letterIndex(ch);
+                if (letter == -1) {
+                    return NO_ORDINALS;
+                }
+                slots.add((pos * LETTERS) + letter);
+            }
+        }
+        // start with the smallest list - so every other list is only probed for the fewest candidates...
+        slots.sort(Comparator.comparingInt(slot -> positionCounts[slot]));
+        int[] candidates = Arrays.copyOf(positionLetters[slots.get(0)], positionCounts[slots.get(0)]);
+        int candidateCount = candidates.length;
+        for (int l = 1; l < slots.size() && candidateCount > 0; l++) {
+            int[] list = positionLetters[slots.get(l)];
+            int listCount = positionCounts[slots.get(l)];
+            int kept = 0;
+            int from = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                int found = Arrays.binarySearch(list, from, listCount, candidates[c]);
+                if (found >= 0) {
+                    candidates[kept++] = candidates[c];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            candidateCount = kept;
+        }
+        return Arrays.copyOf(candidates, candidateCount);
+    }
+
+    /**
+     * Finds the words that are one letter different from any string (of the dictionary's word length)
+     * - the string itself does not need to be a word in the dictionary
+     * @param str the string to find neighbours of
+     * @return the neighbouring words (in alphabetical order)
+     */
+    public List<Word> findNeighbours(String str) {
+        dictionary.readLock().lock();
+        try {
+            if (str.length() != wordLength) {
+                return Collections.emptyList();
+            }
+            char[] patternChars = str.toUpperCase().toCharArray();
+            if (variations == null) {
+                return dictionary.getImplicitLinks().find(patternChars);
+            }
+            List<Word> result = new ArrayList<>();
+            for (int pos = 0; pos < wordLength; pos++) {
+                char original = patternChars[pos];
+                Word[] bucket = variations.get(patternChars, pos);
+                if (bucket != null) {
+                    for (Word word: bucket) {
+                        // only the string itself can appear in more than one variation...
+                        if (word.charAt(pos) != original) {
+                            result.add(word);
+                        }
+                    }
+                }
+            }
+            result.sort(Word::compareByRank);
+            return result;
+        } finally {
+            dictionary.readLock().unlock();
+        }
+    }
+
+    private List<Word> toWords(int[] ordinals) {
+        List<Word> result = new ArrayList<>(ordinals.length);
+        for (int ordinal: ordinals) {
+            // (removed words are left in the position lists - their ordinals are never reused)...
+            Word word = dictionary.getWord(ordinal);
+            if (word != null) {
+                result.add(word);
+            }
+        }
+        result.sort(Word::compareByRank);
+        return result;
+    }
+}
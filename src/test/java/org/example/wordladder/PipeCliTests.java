@@ -0,0 +1,67 @@
+package org.example.wordladder;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipeCliTests {
+    @Test
+    void resultsAreWrittenInInputOrder() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            input.append(i % 2 == 0 ? "cold warm 5\n" : "cat dog\n");
+        }
+        String[] lines = run(input.toString(), 4);
+        assertEquals(50, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith("{\"line\":" + (i + 1) + ","));
+            assertTrue(lines[i].contains(i % 2 == 0 ? "\"start\":\"COLD\"" : "\"start\":\"CAT\""));
+        }
+    }
+
+    @Test
+    void solutionsAsJsonArrays() {
+        String[] lines = run("cat cot 3\n", 1);
+        assertEquals(1, lines.length);
+        assertEquals("{\"line\":1,\"start\":\"CAT\",\"end\":\"COT\",\"maxLadder\":3,\"explored\":0,"
+                + "\"solutions\":[[\"CAT\",\"COT\"],[\"CAT\",\"CIT\",\"COT\"],[\"CAT\",\"CUT\",\"COT\"]]}", lines[0]);
+    }
+
+    @Test
+    void minimumLadderLengthWhenNoMaximum() {
+        String[] lines = run("cat dog\n", 1);
+        assertTrue(lines[0].contains("\"maxLadder\":4"));
+        assertTrue(lines[0].contains("[\"CAT\",\"COT\",\"COG\",\"DOG\"]"));
+    }
+
+    @Test
+    void errorsAreReportedPerLine() {
+        String[] lines = run("# comment\n\ncat xyzzy\ncat\ncat dog x\ncat dog 4\n", 2);
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("{\"line\":1,\"input\":\"cat xyzzy\",\"error\":"));
+        assertTrue(lines[1].contains("\"error\":\"Expected 'startWord finalWord [maxLadder]'\""));
+        assertTrue(lines[2].contains("\"error\":\"Max ladder 'x' is not a number\""));
+        assertTrue(lines[3].startsWith("{\"line\":4,\"start\":\"CAT\""));
+    }
+
+    @Test
+    void failedLinesDoNotEndTheStream() {
+        CompletableFuture<String> failed = CompletableFuture.failedFuture(new IllegalStateException("boom"));
+        assertEquals("{\"line\":7,\"error\":\"Unexpected error: java.lang.IllegalStateException: boom\"}",
+                PipeCli.result(7, failed));
+        assertEquals("{\"line\":7}", PipeCli.result(7, CompletableFuture.completedFuture("{\"line\":7}")));
+    }
+
+    private static String[] run(String input, int threads) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PipeCli(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out, threads).run();
+        String output = out.toString(StandardCharsets.UTF_8);
+        return output.isEmpty() ? new String[0] : output.split("\n");
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.wordladder.analytics;
+
+import org.example.wordladder.solving.WordDistanceMap;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.Word;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DictionaryAnalyticsTests {
+    @Test
+    void matchesSingleSourceSearches() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        DictionaryAnalytics analytics = DictionaryAnalytics.analyse(dictionary);
+
+        int diameter = 0;
+        long[] histogram = new long[64];
+        for (int ordinal = 0; ordinal < dictionary.size(); ordinal++) {
+            Word word = dictionary.getWord(ordinal);
+            WordDistanceMap distanceMap = new WordDistanceMap(word);
+            // distance map distances are ladder lengths (the word itself is 1)...
+            int eccentricity = distanceMap.distances.values().stream().mapToInt(d -> d - 1).max().orElse(0);
+            assertEquals(eccentricity, analytics.getEccentricity(word), word.toString());
+            diameter = Math.max(diameter, eccentricity);
+            distanceMap.distances.values().forEach(d -> histogram[d - 1]++);
+        }
+        assertEquals(diameter, analytics.getDiameter());
+        assertEquals(diameter + 1, analytics.getLongestShortestLadderLength());
+        long[] distanceHistogram = analytics.getDistanceHistogram();
+        assertEquals(diameter + 1, distanceHistogram.length);
+        for (int distance = 1; distance <= diameter; distance++) {
+            assertEquals(histogram[distance] / 2, distanceHistogram[distance]);
+        }
+    }
+
+    @Test
+    void hardestPairsAreAtDiameter() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        DictionaryAnalytics analytics = DictionaryAnalytics.analyse(dictionary);
+        assertFalse(analytics.getHardestPairs().isEmpty());
+        assertEquals(analytics.getDistanceHistogram()[analytics.getDiameter()], analytics.getHardestPairCount());
+        for (WordPair pair: analytics.getHardestPairs()) {
+            assertEquals(analytics.getDiameter(), pair.getDistance());
+            WordDistanceMap distanceMap = new WordDistanceMap(pair.getFirst());
+            assertEquals(pair.getMinimumLadderLength(), distanceMap.distances.get(pair.getSecond()));
+            assertTrue(pair.getFirst().getOrdinal() < pair.getSecond().getOrdinal());
+        }
+    }
+
+    @Test
+    void widerLanesGiveSameResults() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        DictionaryAnalytics narrow = DictionaryAnalytics.analyse(dictionary);
+        DictionaryAnalytics wide = DictionaryAnalytics.analyse(dictionary.getGraph(),
+                new MultiSourceBfs(dictionary.getGraph(), 3), 10);
+        assertEquals(narrow.getDiameter(), wide.getDiameter());
+        assertEquals(narrow.getHardestPairCount(), wide.getHardestPairCount());
+        assertEquals(Math.min(10, wide.getHardestPairCount()), wide.getHardestPairs().size());
+        for (int ordinal = 0; ordinal < dictionary.size(); ordinal++) {
+            assertEquals(narrow.getEccentricity(ordinal), wide.getEccentricity(ordinal));
+        }
+    }
+}
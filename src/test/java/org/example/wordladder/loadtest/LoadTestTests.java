@@ -0,0 +1,70 @@
+package org.example.wordladder.loadtest;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.solving.Options;
+import org.example.wordladder.solving.Solver;
+import org.example.wordladder.words.Dictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadTestTests {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void corpusIsReproducibleAndBucketedByDifficulty() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        List<Query> corpus = PuzzleCorpus.generate(dictionary, 2, 6, 5, 99L);
+        List<Query> again = PuzzleCorpus.generate(dictionary, 2, 6, 5, 99L);
+        assertEquals(25, corpus.size());
+        assertEquals(corpus.toString(), again.toString());
+        for (Query query: corpus) {
+            int minimumLadderLength = new Solver(new Puzzle(query.getStartWord(), query.getFinalWord()), new Options())
+                    .calculateMinimumLadderLength().orElseThrow();
+            assertEquals(query.getMaximumLadderLength(), minimumLadderLength);
+        }
+    }
+
+    @Test
+    void corpusRoundTrips() {
+        List<Query> corpus = PuzzleCorpus.generate(Dictionary.Factory.forWordLength(3), 2, 4, 3, 1L);
+        Path path = tempDir.resolve("corpus.txt");
+        PuzzleCorpus.write(corpus, path);
+        assertEquals(corpus.toString(), PuzzleCorpus.read(path).toString());
+    }
+
+    @Test
+    void replayReportsPercentiles() {
+        List<Query> queries = List.of(Query.parse("cat dog"), Query.parse("cold warm 5"), Query.parse("cat xyz 4"),
+                Query.parse("cat cot 3"));
+        LoadTestReport report = new LoadTest(2, 1, 2).replay(queries);
+        assertEquals(4, report.getLatencies().getCount());
+        assertEquals(1, report.getErrorCount());
+        assertTrue(report.getLatencies().getPercentileNanos(0.5d) <= report.getLatencies().getPercentileNanos(0.99d));
+        assertEquals(List.of(0, 2, 4, 5), report.getLatenciesByDifficulty().keySet().stream().collect(Collectors.toList()));
+        String json = report.toJson();
+        assertTrue(json.startsWith("{\"javaVersion\":"));
+        assertTrue(json.contains("\"queries\":4,\"concurrency\":2,\"solveParallelism\":1"));
+        assertTrue(json.contains("\"p999\":"));
+    }
+
+    @Test
+    void nearestRankPercentiles() {
+        long[] nanos = new long[1000];
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = (nanos.length - i) * 1000L;
+        }
+        LatencyStats stats = new LatencyStats(nanos);
+        assertEquals(500_000L, stats.getPercentileNanos(0.5d));
+        assertEquals(990_000L, stats.getPercentileNanos(0.99d));
+        assertEquals(999_000L, stats.getPercentileNanos(0.999d));
+        assertEquals(1_000_000L, stats.getMaximumNanos());
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.Word;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CorridorTests {
+    @Test
+    void corridorIsSmallAndContainsEveryLadderWord() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        Word cold = dictionary.getWord("cold");
+        Word warm = dictionary.getWord("warm");
+        Corridor corridor = Corridor.build(dictionary.getGraph(), cold, warm, 6, Optional.empty());
+        assertFalse(corridor.isEmpty());
+        assertTrue(corridor.size() < dictionary.size() / 10);
+        assertEquals(cold, corridor.getWord(corridor.getBegin()));
+        assertEquals(warm, corridor.getWord(corridor.getEnd()));
+        assertEquals(1, corridor.getEndDistance(corridor.getEnd()));
+        Set<Word> corridorWords = new HashSet<>();
+        for (int local = 0; local < corridor.size(); local++) {
+            corridorWords.add(corridor.getWord(local));
+            if (local > 0) {
+                // local indexes follow ordinal (alphabetical) order...
+                assertTrue(corridor.getWord(local - 1).getOrdinal() < corridor.getWord(local).getOrdinal());
+            }
+        }
+        Options options = new Options();
+        options.setMaximumLadderLength(6);
+        options.setSearchStrategy(SearchStrategy.DEPTH_FIRST);
+        Solver solver = new Solver(new Puzzle("cold", "warm"), options);
+        solver.solve();
+        assertFalse(solver.getSolutions().isEmpty());
+        for (Solution solution: solver.getSolutions()) {
+            assertTrue(corridorWords.containsAll(solution.getLadder()));
+        }
+    }
+
+    @Test
+    void corridorLinksStayWithinCorridor() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        Corridor corridor = Corridor.build(dictionary.getGraph(), dictionary.getWord("cat"), dictionary.getWord("dog"),
+                5, Optional.empty());
+        int[] offsets = corridor.getOffsets();
+        int[] links = corridor.getLinks();
+        for (int local = 0; local < corridor.size(); local++) {
+            List<Word> linkedWords = corridor.getWord(local).getLinkedWords();
+            for (int l = offsets[local]; l < offsets[local + 1]; l++) {
+                assertTrue(linkedWords.contains(corridor.getWord(links[l])));
+            }
+        }
+    }
+
+    @Test
+    void emptyCorridorWhenTooShort() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(5);
+        Corridor corridor = Corridor.build(dictionary.getGraph(), dictionary.getWord("smart"),
+                dictionary.getWord("money"), 9, Optional.empty());
+        assertTrue(corridor.isEmpty());
+        assertEquals(0, new CorridorSearch(corridor, 9, false, new ParallelTasks(Runnable::run, 1), 0L).search().size());
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.DictionarySource;
+import org.example.wordladder.words.Word;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistanceTableTests {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void tableMatchesDistanceMaps() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        DistanceTable table = DistanceTable.build(dictionary);
+        assertTrue(table.matches(dictionary));
+        for (String from: List.of("cat", "dog", "iwi", "zzz", "aah")) {
+            Word fromWord = dictionary.getWord(from);
+            WordDistanceMap distanceMap = new WordDistanceMap(fromWord);
+            for (int ordinal = 0; ordinal < dictionary.size(); ordinal++) {
+                Word toWord = dictionary.getWord(ordinal);
+                assertEquals(distanceMap.getDistance(toWord), table.getMinimumLadderLength(fromWord, toWord));
+                assertEquals(distanceMap.getDistance(toWord), table.getMinimumLadderLength(toWord, fromWord));
+            }
+        }
+    }
+
+    @Test
+    void canWriteAndMapTable() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(2);
+        DistanceTable table = DistanceTable.build(dictionary);
+        Path file = DistanceTables.getTableFile(tempDir, 2);
+        table.write(file);
+        DistanceTable mapped = DistanceTable.map(file);
+        assertTrue(mapped.matches(dictionary));
+        assertEquals(dictionary.size(), mapped.getWordCount());
+        for (int ordinal1 = 0; ordinal1 < dictionary.size(); ordinal1++) {
+            for (int ordinal2 = 0; ordinal2 < dictionary.size(); ordinal2++) {
+                assertEquals(table.getLadderLength(ordinal1, ordinal2), mapped.getLadderLength(ordinal1, ordinal2));
+            }
+        }
+    }
+
+    @Test
+    void tableDoesNotMatchEditedDictionary() {
+        Dictionary dictionary = new Dictionary(2);
+        DistanceTable table = DistanceTable.build(dictionary);
+        DistanceTables.register(dictionary, table);
+        assertTrue(DistanceTables.forDictionary(dictionary).isPresent());
+        dictionary.removeWord(dictionary.getWord(0).toString());
+        assertFalse(table.matches(dictionary));
+        assertThrows(IllegalArgumentException.class, () -> DistanceTables.register(dictionary, table));
+    }
+
+    @Test
+    void editsOnlyInvalidateTheirComponents() {
+        Dictionary dictionary = new Dictionary(3, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream("cat\ncot\ndog\nfig\nfit\n".getBytes()), false));
+        DistanceTable table = DistanceTable.build(dictionary);
+        DistanceTables.register(dictionary, table);
+        Word cat = dictionary.getWord("cat");
+        Word dog = dictionary.getWord("dog");
+        Word fig = dictionary.getWord("fig");
+        Word fit = dictionary.getWord("fit");
+        // (joins the cat/cot and dog components - but not fig/fit)...
+        Word cog = dictionary.addWord("cog");
+        assertFalse(table.covers(cat));
+        assertFalse(table.covers(dog));
+        assertFalse(table.covers(cog));
+        assertTrue(table.covers(fig));
+        assertTrue(DistanceTables.forWords(dictionary, cat, dog).isEmpty());
+        assertEquals(2, DistanceTables.forWords(dictionary, fig, fit).orElseThrow()
+                .getMinimumLadderLength(fig, fit).orElseThrow());
+        assertTrue(DistanceTables.forWords(dictionary, cog, fig).orElseThrow()
+                .getMinimumLadderLength(cog, fig).isEmpty());
+        dictionary.removeWord("fit");
+        assertFalse(table.covers(fig));
+        assertTrue(DistanceTables.forWords(dictionary, cat, fig).isEmpty());
+    }
+
+    @Test
+    void solverUsesRegisteredTable() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        Options options = new Options();
+        options.setMaximumLadderLength(5);
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        Solver solver = new Solver(puzzle, options);
+        solver.solve();
+        int expectedSolutions = solver.getSolutions().size();
+
+        DistanceTables.register(dictionary, DistanceTable.build(dictionary));
+        try {
+            solver = new Solver(puzzle, options);
+            Optional<Integer> minimumLadderLength = solver.calculateMinimumLadderLength();
+            assertEquals(Optional.of(5), minimumLadderLength);
+            solver.solve();
+            assertEquals(expectedSolutions, solver.getSolutions().size());
+        } finally {
+            DistanceTables.unregister(dictionary);
+        }
+    }
+}
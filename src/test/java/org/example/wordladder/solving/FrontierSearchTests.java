@@ -0,0 +1,60 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.WordGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrontierSearchTests {
+    @Test
+    void sameLadderLengthsAsQueueSearch() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        ParallelTasks single = new ParallelTasks(Runnable::run, 1);
+        ParallelTasks parallel = new ParallelTasks(executor, 4);
+        try {
+            for (int wordLength = 3; wordLength <= 5; wordLength++) {
+                WordGraph graph = Dictionary.Factory.forWordLength(wordLength).getGraph();
+                SplittableRandom random = new SplittableRandom(wordLength);
+                for (int s = 0; s < 8; s++) {
+                    int source = random.nextInt(graph.size());
+                    for (int maximum: new int[] {0, 1, 2, 4, 7}) {
+                        int[] expected = GraphDistances.ladderLengths(graph, source, maximum);
+                        assertArrayEquals(expected, FrontierSearch.ladderLengths(graph, source, maximum, single));
+                        assertArrayEquals(expected, FrontierSearch.ladderLengths(graph, source, maximum, parallel));
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void switchesToBottomUp() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        WordGraph graph = dictionary.getGraph();
+        FrontierSearch search = new FrontierSearch(graph, new ParallelTasks(Runnable::run, 1));
+        int[] ladderLengths = search.search(dictionary.getWord("cold").getOrdinal(), 0);
+        assertEquals(5, ladderLengths[dictionary.getWord("warm").getOrdinal()]);
+        assertTrue(search.getBottomUpLevelCount() > 0);
+        assertTrue(search.getBottomUpLevelCount() < search.getLevelCount());
+    }
+
+    @Test
+    void islandWord() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        FrontierSearch search = new FrontierSearch(dictionary.getGraph(), new ParallelTasks(Runnable::run, 1));
+        int[] ladderLengths = search.search(dictionary.getWord("iwi").getOrdinal(), 0);
+        assertEquals(1, ladderLengths[dictionary.getWord("iwi").getOrdinal()]);
+        assertEquals(1, Arrays.stream(ladderLengths).filter(length -> length != 0).count());
+        assertEquals(1, search.getLevelCount());
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.DictionarySource;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KShortestLaddersTests {
+    @Test
+    void shortestLaddersMatchEnumeration() {
+        assertSameAsEnumeration("cold", "warm", 6, 50);
+        assertSameAsEnumeration("cat", "dog", 5, 100);
+        assertSameAsEnumeration("cat", "cot", 4, 27);
+    }
+
+    @Test
+    void noLaddersWhenUnsolvable() {
+        Solver solver = new Solver(new Puzzle("llama", "artsy"), new Options());
+        solver.solveShortest(10);
+        assertTrue(solver.getSolutions().isEmpty());
+    }
+
+    @Test
+    void sameWordHasSingleLadder() {
+        Solver solver = new Solver(new Puzzle("cat", "cat"), new Options());
+        solver.solveShortest(10);
+        assertEquals(1, solver.getSolutions().size());
+    }
+
+    @Test
+    void ignoresMaximumLadderLength() {
+        Options options = new Options();
+        options.setMaximumLadderLength(2);
+        Solver solver = new Solver(new Puzzle("cold", "warm"), options);
+        solver.solveShortest(5);
+        assertEquals(5, solver.getSolutions().size());
+        assertEquals(5, solver.getSolutions().get(0).size());
+    }
+
+    @Test
+    void searchesOnlyNearTheEndWord() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        KShortestLadders search = new KShortestLadders(dictionary.getNeighbours(),
+                dictionary.getWord("cold").getOrdinal(), dictionary.getWord("warm").getOrdinal());
+        assertEquals(1, search.search(1).size());
+        // (the spur search stops once it reaches the start word's neighbours)...
+        assertTrue(search.getExploredCount() < dictionary.size() / 4, "Explored " + search.getExploredCount());
+    }
+
+    @Test
+    void searchesImplicitNeighbours() {
+        Dictionary eager = Dictionary.Factory.forWordLength(4);
+        Dictionary implicit = Dictionary.implicit(4, DictionarySource.bundled(4), 0);
+        List<int[]> expected = new KShortestLadders(eager.getNeighbours(), eager.getWord("cold").getOrdinal(),
+                eager.getWord("warm").getOrdinal()).search(30);
+        List<int[]> actual = new KShortestLadders(implicit.getNeighbours(), implicit.getWord("cold").getOrdinal(),
+                implicit.getWord("warm").getOrdinal()).search(30);
+        assertEquals(30, expected.size());
+        assertEquals(toStrings(eager, expected), toStrings(implicit, actual));
+    }
+
+    private static List<String> toStrings(Dictionary dictionary, List<int[]> ladders) {
+        return ladders.stream()
+                .map(ladder -> Arrays.stream(ladder)
+                        .mapToObj(ordinal -> dictionary.getWord(ordinal).toString())
+                        .collect(Collectors.joining(",")))
+                .collect(Collectors.toList());
+    }
+
+    private static void assertSameAsEnumeration(String startWord, String endWord, int maximumLadderLength, int count) {
+        Options options = new Options();
+        options.setMaximumLadderLength(maximumLadderLength);
+        options.setOrderedSolutions(true);
+        Solver solver = new Solver(new Puzzle(startWord, endWord), options);
+        solver.solve();
+        List<String> enumerated = solver.getSolutions().stream()
+                .map(Solution::toString)
+                .limit(count)
+                .collect(Collectors.toList());
+        assertEquals(count, enumerated.size());
+        solver.solveShortest(count);
+        List<String> ranked = solver.getSolutions().stream()
+                .map(Solution::toString)
+                .collect(Collectors.toList());
+        assertEquals(enumerated, ranked);
+    }
+}
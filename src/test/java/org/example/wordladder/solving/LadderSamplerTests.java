@@ -0,0 +1,91 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.exceptions.SamplingGaveUpException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LadderSamplerTests {
+    @Test
+    void sameSeedDrawsSameLadders() {
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        List<Solution> first = new LadderSampler(puzzle, 6, 42L).sample(20);
+        List<Solution> second = new LadderSampler(puzzle, 6, 42L).sample(20);
+        assertEquals(20, first.size());
+        assertEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    void drawsOnlyLaddersOfExactLength() {
+        Puzzle puzzle = new Puzzle("cat", "dog");
+        Set<String> ladders = laddersOfLength(puzzle, 5);
+        for (Solution solution: new LadderSampler(puzzle, 5, 7L).sample(500)) {
+            assertEquals(5, solution.size());
+            assertTrue(ladders.contains(solution.toString()), solution.toString());
+        }
+    }
+
+    @Test
+    void drawsUniformly() {
+        Puzzle puzzle = new Puzzle("cat", "dog");
+        Set<String> ladders = laddersOfLength(puzzle, 4);
+        int draws = ladders.size() * 1000;
+        Map<String, Integer> frequencies = new HashMap<>();
+        new LadderSampler(puzzle, 4, 1234L).sample(draws)
+                .forEach(solution -> frequencies.merge(solution.toString(), 1, Integer::sum));
+        assertEquals(ladders, frequencies.keySet());
+        frequencies.values().forEach(frequency -> assertEquals(1000, frequency, 150));
+    }
+
+    @Test
+    void noLaddersWhenTooShort() {
+        LadderSampler sampler = new LadderSampler(new Puzzle("cat", "dog"), 3, 1L);
+        assertFalse(sampler.hasCandidates());
+        assertTrue(sampler.sample().isEmpty());
+    }
+
+    @Test
+    void countsBeyondLongsAreExact() {
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        LadderSampler sampler = new LadderSampler(puzzle, 21, 5L);
+        assertTrue(sampler.getSequenceCount().compareTo(BigInteger.valueOf(Long.MAX_VALUE)) > 0);
+        for (Solution solution: sampler.sample(5)) {
+            assertEquals(21, solution.size());
+            assertEquals(21, new HashSet<>(solution.getLadder()).size());
+            for (int w = 1; w < solution.size(); w++) {
+                assertEquals(1, solution.getLadder().get(w - 1).differences(solution.getLadder().get(w)));
+            }
+        }
+    }
+
+    @Test
+    void givesUpRatherThanReportingNoLadders() {
+        // (AMMO - AMBO - UMBO are only linked to each other - so every four word sequence revisits a word)...
+        LadderSampler sampler = new LadderSampler(new Puzzle("ammo", "ambo"), 4, 1L);
+        assertTrue(sampler.hasCandidates());
+        assertThrows(SamplingGaveUpException.class, sampler::sample);
+    }
+
+    private static Set<String> laddersOfLength(Puzzle puzzle, int ladderLength) {
+        Options options = new Options();
+        options.setMaximumLadderLength(ladderLength);
+        Solver solver = new Solver(puzzle, options);
+        solver.solve();
+        return solver.getSolutions().stream()
+                .filter(solution -> solution.size() == ladderLength)
+                .map(Solution::toString)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.exceptions.ApplicationErrorException;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.DictionaryRegistry;
+import org.example.wordladder.words.DictionarySource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LadderStoreTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    void storesAndReopens() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        List<int[]> ladders = Arrays.asList(new int[] {1, 2, 3}, new int[] {1, 4, 5, 3});
+        try (LadderStore store = LadderStore.open(directory, dictionary)) {
+            assertTrue(store.matches(dictionary));
+            assertFalse(store.find(1, 3, 4).isPresent());
+            assertTrue(store.add(1, 3, 4, ladders));
+            assertFalse(store.add(1, 3, 4, ladders));
+            assertTrue(store.add(1, 3, 5, List.of()));
+            assertEquals(2, store.size());
+            assertLadders(ladders, store.find(1, 3, 4));
+            assertEquals(1, store.getMissCount());
+        }
+        try (LadderStore store = LadderStore.open(directory, dictionary)) {
+            assertEquals(2, store.size());
+            assertLadders(ladders, store.find(1, 3, 4));
+            assertLadders(List.of(), store.find(1, 3, 5));
+            assertFalse(store.find(3, 1, 4).isPresent());
+        }
+    }
+
+    @Test
+    void indexGrows() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        try (LadderStore store = LadderStore.open(directory, dictionary)) {
+            for (int start = 0; start < 3000; start++) {
+                store.add(start, start + 1, 6, List.of(new int[] {start, start + 1}));
+            }
+        }
+        try (LadderStore store = LadderStore.open(directory, dictionary)) {
+            assertEquals(3000, store.size());
+            for (int start = 0; start < 3000; start++) {
+                assertLadders(List.of(new int[] {start, start + 1}), store.find(start, start + 1, 6));
+            }
+        }
+    }
+
+    @Test
+    void recoversFromData() throws IOException {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        Path dataFile;
+        try (LadderStore store = LadderStore.open(directory, dictionary)) {
+            store.add(7, 8, 6, List.of(new int[] {7, 8}));
+            store.add(9, 8, 6, List.of(new int[] {9, 10, 8}));
+            dataFile = store.getDataFile();
+            Files.delete(store.getIndexFile());
+        }
+        // a record only part written...
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 1, 0, 0, 0, 0, 11}));
+        }
+        long size = Files.size(dataFile);
+        try (LadderStore store = LadderStore.open(directory, dictionary)) {
+            assertEquals(2, store.size());
+            assertEquals(size - 8, Files.size(dataFile));
+            assertLadders(List.of(new int[] {9, 10, 8}), store.find(9, 8, 6));
+            assertTrue(store.add(11, 8, 6, List.of(new int[] {11, 8})));
+        }
+        try (LadderStore store = LadderStore.open(directory, dictionary)) {
+            assertEquals(3, store.size());
+            assertLadders(List.of(new int[] {11, 8}), store.find(11, 8, 6));
+        }
+    }
+
+    @Test
+    void storesAreByWordList() throws IOException {
+        Dictionary dictionary = new Dictionary(3, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream("cat\ncot\ndog\n".getBytes()), false));
+        try (LadderStore store = LadderStore.open(directory, dictionary)) {
+            store.add(0, 1, 6, List.of(new int[] {0, 1}));
+        }
+        dictionary.addWord("cog");
+        LadderStore store = LadderStore.open(directory, dictionary);
+        assertEquals(0, store.size());
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.find(0, 1, 6));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(4, files.count());
+        }
+        // (a file named for the word list - but not a store of it)...
+        Dictionary other = new Dictionary(3, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream("cat\ncot\ndog\ncog\n".getBytes()), false));
+        Files.write(LadderStore.getDataFile(directory, 3, other.getFingerprint()), new byte[32]);
+        assertThrows(ApplicationErrorException.class, () -> LadderStore.open(directory, other));
+    }
+
+    @Test
+    void solverServesStoredPuzzles() {
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        Dictionary dictionary = puzzle.getDictionary();
+        LadderStore store = LadderStore.open(directory, dictionary);
+        LadderStores.register(dictionary, store);
+        try {
+            for (boolean ordered: new boolean[] {true, false}) {
+                Options options = new Options();
+                options.setOrderedSolutions(ordered);
+                Solver solver = new Solver(puzzle, options);
+                solver.solve();
+                assertTrue(solver.getExploredCount() > 0 || !ordered);
+                List<Solution> solutions = solver.getSolutions();
+                solutions.sort(Solution::compareTo);
+
+                Solver served = new Solver(puzzle, options);
+                served.solve();
+                assertEquals(0, served.getExploredCount());
+                assertEquals(solutions.toString(), served.getSolutions().toString());
+            }
+            assertEquals(1, store.size());
+            assertEquals(3, store.getHitCount());
+
+            // short-circuited puzzles are not stored...
+            Options options = new Options();
+            options.setMaximumLadderLength(3);
+            new Solver(new Puzzle("cold", "cord"), options).solve();
+            assertEquals(1, store.size());
+        } finally {
+            LadderStores.unregister(dictionary);
+            store.close();
+        }
+        assertEquals(Optional.empty(), LadderStores.forDictionary(dictionary));
+    }
+
+    @Test
+    void failedStoresAreMisses() throws IOException {
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        Dictionary dictionary = puzzle.getDictionary();
+        LadderStore store = LadderStore.open(directory, dictionary);
+        LadderStores.register(dictionary, store);
+        store.close();
+        try {
+            Solver solver = new Solver(puzzle, new Options());
+            solver.solve();
+            assertFalse(solver.getSolutions().isEmpty());
+            // (the failed store is no longer used)...
+            assertEquals(Optional.empty(), LadderStores.forDictionary(dictionary));
+        } finally {
+            LadderStores.unregister(dictionary);
+        }
+
+        // a store that cannot be opened is only tried once...
+        Path notDirectory = Files.createFile(directory.resolve("not-a-directory"));
+        System.setProperty(LadderStores.DIRECTORY_PROPERTY, notDirectory.toString());
+        try {
+            Dictionary other = new Dictionary(3);
+            assertEquals(Optional.empty(), LadderStores.forDictionary(other));
+            Files.delete(notDirectory);
+            assertEquals(Optional.empty(), LadderStores.forDictionary(other));
+        } finally {
+            System.clearProperty(LadderStores.DIRECTORY_PROPERTY);
+        }
+    }
+
+    @Test
+    void reloadedDictionariesShareStore() {
+        System.setProperty(LadderStores.DIRECTORY_PROPERTY, directory.toString());
+        try {
+            DictionaryRegistry registry = new DictionaryRegistry(DictionaryRegistry.UNLIMITED);
+            Dictionary old = registry.get(3);
+            LadderStore store = LadderStores.forDictionary(old).orElseThrow();
+            store.add(1, 2, 6, List.of(new int[] {1, 2}));
+            // the same word list - so the same files (the replaced dictionary's store is closed)...
+            Dictionary reloaded = registry.reload(3);
+            assertThrows(IllegalStateException.class, () -> store.find(1, 2, 6));
+            LadderStore reopened = LadderStores.forDictionary(reloaded).orElseThrow();
+            assertLadders(List.of(new int[] {1, 2}), reopened.find(1, 2, 6));
+            // (dictionaries of the same word list in use at once share the one open store)...
+            assertSame(reopened, LadderStores.forDictionary(new Dictionary(3)).orElseThrow());
+
+            // a different word list - the store is dropped (and closed) with the replaced dictionary...
+            registry.replace(new Dictionary(3, DictionarySource.stream("test",
+                    () -> new ByteArrayInputStream("cat\ncot\ndog\n".getBytes()), false)));
+            LadderStore other = LadderStores.forDictionary(registry.get(3)).orElseThrow();
+            assertNotSame(reopened, other);
+            assertEquals(0, other.size());
+        } finally {
+            System.clearProperty(LadderStores.DIRECTORY_PROPERTY);
+        }
+    }
+
+    private static void assertLadders(List<int[]> expected, Optional<List<int[]>> actual) {
+        assertTrue(actual.isPresent());
+        assertEquals(expected.size(), actual.get().size());
+        for (int l = 0; l < expected.size(); l++) {
+            assertArrayEquals(expected.get(l), actual.get().get(l));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.DictionarySource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class MeetInTheMiddleSearchTests {
+    @Test
+    void halfLengthsCoverLadder() {
+        for (int ladderLength = 2; ladderLength < 20; ladderLength++) {
+            int forward = MeetInTheMiddleSearch.forwardHalfLength(ladderLength);
+            int backward = MeetInTheMiddleSearch.backwardHalfLength(ladderLength);
+            // the midpoint word is in both halves...
+            assertEquals(ladderLength, forward + backward - 1);
+            assertEquals(0, backward - forward, 1);
+        }
+    }
+
+    @Test
+    void sameSolutionsAsDepthFirst() {
+        assertSameSolutions("cat", "dog", 6);
+        assertSameSolutions("cold", "warm", 7);
+        assertSameSolutions("cat", "cot", 4);
+        assertSameSolutions("cat", "bar", 5);
+        assertSameSolutions("smart", "money", 10);
+    }
+
+    @Test
+    void noSolutionsWhenTooShort() {
+        List<String> solutions = solve("smart", "money", 9, SearchStrategy.MEET_IN_THE_MIDDLE);
+        assertEquals(0, solutions.size());
+    }
+
+    @Test
+    void searchesImplicitNeighbours() {
+        Dictionary eager = Dictionary.Factory.forWordLength(4);
+        Dictionary implicit = Dictionary.implicit(4, DictionarySource.bundled(4), 0);
+        ParallelTasks tasks = new ParallelTasks(Runnable::run, 1);
+        List<Solution> expected = new MeetInTheMiddleSearch(Corridor.build(eager.getNeighbours(),
+                eager.getWord("cold"), eager.getWord("warm"), 7, Optional.empty()), 7, tasks).search();
+        List<Solution> actual = new MeetInTheMiddleSearch(Corridor.build(implicit.getNeighbours(),
+                implicit.getWord("cold"), implicit.getWord("warm"), 7, Optional.empty()), 7, tasks).search();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.toString(), actual.toString());
+        Corridor corridor = Corridor.build(implicit.getNeighbours(), implicit.getWord("cold"),
+                implicit.getWord("warm"), 7, Optional.empty());
+        assertEquals(Corridor.build(eager.getNeighbours(), eager.getWord("cold"), eager.getWord("warm"), 7,
+                Optional.empty()).size(), corridor.size());
+    }
+
+    private static void assertSameSolutions(String startWord, String endWord, int maximumLadderLength) {
+        List<String> expected = solve(startWord, endWord, maximumLadderLength, SearchStrategy.DEPTH_FIRST);
+        List<String> actual = solve(startWord, endWord, maximumLadderLength, SearchStrategy.MEET_IN_THE_MIDDLE);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    private static List<String> solve(String startWord, String endWord, int maximumLadderLength, SearchStrategy strategy) {
+        Options options = new Options();
+        options.setMaximumLadderLength(maximumLadderLength);
+        options.setOrderedSolutions(true);
+        options.setSearchStrategy(strategy);
+        Solver solver = new Solver(new Puzzle(startWord, endWord), options);
+        solver.solve();
+        return solver.getSolutions().stream()
+                .map(Solution::toString)
+                .collect(Collectors.toList());
+    }
+}
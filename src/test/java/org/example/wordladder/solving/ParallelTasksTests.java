@@ -0,0 +1,75 @@
+package org.example.wordladder.solving;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelTasksTests {
+    @Test
+    void resultsAreInTaskOrder() {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            ParallelTasks tasks = new ParallelTasks(pool, 4);
+            List<Integer> results = tasks.map(1000, index -> index * 2);
+            assertEquals(IntStream.range(0, 1000).map(index -> index * 2).boxed().collect(Collectors.toList()), results);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void staysWithinParallelism() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maximumRunning = new AtomicInteger();
+            new ParallelTasks(pool, 3).map(200, index -> {
+                maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return index;
+            });
+            assertTrue(maximumRunning.get() <= 3);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void callingThreadCompletesTasksWhenExecutorRejects() {
+        ParallelTasks tasks = new ParallelTasks(runnable -> {
+            throw new RejectedExecutionException();
+        }, 4);
+        assertEquals(List.of(0, 1, 2, 3, 4), tasks.map(5, index -> index));
+    }
+
+    @Test
+    void failuresArePropagated() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            ParallelTasks tasks = new ParallelTasks(pool, 3);
+            assertThrows(IllegalStateException.class, () -> tasks.map(50, index -> {
+                if (index == 17) {
+                    throw new IllegalStateException("Task failed");
+                }
+                return index;
+            }));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleAnalysisTests {
+    @Test
+    void minimumLengthThenSolveSharesLayers() {
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        Options options = new Options();
+        options.setSearchStrategy(SearchStrategy.DEPTH_FIRST);
+        Solver solver = new Solver(puzzle, options);
+        assertEquals(5, solver.calculateMinimumLadderLength().orElseThrow());
+        assertEquals(1, solver.getAnalysis().getSearchCount());
+        options.setMaximumLadderLength(5);
+        solver.solve();
+        assertEquals(7, solver.getSolutions().size());
+        // (the full layers from one word are reused - only the other word is searched)...
+        assertEquals(2, solver.getAnalysis().getSearchCount());
+        assertEquals(5, solver.calculateMinimumLadderLength().orElseThrow());
+        assertEquals(2, solver.getAnalysis().getSearchCount());
+    }
+
+    @Test
+    void noSolutionCostsOneSearch() {
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        Options options = new Options();
+        options.setSearchStrategy(SearchStrategy.DEPTH_FIRST);
+        options.setMaximumLadderLength(4);
+        Solver solver = new Solver(puzzle, options);
+        solver.solve();
+        assertTrue(solver.getSolutions().isEmpty());
+        assertEquals(1, solver.getAnalysis().getSearchCount());
+        // (the solve only searched out to the maximum - the minimum needs the full search)...
+        assertEquals(5, solver.calculateMinimumLadderLength().orElseThrow());
+        assertEquals(2, solver.getAnalysis().getSearchCount());
+
+        Puzzle unsolvable = new Puzzle("llama", "artsy");
+        Solver unsolvableSolver = new Solver(unsolvable, options);
+        unsolvableSolver.solve();
+        assertTrue(unsolvableSolver.getSolutions().isEmpty());
+        assertFalse(unsolvableSolver.isSolvable());
+        assertTrue(unsolvableSolver.getAnalysis().getSearchCount() <= 2);
+    }
+
+    @Test
+    void meetInTheMiddleSharesLayers() {
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        Options options = new Options();
+        options.setSearchStrategy(SearchStrategy.AUTO);
+        options.setMaximumLadderLength(Solver.MEET_IN_THE_MIDDLE_MINIMUM_LADDER_LENGTH);
+        Solver solver = new Solver(puzzle, options);
+        solver.solve();
+        assertFalse(solver.getSolutions().isEmpty());
+        assertEquals(2, solver.getAnalysis().getSearchCount());
+        // (the solve's layers reached the other word - so already have the minimum)...
+        assertEquals(5, solver.calculateMinimumLadderLength().orElseThrow());
+        assertEquals(2, solver.getAnalysis().getSearchCount());
+    }
+
+    @Test
+    void boundedSearchOfSmallComponentIsComplete() {
+        // (AMBO, AMMO and UMBO are only linked to each other - the bounded search reaches all of them)...
+        Puzzle puzzle = new Puzzle("ambo", "cold");
+        Options options = new Options();
+        options.setSearchStrategy(SearchStrategy.DEPTH_FIRST);
+        options.setMaximumLadderLength(6);
+        Solver solver = new Solver(puzzle, options);
+        solver.solve();
+        assertTrue(solver.getSolutions().isEmpty());
+        assertFalse(solver.isSolvable());
+        assertEquals(1, solver.getAnalysis().getSearchCount());
+    }
+
+    @Test
+    void sameSolutionsAsUnsharedSolve() {
+        Options options = new Options();
+        options.setSearchStrategy(SearchStrategy.DEPTH_FIRST);
+        options.setOrderedSolutions(true);
+        options.setMaximumLadderLength(6);
+        Solver shared = new Solver(new Puzzle("cold", "warm"), options);
+        shared.calculateMinimumLadderLength();
+        shared.solve();
+        Solver unshared = new Solver(new Puzzle("cold", "warm"), options);
+        unshared.solve();
+        assertEquals(unshared.getSolutions().toString(), shared.getSolutions().toString());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.DictionarySource;
+import org.example.wordladder.words.Word;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleSourceLaddersTests {
+    @Test
+    void sameDistancesAsWordDistanceMap() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        Word cold = dictionary.getWord("cold");
+        SingleSourceLadders ladders = new SingleSourceLadders(dictionary, cold);
+        assertEquals(new WordDistanceMap(cold).distances, ladders.getDistances());
+        assertEquals(5, ladders.getDistance(dictionary.getWord("warm")).orElseThrow());
+        assertEquals(1, ladders.getDistance(cold).orElseThrow());
+
+        SingleSourceLadders bounded = new SingleSourceLadders(dictionary, cold, 3);
+        assertEquals(new WordDistanceMap(cold, 3).distances, bounded.getDistances());
+        assertTrue(bounded.getDistance(dictionary.getWord("warm")).isEmpty());
+        assertFalse(bounded.reachable(dictionary.getWord("warm"), 6));
+    }
+
+    @Test
+    void distancesToManyTargets() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(5);
+        SingleSourceLadders ladders = new SingleSourceLadders(dictionary, dictionary.getWord("stone"));
+        Map<Word, Integer> distances = ladders.getDistances(List.of(
+                dictionary.getWord("money"), dictionary.getWord("llama"), dictionary.getWord("store")));
+        // (unreachable targets are omitted)...
+        assertEquals(2, distances.size());
+        assertEquals(2, distances.get(dictionary.getWord("store")));
+        assertTrue(distances.containsKey(dictionary.getWord("money")));
+    }
+
+    @Test
+    void shortestLaddersAreCanonical() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        Word cold = dictionary.getWord("cold");
+        SingleSourceLadders ladders = new SingleSourceLadders(dictionary, cold);
+        for (String target: List.of("warm", "java", "cord", "cold")) {
+            Options options = new Options();
+            options.setMaximumLadderLength(ladders.getDistance(dictionary.getWord(target)).orElseThrow());
+            Solver solver = new Solver(new Puzzle("cold", target), options);
+            solver.solve();
+            List<Solution> expected = solver.getSolutions();
+            expected.sort(Solution::compareTo);
+            assertEquals(expected.toString(), ladders.getAllShortestLadders(dictionary.getWord(target)).toString());
+            assertEquals(expected.get(0).toString(),
+                    ladders.getShortestLadder(dictionary.getWord(target)).orElseThrow().toString());
+        }
+    }
+
+    @Test
+    void neighbourhoodExport() {
+        Dictionary dictionary = new Dictionary(3, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream("cat\ncot\ncog\ndog\ncut\nzzz\n".getBytes()), false));
+        SingleSourceLadders ladders = new SingleSourceLadders(dictionary, dictionary.getWord("cat"));
+        assertEquals("[CAT, COT, CUT]", ladders.getWordsWithin(1).toString());
+        StringWriter writer = new StringWriter();
+        ladders.exportNeighbourhood(2, writer);
+        assertEquals("CAT\t0\tCOT,CUT\n" +
+                "COT\t1\tCAT,COG,CUT\n" +
+                "CUT\t1\tCAT,COT\n" +
+                "COG\t2\tCOT\n", writer.toString());
+        assertTrue(ladders.getShortestLadder(dictionary.getWord("zzz")).isEmpty());
+        assertTrue(ladders.getAllShortestLadders(dictionary.getWord("zzz")).isEmpty());
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.words.Dictionary;
+import org.example.wordladder.words.DictionarySource;
+import org.example.wordladder.words.Word;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverSessionTests {
+    @Test
+    void sameSolutionsAsSolver() {
+        SolverSession fourLetters = new SolverSession(Dictionary.Factory.forWordLength(4));
+        SolverSession threeLetters = new SolverSession(Dictionary.Factory.forWordLength(3));
+        for (int repeat = 0; repeat < 2; repeat++) {
+            assertSameSolutions(fourLetters, "cold", "warm", 6);
+            assertSameSolutions(fourLetters, "kata", "java", 5);
+            assertSameSolutions(threeLetters, "cat", "dog", 5);
+            assertSameSolutions(threeLetters, "cat", "cot", 4);
+            assertSameSolutions(threeLetters, "cat", "cat", 3);
+        }
+    }
+
+    @Test
+    void minimumLadderLengths() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        SolverSession session = new SolverSession(dictionary);
+        assertEquals(5, session.calculateMinimumLadderLength(dictionary.getWord("cold"), dictionary.getWord("warm"))
+                .orElseThrow());
+        assertEquals(1, session.calculateMinimumLadderLength(dictionary.getWord("cold"), dictionary.getWord("cold"))
+                .orElseThrow());
+        Dictionary fiveLetters = Dictionary.Factory.forWordLength(5);
+        assertTrue(new SolverSession(fiveLetters)
+                .calculateMinimumLadderLength(fiveLetters.getWord("llama"), fiveLetters.getWord("artsy")).isEmpty());
+    }
+
+    @Test
+    void followsDictionaryEdits() {
+        Dictionary dictionary = new Dictionary(3, DictionarySource.stream("test",
+                () -> new java.io.ByteArrayInputStream("cat\ncot\ncog\ndog\n".getBytes()), false));
+        SolverSession session = new SolverSession(dictionary);
+        assertEquals("[[CAT, COT, COG, DOG]]", session.solve("cat", "dog", 4).toString());
+        dictionary.addWord("cag");
+        assertEquals("[[CAT, CAG, COG, DOG], [CAT, COT, COG, DOG]]", session.solve("cat", "dog", 4).toString());
+    }
+
+    @Test
+    void lengthsTooManyToHoldGetTheirOwnPass() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        List<Solution> expected = new SolverSession(dictionary).solve("cold", "warm", 7);
+        for (int maximumHeld : new int[]{0, 6, 60, 600}) {
+            List<Solution> actual = new SolverSession(dictionary, maximumHeld).solve("cold", "warm", 7);
+            assertInCanonicalOrder(actual);
+            assertSameLadders(expected, actual);
+        }
+    }
+
+    @Test
+    void addedWordsAreOrderedAlphabetically() {
+        Dictionary dictionary = new Dictionary(3);
+        dictionary.addWord("cct");
+        Word cat = dictionary.getWord("cat");
+        Word cot = dictionary.getWord("cot");
+        ParallelTasks tasks = new ParallelTasks(Runnable::run, 1);
+        for (int maximumLadderLength: new int[] {3, 4, 5}) {
+            List<Solution> session = new SolverSession(dictionary).solve("cat", "cot", maximumLadderLength);
+            assertInCanonicalOrder(session);
+            assertEquals("[CAT, CCT, COT]", session.get(1).toString());
+            Corridor corridor = Corridor.build(dictionary.getNeighbours(), cat, cot, maximumLadderLength,
+                    Optional.empty());
+            assertSameLadders(session,
+                    new CorridorSearch(corridor, maximumLadderLength, false, tasks, 0L).search());
+            assertSameLadders(session, new MeetInTheMiddleSearch(corridor, maximumLadderLength, tasks).search());
+        }
+        // (too many ladders to collect at longer lengths - so just the first few streamed are checked)...
+        List<String> streamed = new ArrayList<>();
+        new SolverSession(dictionary).solve(cat, cot, 8, (words, length) -> {
+            if (streamed.size() < 3) {
+                streamed.add(Arrays.toString(Arrays.copyOf(words, length)));
+            }
+        });
+        assertEquals(List.of("[CAT, COT]", "[CAT, CCT, COT]", "[CAT, CIT, COT]"), streamed);
+        List<int[]> ranked = new KShortestLadders(dictionary.getNeighbours(), cat.getOrdinal(), cot.getOrdinal())
+                .search(3);
+        assertEquals(List.of("CAT", "CCT", "COT"), Arrays.stream(ranked.get(1))
+                .mapToObj(ordinal -> dictionary.getWord(ordinal).toString())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void steadyStateSolvesBarelyAllocate() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        SolverSession session = new SolverSession(dictionary);
+        Word cold = dictionary.getWord("cold");
+        Word warm = dictionary.getWord("warm");
+        AtomicLong ladders = new AtomicLong();
+        SolverSession.LadderConsumer consumer = (words, length) -> ladders.incrementAndGet();
+        for (int warmup = 0; warmup < 20; warmup++) {
+            session.solve(cold, warm, 6, consumer);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int solve = 0; solve < 100; solve++) {
+            session.solve(cold, warm, 6, consumer);
+        }
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        assertTrue(ladders.get() > 0);
+        assertTrue(allocated < 100 * 1024, "Allocated " + allocated + " bytes");
+    }
+
+    private static void assertInCanonicalOrder(List<Solution> solutions) {
+        for (int s = 1; s < solutions.size(); s++) {
+            assertTrue(solutions.get(s - 1).compareTo(solutions.get(s)) < 0, solutions.get(s).toString());
+        }
+    }
+
+    private static void assertSameLadders(List<Solution> expected, List<Solution> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int s = 0; s < expected.size(); s++) {
+            assertEquals(0, expected.get(s).compareTo(actual.get(s)), actual.get(s).toString());
+        }
+    }
+
+    private static void assertSameSolutions(SolverSession session, String startWord, String endWord,
+                                            int maximumLadderLength) {
+        Options options = new Options();
+        options.setMaximumLadderLength(maximumLadderLength);
+        options.setOrderedSolutions(true);
+        Solver solver = new Solver(new Puzzle(startWord, endWord), options);
+        solver.solve();
+        List<String> expected = solver.getSolutions().stream().map(Solution::toString).collect(Collectors.toList());
+        List<String> actual = session.solve(startWord, endWord, maximumLadderLength).stream()
+                .map(Solution::toString)
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+}
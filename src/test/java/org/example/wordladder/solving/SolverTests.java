@@ -3,12 +3,16 @@ package org.example.wordladder.solving;
 import org.example.wordladder.Puzzle;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -231,4 +235,91 @@ class SolverTests {
         solutions = solver.getSolutions();
         assertTrue(solutions.isEmpty());
     }
+
+    @Test
+    void orderedSolutionsAreInCanonicalOrder() {
+        Options options = new Options();
+        options.setMaximumLadderLength(6);
+        options.setOrderedSolutions(true);
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        Solver solver = new Solver(puzzle, options);
+
+        solver.solve();
+        List<Solution> solutions = solver.getSolutions();
+        assertFalse(solutions.isEmpty());
+        List<Solution> sorted = new ArrayList<>(solutions);
+        sorted.sort(Solution::compareTo);
+        assertEquals(sorted, solutions);
+        assertEquals(5, solutions.get(0).size());
+        assertEquals("COLD", solutions.get(0).getLadder().get(0).toString());
+        assertEquals("WARM", solutions.get(0).getLadder().get(4).toString());
+
+        // and the same number of solutions as unordered...
+        options.setOrderedSolutions(false);
+        solver.solve();
+        assertEquals(solutions.size(), solver.getSolutions().size());
+    }
+
+    @Test
+    void orderedSolutionsAreReproducible() {
+        Options options = new Options();
+        options.setMaximumLadderLength(5);
+        options.setOrderedSolutions(true);
+        Puzzle puzzle = new Puzzle("cat", "dog");
+        Solver solver = new Solver(puzzle, options);
+
+        solver.solve();
+        List<String> first = solver.getSolutions().stream().map(Solution::toString).collect(Collectors.toList());
+        solver.solve();
+        List<String> second = solver.getSolutions().stream().map(Solution::toString).collect(Collectors.toList());
+        assertEquals(first, second);
+        assertEquals("[CAT, CAG, COG, DOG]", first.get(0));
+    }
+
+    @Test
+    void oneLetterDifferenceIsNotDuplicated() {
+        Options options = new Options();
+        options.setMaximumLadderLength(4);
+        Puzzle puzzle = new Puzzle("cat", "cot");
+        Solver solver = new Solver(puzzle, options);
+
+        solver.solve();
+        long directCount = solver.getSolutions().stream()
+                .filter(solution -> solution.size() == 2)
+                .count();
+        assertEquals(1, directCount);
+    }
+
+    @Test
+    void sameSolutionsWithinAnyThreadBudget() {
+        Options options = new Options();
+        options.setMaximumLadderLength(6);
+        options.setOrderedSolutions(true);
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        Solver solver = new Solver(puzzle, options);
+        solver.solve();
+        List<String> expected = solver.getSolutions().stream().map(Solution::toString).collect(Collectors.toList());
+
+        // sequential (never leaves the calling thread)...
+        options.setParallelism(1);
+        options.setExecutor(runnable -> {
+            throw new AssertionError("Sequential solve should not use the executor");
+        });
+        solver.solve();
+        assertEquals(expected, solver.getSolutions().stream().map(Solution::toString).collect(Collectors.toList()));
+
+        // a dedicated pool...
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            options.setExecutor(pool);
+            options.setParallelism(3);
+            solver.solve();
+            assertEquals(expected, solver.getSolutions().stream().map(Solution::toString).collect(Collectors.toList()));
+            options.setSearchStrategy(SearchStrategy.MEET_IN_THE_MIDDLE);
+            solver.solve();
+            assertEquals(expected, solver.getSolutions().stream().map(Solution::toString).collect(Collectors.toList()));
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package org.example.wordladder.solving;
+
+import org.example.wordladder.Puzzle;
+import org.example.wordladder.words.Dictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuffixCacheTests {
+    @Test
+    void sameSolutionsWithAnyCacheLimit() {
+        for (String[] puzzle: new String[][] {{"cold", "warm", "7"}, {"cat", "dog", "6"}, {"kata", "java", "6"}}) {
+            String expected = solve(puzzle, 0L).toString();
+            for (long limit: new long[] {1L, 4096L, 256L * 1024, Options.DEFAULT_SUFFIX_CACHE_BYTES}) {
+                assertEquals(expected, solve(puzzle, limit).toString(), puzzle[0] + " -> " + puzzle[1] + " " + limit);
+            }
+        }
+    }
+
+    @Test
+    void suffixesAreSharedAndBounded() {
+        Puzzle puzzle = new Puzzle("cold", "warm");
+        Dictionary dictionary = puzzle.getDictionary();
+        Corridor corridor = Corridor.build(dictionary.getGraph(), puzzle.getStartWord(), puzzle.getFinalWord(),
+                7, Optional.empty());
+        SuffixCache cache = new SuffixCache(corridor, 64L * 1024);
+        CorridorSearch direct = new CorridorSearch(corridor, 7, false, new ParallelTasks(Runnable::run, 1), 0L);
+        int expected = direct.search().size();
+        CorridorSearch memoised = new CorridorSearch(corridor, 7, false, new ParallelTasks(Runnable::run, 1),
+                64L * 1024);
+        assertEquals(expected, memoised.search().size());
+        assertTrue(memoised.getExploredCount() < direct.getExploredCount());
+
+        for (int word = 0; word < corridor.size(); word++) {
+            cache.get(word, 5);
+        }
+        assertTrue(cache.getMissCount() > 0);
+        assertTrue(cache.getHitCount() > 0);
+        assertTrue(cache.getUsedBytes() <= 64L * 1024);
+    }
+
+    @Test
+    void suffixesAreLoopless() {
+        Puzzle puzzle = new Puzzle("cat", "dog");
+        Corridor corridor = Corridor.build(puzzle.getDictionary().getGraph(), puzzle.getStartWord(),
+                puzzle.getFinalWord(), 5, Optional.empty());
+        SuffixCache cache = new SuffixCache(corridor, Options.DEFAULT_SUFFIX_CACHE_BYTES);
+        SuffixCache.Suffixes suffixes = cache.get(corridor.getBegin(), 7);
+        assertTrue(suffixes.size() > 0);
+        for (int s = 0; s < suffixes.size(); s++) {
+            long distinct = IntStream.range(suffixes.start(s), suffixes.start(s) + suffixes.length(s))
+                    .map(suffixes::word).distinct().count();
+            assertEquals(suffixes.length(s), distinct);
+            assertEquals(corridor.getEnd(), suffixes.word(suffixes.start(s) + suffixes.length(s) - 1));
+        }
+    }
+
+    private static List<Solution> solve(String[] words, long suffixCacheBytes) {
+        Options options = new Options();
+        options.setSearchStrategy(SearchStrategy.DEPTH_FIRST);
+        options.setOrderedSolutions(true);
+        options.setMaximumLadderLength(Integer.parseInt(words[2]));
+        options.setSuffixCacheBytes(suffixCacheBytes);
+        Solver solver = new Solver(new Puzzle(words[0], words[1]), options);
+        solver.solve();
+        return solver.getSolutions();
+    }
+}
@@ -60,4 +60,17 @@ class WordDistanceMapTests {
         assertEquals(345, wordDistanceMap.distances.size());
         assertFalse(wordDistanceMap.distances.containsKey(endWord));
     }
+
+    @Test
+    void graphMapsMatch() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        Word word = dictionary.getWord("cat");
+        Options options = new Options();
+        options.setParallelism(4);
+        for (Integer maximumLadderLength: new Integer[] {null, 0, 1, 3, 4}) {
+            assertEquals(new WordDistanceMap(word, maximumLadderLength).distances,
+                    new WordDistanceMap(dictionary, word, maximumLadderLength, options).distances);
+        }
+        assertEquals(1, new WordDistanceMap(dictionary, dictionary.getWord("iwi"), null, options).distances.size());
+    }
 }
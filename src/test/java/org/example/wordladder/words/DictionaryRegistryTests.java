@@ -0,0 +1,203 @@
+package org.example.wordladder.words;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DictionaryRegistryTests {
+    @Test
+    void unlimitedKeepsEverything() {
+        DictionaryRegistry registry = new DictionaryRegistry(DictionaryRegistry.UNLIMITED);
+        Dictionary three = registry.get(3);
+        Dictionary four = registry.get(4);
+        assertSame(three, registry.get(3));
+        assertSame(four, registry.get(4));
+        assertEquals(2, registry.getLoadCount());
+        assertEquals(0, registry.getEvictionCount());
+        assertEquals(three.estimateFootprint() + four.estimateFootprint(), registry.getUsedBytes());
+    }
+
+    @Test
+    void evictsLeastRecentlyRequested() {
+        DictionaryRegistry registry = new DictionaryRegistry(DictionaryRegistry.UNLIMITED);
+        Dictionary two = registry.get(2);
+        Dictionary three = registry.get(3);
+        registry.get(2);
+        // room for the two letter words plus the next loaded - but not the three letter words as well...
+        registry.setBudgetBytes(two.estimateFootprint() + new Dictionary(4).estimateFootprint());
+        Dictionary four = registry.get(4);
+        assertEquals(Arrays.asList(2, 4), registry.getLoadedWordLengths());
+        assertFalse(registry.isLoaded(3));
+        assertEquals(1, registry.getEvictionCount());
+        assertSame(two, registry.get(2));
+        assertSame(four, registry.get(4));
+
+        // evicted lengths are loaded again...
+        Dictionary reloaded = registry.get(3);
+        assertNotSame(three, reloaded);
+        assertEquals(three.size(), reloaded.size());
+        assertEquals(4, registry.getLoadCount());
+        assertTrue(registry.getUsedBytes() <= registry.getBudgetBytes());
+        // an evicted dictionary still works for anything holding it...
+        assertNotNull(three.getWord("cat"));
+    }
+
+    @Test
+    void mostRecentIsNeverEvicted() {
+        DictionaryRegistry registry = new DictionaryRegistry(1L);
+        Dictionary three = registry.get(3);
+        assertEquals(Arrays.asList(3), registry.getLoadedWordLengths());
+        assertSame(three, registry.get(3));
+        registry.get(4);
+        assertEquals(Arrays.asList(4), registry.getLoadedWordLengths());
+        assertTrue(registry.evict(4));
+        assertFalse(registry.evict(4));
+        assertEquals(0L, registry.getUsedBytes());
+    }
+
+    @Test
+    void editedIsNeverEvicted() {
+        DictionaryRegistry registry = new DictionaryRegistry(1L);
+        Dictionary three = registry.get(3);
+        assertFalse(three.isEdited());
+        three.addWord("cct");
+        assertTrue(three.isEdited());
+        registry.get(4);
+        registry.get(2);
+        // (over budget - but evicting the three letter words would lose the added word)...
+        assertTrue(registry.isLoaded(3));
+        assertFalse(registry.isLoaded(4));
+        assertSame(three, registry.get(3));
+        assertNotNull(registry.get(3).getWord("CCT"));
+    }
+
+    @Test
+    void footprintFollowsGraph() {
+        DictionaryRegistry registry = new DictionaryRegistry(DictionaryRegistry.UNLIMITED);
+        Dictionary dictionary = registry.get(3);
+        long before = registry.getUsedBytes();
+        WordGraph graph = dictionary.getGraph();
+        registry.get(3);
+        long after = registry.getUsedBytes();
+        assertTrue(after > before + graph.getLinks().length * 4L);
+        assertEquals(dictionary.estimateFootprint(), after);
+    }
+
+    @Test
+    void footprintIsPlausible() {
+        Dictionary dictionary = new Dictionary(4);
+        long links = dictionary.getGraph().getLinks().length;
+        long footprint = dictionary.estimateFootprint();
+        // at least the letters and links of every word...
+        assertTrue(footprint > dictionary.size() * 4L * 2L + links * 8L);
+        assertTrue(footprint < dictionary.size() * 4096L);
+        Dictionary implicit = Dictionary.implicit(4, DictionarySource.bundled(4), 0);
+        assertTrue(implicit.estimateFootprint() < new Dictionary(4).estimateFootprint());
+    }
+
+    @Test
+    void rejectsNegativeBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new DictionaryRegistry(-1L));
+        assertThrows(IllegalArgumentException.class, () -> Dictionary.Factory.getRegistry().setBudgetBytes(-1L));
+    }
+
+    @Test
+    void reloadSwapsAndRetires() {
+        DictionaryRegistry registry = new DictionaryRegistry(DictionaryRegistry.UNLIMITED);
+        Dictionary old = registry.get(3);
+        List<Dictionary> replacements = new ArrayList<>();
+        old.addListener(new DictionaryListener() {
+            @Override
+            public void wordAdded(Dictionary dictionary, Word word) {
+            }
+
+            @Override
+            public void wordRemoved(Dictionary dictionary, Word word, List<Word> formerLinkedWords) {
+            }
+
+            @Override
+            public void dictionaryReplaced(Dictionary dictionary, Dictionary replacement) {
+                assertSame(old, dictionary);
+                replacements.add(replacement);
+            }
+        });
+        Dictionary reloaded = registry.reload(3);
+        assertNotSame(old, reloaded);
+        assertSame(reloaded, registry.get(3));
+        assertEquals(Arrays.asList(reloaded), replacements);
+        assertTrue(old.isRetired());
+        assertFalse(reloaded.isRetired());
+        assertEquals(old.getFingerprint(), reloaded.getFingerprint());
+        assertEquals(reloaded.estimateFootprint(), registry.getUsedBytes());
+
+        // replaced by a different word list...
+        Dictionary updated = new Dictionary(3, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream("cat\ncot\ndog\n".getBytes()), false));
+        assertSame(reloaded, registry.replace(updated));
+        assertSame(updated, registry.get(3));
+        assertEquals(3, registry.get(3).size());
+        assertTrue(reloaded.isRetired());
+        assertNull(registry.replace(new Dictionary(2)));
+    }
+
+    @Test
+    void solvesInFlightFinishOnReplaced() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry(DictionaryRegistry.UNLIMITED);
+        Dictionary old = registry.get(3);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch solving = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        // (a solve holds the dictionary's read lock throughout)...
+        CompletableFuture<Void> solve = CompletableFuture.runAsync(() -> {
+            Lock lock = old.readLock();
+            lock.lock();
+            try {
+                solving.countDown();
+                finish.await();
+                assertNotNull(old.getWord("cat"));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                lock.unlock();
+            }
+        });
+        try {
+            solving.await();
+            CompletableFuture<Dictionary> reload = registry.reloadAsync(3, executor);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (registry.get(3) == old && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            // swapped in straight away - but the replaced dictionary is only retired once the solve finishes...
+            Dictionary reloaded = registry.get(3);
+            assertNotSame(old, reloaded);
+            assertFalse(reload.isDone());
+            assertFalse(old.isRetired());
+            finish.countDown();
+            solve.get(30, TimeUnit.SECONDS);
+            assertSame(reloaded, reload.get(30, TimeUnit.SECONDS));
+            assertTrue(old.isRetired());
+        } finally {
+            finish.countDown();
+            executor.shutdown();
+        }
+    }
+}
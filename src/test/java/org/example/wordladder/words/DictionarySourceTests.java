@@ -0,0 +1,142 @@
+package org.example.wordladder.words;
+
+import org.example.wordladder.exceptions.BadWordException;
+import org.example.wordladder.exceptions.NoResourceForDictionaryException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DictionarySourceTests {
+    private static final String MIXED_WORDS = "cat\r\nDog\ncats\nc-t\n\ncog\nCAT\nbig dog\ncot";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void canLoadFromFile() throws IOException {
+        Path path = tempDir.resolve("words.txt");
+        Files.writeString(path, MIXED_WORDS);
+        Dictionary dictionary = new Dictionary(3, DictionarySource.file(path));
+        assertMixedWords(dictionary);
+    }
+
+    @Test
+    void canLoadFromGzipFile() throws IOException {
+        Path path = tempDir.resolve("words.txt.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(path))) {
+            outputStream.write(MIXED_WORDS.getBytes(StandardCharsets.US_ASCII));
+        }
+        Dictionary dictionary = new Dictionary(3, DictionarySource.file(path));
+        assertMixedWords(dictionary);
+    }
+
+    @Test
+    void canLoadFromStream() {
+        Dictionary dictionary = new Dictionary(3, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream(MIXED_WORDS.getBytes(StandardCharsets.US_ASCII)), false));
+        assertMixedWords(dictionary);
+        dictionary = new Dictionary(4, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream(MIXED_WORDS.getBytes(StandardCharsets.US_ASCII)), false));
+        assertEquals(1, dictionary.size());
+        assertNotNull(dictionary.getWord("cats"));
+    }
+
+    @Test
+    void canLoadFromClasspath() {
+        Dictionary dictionary = new Dictionary(4, DictionarySource.classpath("5-letter-words.txt"));
+        assertTrue(dictionary.isEmpty());
+        dictionary = new Dictionary(3, DictionarySource.classpath("3-letter-words.txt"));
+        assertEquals(new Dictionary(3).size(), dictionary.size());
+        assertThrows(NoResourceForDictionaryException.class,
+                () -> new Dictionary(3, DictionarySource.classpath("no-such-words.txt")));
+    }
+
+    @Test
+    void canLoadLargeMemoryMappedFile() throws IOException {
+        Path path = tempDir.resolve("large.txt");
+        long written = 0;
+        List<String> expected = new ArrayList<>();
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            for (char c1 = 'A'; c1 <= 'Z'; c1++) {
+                for (char c2 = 'A'; c2 <= 'Z'; c2++) {
+                    for (char c3 = 'A'; c3 <= 'Z'; c3++) {
+                        String word = "" + c1 + c2 + c3 + c1;
+                        expected.add(word);
+                    }
+                }
+            }
+            // pad with words of other lengths - so the file is large enough to be mapped...
+            String padding = "ABCDEFGHIJKLMNOPQRSTUVWXYZABCDEFGHIJKLMNOPQRSTUVWXYZ\n";
+            while (written < DictionarySource.MEMORY_MAP_THRESHOLD) {
+                writer.write(padding);
+                written += padding.length();
+            }
+            for (String word: expected) {
+                writer.write(word);
+                writer.write('\n');
+            }
+        }
+        assertTrue(Files.size(path) >= DictionarySource.MEMORY_MAP_THRESHOLD);
+        Dictionary dictionary = new Dictionary(4, DictionarySource.file(path));
+        assertEquals(expected.size(), dictionary.size());
+        assertNotNull(dictionary.getWord("ABCA"));
+    }
+
+    @Test
+    void bundledIsStrict() {
+        List<String> accepted = new ArrayList<>();
+        WordListParser parser = new WordListParser(3, true, accepted::add);
+        byte[] bytes = "CAT\nDOGS\n".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(BadWordException.class, () -> parser.parse(bytes, 0, bytes.length));
+        assertEquals(List.of("CAT"), accepted);
+    }
+
+    @Test
+    void parserHandlesChunkedInput() {
+        List<String> accepted = new ArrayList<>();
+        WordListParser parser = new WordListParser(3, false, accepted::add);
+        byte[] bytes = MIXED_WORDS.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < bytes.length; i++) {
+            parser.parse(bytes, i, 1);
+        }
+        parser.finish();
+        assertEquals(List.of("CAT", "DOG", "COG", "CAT", "COT"), accepted);
+        assertEquals(3, parser.getRejectedCount());
+    }
+
+    @Test
+    void parserAcceptsLongWords() {
+        String word = "A".repeat(70);
+        List<String> accepted = new ArrayList<>();
+        WordListParser parser = new WordListParser(word.length(), true, accepted::add);
+        byte[] bytes = (word + "\n").getBytes(StandardCharsets.US_ASCII);
+        parser.parse(bytes, 0, bytes.length);
+        parser.finish();
+        assertEquals(List.of(word), accepted);
+    }
+
+    private static void assertMixedWords(Dictionary dictionary) {
+        assertEquals(4, dictionary.size());
+        assertNotNull(dictionary.getWord("cat"));
+        assertNotNull(dictionary.getWord("dog"));
+        assertNull(dictionary.getWord("c-t"));
+        assertEquals(2, dictionary.getWord("cog").getLinkedWords().size());
+        assertEquals("CAT", dictionary.getWord(0).toString());
+    }
+}
@@ -1,8 +1,10 @@
 package org.example.wordladder.words;
 
+import org.example.wordladder.exceptions.BadWordException;
 import org.example.wordladder.exceptions.NoResourceForDictionaryException;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +12,7 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -107,4 +110,152 @@ class DictionaryTests {
             assertTrue(linkedWord.getLinkedWords().contains(word));
         }
     }
+
+    @Test
+    void ordinalsAreAlphabetical() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        for (int ordinal = 0; ordinal < dictionary.size(); ordinal++) {
+            Word word = dictionary.getWord(ordinal);
+            assertEquals(ordinal, word.getOrdinal());
+            assertEquals(word, dictionary.getWord(word.toString()));
+            if (ordinal > 0) {
+                assertTrue(dictionary.getWord(ordinal - 1).toString().compareTo(word.toString()) < 0);
+            }
+        }
+    }
+
+    @Test
+    void linkedWordsAreOrdered() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        Word word = dictionary.getWord("cat");
+        List<Word> linkedWords = word.getLinkedWords();
+        for (int i = 1; i < linkedWords.size(); i++) {
+            assertTrue(linkedWords.get(i - 1).getOrdinal() < linkedWords.get(i).getOrdinal());
+        }
+    }
+
+    @Test
+    void canAddWord() {
+        Dictionary dictionary = new Dictionary(3);
+        int size = dictionary.size();
+        int catOrdinal = dictionary.getWord("cat").getOrdinal();
+        Word added = dictionary.addWord("cax");
+        assertEquals(size + 1, dictionary.size());
+        // (added words take the next ordinal - no other ordinal changes)...
+        assertEquals(size, added.getOrdinal());
+        assertEquals(catOrdinal, dictionary.getWord("cat").getOrdinal());
+        assertEquals(added, dictionary.getWord("CAX"));
+        assertEquals("CAX", dictionary.getWord(added.getOrdinal()).toString());
+        assertEquals(added, dictionary.addWord("CAX"));
+        assertEquals(size + 1, dictionary.size());
+
+        Word cat = dictionary.getWord("cat");
+        assertTrue(added.getLinkedWords().contains(cat));
+        assertTrue(cat.getLinkedWords().contains(added));
+        for (Word linkedWord: added.getLinkedWords()) {
+            assertEquals(1, added.differences(linkedWord));
+            assertTrue(linkedWord.getLinkedWords().contains(added));
+        }
+        assertTrue(dictionary.getPatternIndex().findMatching("ca_").contains(added));
+        assertTrue(dictionary.getPatternIndex().findMatching("c__").contains(added));
+        assertOrdinalsConsistent(dictionary);
+    }
+
+    @Test
+    void canRemoveWord() {
+        Dictionary dictionary = new Dictionary(3);
+        int size = dictionary.size();
+        Word cat = dictionary.getWord("cat");
+        int catOrdinal = cat.getOrdinal();
+        Word dog = dictionary.getWord("dog");
+        int dogOrdinal = dog.getOrdinal();
+        List<Word> formerLinkedWords = new ArrayList<>(cat.getLinkedWords());
+        assertTrue(dictionary.removeWord("cat"));
+        assertFalse(dictionary.removeWord("cat"));
+        assertEquals(size - 1, dictionary.size());
+        assertEquals(size, dictionary.getOrdinalLimit());
+        assertNull(dictionary.getWord("cat"));
+        assertNull(dictionary.getWord(catOrdinal));
+        assertEquals(dogOrdinal, dog.getOrdinal());
+        assertTrue(cat.isIslandWord());
+        assertEquals(-1, cat.getOrdinal());
+        for (Word linkedWord: formerLinkedWords) {
+            assertFalse(linkedWord.getLinkedWords().contains(cat));
+        }
+        assertFalse(dictionary.getPatternIndex().findMatching("ca_").contains(cat));
+        assertFalse(dictionary.getPatternIndex().findMatching("c_t").contains(cat));
+        assertOrdinalsConsistent(dictionary);
+    }
+
+    @Test
+    void cannotAddBadWord() {
+        Dictionary dictionary = new Dictionary(3);
+        assertThrows(BadWordException.class, () -> dictionary.addWord("cats"));
+        assertThrows(BadWordException.class, () -> dictionary.addWord("c_t"));
+    }
+
+    @Test
+    void graphIsPatchedAfterEdits() {
+        Dictionary dictionary = new Dictionary(3);
+        WordGraph graph = dictionary.getGraph();
+        graph.inLocalityOrder();
+        dictionary.addWord("cax");
+        dictionary.removeWord("cat");
+        WordGraph patched = dictionary.getGraph();
+        assertSameLinks(new WordGraph(wordsOf(dictionary)), patched);
+        assertSameLinks(patched, patched.inLocalityOrder());
+        dictionary.removeWord("dog");
+        dictionary.addWord("qzz");
+        dictionary.addWord("cat");
+        WordGraph repatched = dictionary.getGraph();
+        assertEquals(graph.size() + 3, repatched.size());
+        assertSameLinks(new WordGraph(wordsOf(dictionary)), repatched);
+        assertSameLinks(repatched, repatched.inLocalityOrder());
+        assertEquals(dictionary.getFingerprint(), Dictionary.fingerprintOf(wordsOf(dictionary)));
+    }
+
+    private static Word[] wordsOf(Dictionary dictionary) {
+        Word[] result = new Word[dictionary.getOrdinalLimit()];
+        for (int ordinal = 0; ordinal < result.length; ordinal++) {
+            result[ordinal] = dictionary.getWord(ordinal);
+        }
+        return result;
+    }
+
+    private static void assertSameLinks(WordGraph expected, WordGraph actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getLinkCount(), actual.getLinkCount());
+        for (int ordinal = 0; ordinal < expected.size(); ordinal++) {
+            int index = actual.getIndex(ordinal);
+            assertEquals(expected.getWord(ordinal), actual.getWord(index));
+            assertEquals(linkedOrdinals(expected, ordinal), linkedOrdinals(actual, index));
+        }
+    }
+
+    private static List<Integer> linkedOrdinals(WordGraph graph, int index) {
+        List<Integer> result = new ArrayList<>();
+        for (int l = graph.getOffsets()[index]; l < graph.getOffsets()[index + 1]; l++) {
+            result.add(graph.getOrdinal(graph.getLinks()[l]));
+        }
+        result.sort(null);
+        return result;
+    }
+
+    private static void assertOrdinalsConsistent(Dictionary dictionary) {
+        int count = 0;
+        for (int ordinal = 0; ordinal < dictionary.getOrdinalLimit(); ordinal++) {
+            Word word = dictionary.getWord(ordinal);
+            if (word == null) {
+                continue;
+            }
+            count++;
+            assertEquals(ordinal, word.getOrdinal());
+            assertEquals(word, dictionary.getWord(word.toString()));
+            List<Word> linkedWords = word.getLinkedWords();
+            for (int i = 1; i < linkedWords.size(); i++) {
+                assertTrue(linkedWords.get(i - 1).toString().compareTo(linkedWords.get(i).toString()) < 0);
+            }
+        }
+        assertEquals(dictionary.size(), count);
+    }
 }
@@ -0,0 +1,70 @@
+package org.example.wordladder.words;
+
+import org.example.wordladder.exceptions.DictionaryLoadErrorException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrontCodedWordListTests {
+    @Test
+    void bundledCompactListsMatchTextLists() {
+        // (the compact lists are generated from the text lists - this fails if they have been left stale)...
+        for (int wordLength = 2; wordLength <= 15; wordLength++) {
+            Dictionary text = new Dictionary(wordLength, DictionarySource.bundledText(wordLength));
+            Dictionary compact = new Dictionary(wordLength, DictionarySource.bundled(wordLength));
+            assertArrayEquals(words(text), words(compact), wordLength + " letter words");
+        }
+    }
+
+    @Test
+    void roundTrips() throws IOException {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(5);
+        for (boolean deflated: new boolean[] {false, true}) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            FrontCodedWordList.write(dictionary, outputStream, deflated);
+            byte[] bytes = outputStream.toByteArray();
+            assertTrue(bytes.length < dictionary.size() * 6);
+            Dictionary copy = load(5, bytes);
+            assertArrayEquals(words(dictionary), words(copy));
+        }
+    }
+
+    @Test
+    void compactFiles(@TempDir Path directory) {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(4);
+        Path path = directory.resolve("words.fc");
+        FrontCodedWordList.write(dictionary, path, true);
+        assertArrayEquals(words(dictionary), words(new Dictionary(4, DictionarySource.file(path))));
+        assertThrows(DictionaryLoadErrorException.class, () -> new Dictionary(3, DictionarySource.file(path)));
+    }
+
+    @Test
+    void corruptListsAreRejected() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        FrontCodedWordList.write(Dictionary.Factory.forWordLength(3), outputStream, false);
+        byte[] bytes = outputStream.toByteArray();
+        assertThrows(DictionaryLoadErrorException.class, () -> load(3, Arrays.copyOf(bytes, bytes.length / 2)));
+        assertThrows(DictionaryLoadErrorException.class, () -> load(3, "CAT\nDOG\n".getBytes()));
+    }
+
+    private static Dictionary load(int wordLength, byte[] bytes) {
+        return new Dictionary(wordLength, DictionarySource.compactStream("test", () -> new ByteArrayInputStream(bytes)));
+    }
+
+    private static String[] words(Dictionary dictionary) {
+        String[] result = new String[dictionary.size()];
+        for (int ordinal = 0; ordinal < result.length; ordinal++) {
+            result[ordinal] = dictionary.getWord(ordinal).toString();
+        }
+        return result;
+    }
+}
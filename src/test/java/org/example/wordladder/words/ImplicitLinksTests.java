@@ -0,0 +1,102 @@
+package org.example.wordladder.words;
+
+import org.example.wordladder.solving.SingleSourceLadders;
+import org.example.wordladder.solving.Solution;
+import org.example.wordladder.solving.SolverSession;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImplicitLinksTests {
+    @Test
+    void sameLinksAsEagerDictionary() {
+        Dictionary eager = Dictionary.Factory.forWordLength(4);
+        Dictionary implicit = Dictionary.implicit(4, DictionarySource.bundled(4), 100);
+        assertTrue(implicit.isImplicit());
+        assertFalse(eager.isImplicit());
+        assertEquals(eager.size(), implicit.size());
+        for (int ordinal = 0; ordinal < eager.size(); ordinal++) {
+            assertEquals(eager.getWord(ordinal).getLinkedWords().toString(),
+                    implicit.getWord(ordinal).getLinkedWords().toString());
+        }
+        assertTrue(implicit.getImplicitLinks().getCachedCount() <= 100);
+        assertArrayEquals(eager.getGraph().getOffsets(), implicit.getGraph().getOffsets());
+        assertArrayEquals(eager.getGraph().getLinks(), implicit.getGraph().getLinks());
+    }
+
+    @Test
+    void sameSolutions() {
+        Dictionary eager = Dictionary.Factory.forWordLength(4);
+        Dictionary implicit = Dictionary.implicit(4, DictionarySource.bundled(4), 0);
+        assertEquals(new SolverSession(eager).solve("cold", "warm", 6).toString(),
+                new SolverSession(implicit).solve("cold", "warm", 6).toString());
+        assertEquals(0, implicit.getImplicitLinks().getCachedCount());
+    }
+
+    @Test
+    void solvingDoesNotBuildGraph() {
+        Dictionary eager = Dictionary.Factory.forWordLength(4);
+        Dictionary implicit = Dictionary.implicit(4, DictionarySource.bundled(4), 100);
+        assertEquals(new SolverSession(eager).solve("cold", "warm", 7).toString(),
+                new SolverSession(implicit).solve("cold", "warm", 7).toString());
+        assertEquals(new SolverSession(eager).calculateMinimumLadderLength(eager.getWord("cold"),
+                eager.getWord("warm")), new SolverSession(implicit).calculateMinimumLadderLength(
+                        implicit.getWord("cold"), implicit.getWord("warm")));
+        List<Solution> expected = new SingleSourceLadders(eager, eager.getWord("cold"), 4)
+                .getAllShortestLadders(eager.getWord("ward"));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.toString(), new SingleSourceLadders(implicit, implicit.getWord("cold"), 4)
+                .getAllShortestLadders(implicit.getWord("ward")).toString());
+        assertEquals(eager.getFingerprint(), implicit.getFingerprint());
+        assertNull(implicit.builtGraph());
+
+        // (edits give new neighbours - still without building the graph)...
+        WordNeighbours neighbours = implicit.getNeighbours();
+        SingleSourceLadders fromCold = new SingleSourceLadders(implicit, implicit.getWord("cold"), 3);
+        implicit.addWord("qord");
+        assertNotSame(neighbours, implicit.getNeighbours());
+        assertEquals("[[COLD, CORD, QORD]]", new SolverSession(implicit).solve("cold", "qord", 3).toString());
+        assertTrue(fromCold.getDistance(implicit.getWord("qord")).isEmpty());
+        assertNull(implicit.builtGraph());
+    }
+
+    @Test
+    void patternsAndNeighbours() {
+        Dictionary eager = Dictionary.Factory.forWordLength(3);
+        Dictionary implicit = Dictionary.implicit(3, DictionarySource.bundled(3), 10);
+        for (String pattern: Arrays.asList("c_t", "_og", "ca_", "c__", "xyz", "cat")) {
+            assertEquals(eager.getPatternIndex().findMatching(pattern).toString(),
+                    implicit.getPatternIndex().findMatching(pattern).toString(), pattern);
+        }
+        for (String str: Arrays.asList("cat", "zzt", "qqq")) {
+            assertEquals(eager.getPatternIndex().findNeighbours(str).toString(),
+                    implicit.getPatternIndex().findNeighbours(str).toString(), str);
+        }
+    }
+
+    @Test
+    void followsEdits() {
+        Dictionary dictionary = Dictionary.implicit(3, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream("cat\ncot\ndog\n".getBytes()), false), 10);
+        assertEquals("[COT]", dictionary.getWord("cat").getLinkedWords().toString());
+        assertTrue(dictionary.getWord("dog").isIslandWord());
+        Word cog = dictionary.addWord("cog");
+        assertEquals("[COT, DOG]", cog.getLinkedWords().toString());
+        assertEquals("[COG]", dictionary.getWord("dog").getLinkedWords().toString());
+        assertEquals("[CAT, COG]", dictionary.getWord("cot").getLinkedWords().toString());
+        Word cot = dictionary.getWord("cot");
+        assertTrue(dictionary.removeWord("cot"));
+        assertTrue(cot.getLinkedWords().isEmpty());
+        assertTrue(dictionary.getWord("cat").isIslandWord());
+        assertEquals("[DOG]", cog.getLinkedWords().toString());
+    }
+}
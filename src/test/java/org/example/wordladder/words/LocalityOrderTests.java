@@ -0,0 +1,96 @@
+package org.example.wordladder.words;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalityOrderTests {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void orderIsPermutationOfOrdinals() {
+        WordGraph graph = Dictionary.Factory.forWordLength(4).getGraph();
+        LocalityOrder order = graph.getLocalityOrder();
+        assertEquals(graph.size(), order.size());
+        boolean[] seen = new boolean[graph.size()];
+        for (int position = 0; position < order.size(); position++) {
+            int ordinal = order.getOrdinal(position);
+            assertFalse(seen[ordinal]);
+            seen[ordinal] = true;
+        }
+    }
+
+    @Test
+    void localityGraphHasSameLinks() {
+        WordGraph graph = Dictionary.Factory.forWordLength(3).getGraph();
+        WordGraph localityGraph = graph.inLocalityOrder();
+        assertSame(localityGraph, localityGraph.inLocalityOrder());
+        assertEquals(graph.getLinkCount(), localityGraph.getLinkCount());
+        int[] offsets = localityGraph.getOffsets();
+        int[] links = localityGraph.getLinks();
+        for (int index = 0; index < localityGraph.size(); index++) {
+            int ordinal = localityGraph.getOrdinal(index);
+            assertEquals(index, localityGraph.getIndex(ordinal));
+            Word word = localityGraph.getWord(index);
+            assertSame(graph.getWord(ordinal), word);
+            Set<Word> linkedWords = new HashSet<>();
+            for (int l = offsets[index]; l < offsets[index + 1]; l++) {
+                if (l > offsets[index]) {
+                    assertTrue(links[l - 1] < links[l]);
+                }
+                linkedWords.add(localityGraph.getWord(links[l]));
+            }
+            assertEquals(new HashSet<>(word.getLinkedWords()), linkedWords);
+        }
+    }
+
+    @Test
+    void linkedWordsAreCloserInLocalityOrder() {
+        WordGraph graph = Dictionary.Factory.forWordLength(5).getGraph();
+        assertTrue(averageLinkSpan(graph.inLocalityOrder()) < averageLinkSpan(graph));
+    }
+
+    @Test
+    void persistedOrderIsUsedUntilEdited() throws IOException {
+        Path path = tempDir.resolve("words.txt");
+        Files.writeString(path, "cat\ncot\ncog\ndog\nbat\nbig\n");
+        Dictionary original = new Dictionary(3, DictionarySource.file(path));
+        LocalityOrder order = original.getGraph().getLocalityOrder();
+        order.write(tempDir.resolve("words.txt" + LocalityOrder.FILE_SUFFIX));
+
+        Dictionary reloaded = new Dictionary(3, DictionarySource.file(path));
+        LocalityOrder persisted = reloaded.getGraph().getLocalityOrder();
+        assertNotSame(order, persisted);
+        for (int position = 0; position < order.size(); position++) {
+            assertEquals(order.getOrdinal(position), persisted.getOrdinal(position));
+        }
+
+        reloaded.addWord("bag");
+        LocalityOrder recomputed = reloaded.getGraph().getLocalityOrder();
+        assertEquals(reloaded.size(), recomputed.size());
+    }
+
+    private static double averageLinkSpan(WordGraph graph) {
+        int[] offsets = graph.getOffsets();
+        int[] links = graph.getLinks();
+        long total = 0;
+        for (int index = 0; index < graph.size(); index++) {
+            for (int l = offsets[index]; l < offsets[index + 1]; l++) {
+                total += Math.abs(links[l] - index);
+            }
+        }
+        return (double)total / links.length;
+    }
+}
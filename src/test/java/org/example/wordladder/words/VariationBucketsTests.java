@@ -0,0 +1,68 @@
+package org.example.wordladder.words;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VariationBucketsTests {
+    @Test
+    void codesPackEveryOtherLetter() {
+        assertEquals(VariationBuckets.code("CAT".toCharArray(), 1), VariationBuckets.code("COT".toCharArray(), 1));
+        assertNotEquals(VariationBuckets.code("CAT".toCharArray(), 1), VariationBuckets.code("CAT".toCharArray(), 0));
+        assertNotEquals(VariationBuckets.code("CAT".toCharArray(), 1), VariationBuckets.code("BAT".toCharArray(), 1));
+        // (a wildcard is not the same as an 'A')...
+        assertNotEquals(VariationBuckets.code("AAT".toCharArray(), 0), VariationBuckets.code("AAT".toCharArray(), 1));
+    }
+
+    @Test
+    void sharedHashedCodesAreTold() {
+        Word first = new Word("abcdefghijk1z");
+        Word second = new Word("abcdefghijk2;");
+        char[] firstLetters = first.toString().toCharArray();
+        char[] secondLetters = second.toString().toCharArray();
+        assertEquals(VariationBuckets.code(firstLetters, 0), VariationBuckets.code(secondLetters, 0));
+        VariationBuckets buckets = new VariationBuckets();
+        buckets.put(firstLetters, 0, new Word[] {first});
+        assertNull(buckets.get(secondLetters, 0));
+        buckets.put(secondLetters, 0, new Word[] {second});
+        assertEquals(2, buckets.size());
+        assertArrayEquals(new Word[] {first}, buckets.get(firstLetters, 0));
+        assertArrayEquals(new Word[] {second}, buckets.get(secondLetters, 0));
+        buckets.remove(firstLetters, 0);
+        assertNull(buckets.get(firstLetters, 0));
+        assertArrayEquals(new Word[] {second}, buckets.get(secondLetters, 0));
+    }
+
+    @Test
+    void removingKeepsEveryOtherBucket() {
+        List<Word> words = new ArrayList<>();
+        for (char first = 'A'; first <= 'Z'; first++) {
+            for (char second = 'A'; second <= 'Z'; second++) {
+                words.add(new Word(new String(new char[] {first, second, 'X'})));
+            }
+        }
+        VariationBuckets buckets = new VariationBuckets();
+        for (Word word: words) {
+            buckets.put(word.toString().toCharArray(), 2, new Word[] {word});
+        }
+        assertEquals(words.size(), buckets.size());
+        for (int w = 0; w < words.size(); w += 2) {
+            buckets.remove(words.get(w).toString().toCharArray(), 2);
+        }
+        assertEquals(words.size() / 2, buckets.size());
+        for (int w = 0; w < words.size(); w++) {
+            Word[] bucket = buckets.get(words.get(w).toString().toCharArray(), 2);
+            if (w % 2 == 0) {
+                assertNull(bucket);
+            } else {
+                assertArrayEquals(new Word[] {words.get(w)}, bucket);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.wordladder.words;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordLookupTests {
+    @Test
+    void everyWordMapsToItsOrdinal() {
+        for (int wordLength = 2; wordLength <= 6; wordLength++) {
+            Dictionary dictionary = Dictionary.Factory.forWordLength(wordLength);
+            Word[] words = dictionary.getGraph().getWords();
+            WordLookup lookup = new WordLookup(wordLength, words);
+            Set<Integer> ordinals = new HashSet<>();
+            for (Word word: words) {
+                assertEquals(word.getOrdinal(), lookup.ordinalOf(word.toString()));
+                assertEquals(word.getOrdinal(), lookup.ordinalOf(word.toString().toLowerCase()));
+                assertSame(word, lookup.find(word.toString().toLowerCase()));
+                ordinals.add(lookup.ordinalOf(word.toString()));
+            }
+            assertEquals(words.length, ordinals.size());
+        }
+    }
+
+    @Test
+    void nonWordsAreNotFound() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(3);
+        assertEquals(-1, dictionary.getOrdinal("xqz"));
+        assertEquals(-1, dictionary.getOrdinal("cats"));
+        assertEquals(-1, dictionary.getOrdinal(""));
+        assertEquals(-1, dictionary.getOrdinal("ca\u00df"));
+        assertNull(dictionary.getWord("zzq"));
+        assertEquals(dictionary.getWord("cat").getOrdinal(), dictionary.getOrdinal(new StringBuilder("cAt")));
+
+        WordLookup empty = new WordLookup(3, new Word[0]);
+        assertEquals(-1, empty.ordinalOf("cat"));
+    }
+
+    @Test
+    void followsDictionaryEdits() {
+        Dictionary dictionary = new Dictionary(3, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream("cat\ncot\ndog\n".getBytes()), false));
+        assertNull(dictionary.getWord("cog"));
+        Word cog = dictionary.addWord("cog");
+        assertSame(cog, dictionary.getWord("COG"));
+        assertEquals(3, dictionary.getOrdinal("cog"));
+        assertEquals(2, dictionary.getOrdinal("dog"));
+        assertTrue(dictionary.removeWord("cat"));
+        assertNull(dictionary.getWord("cat"));
+        assertEquals(-1, dictionary.getOrdinal("cat"));
+        assertEquals(3, dictionary.getOrdinal("cog"));
+        assertEquals(3, dictionary.size());
+        assertEquals(4, dictionary.getOrdinalLimit());
+    }
+
+    @Test
+    void followsManyEdits() {
+        // (enough edits that the perfect hash is rebuilt along the way)...
+        Dictionary dictionary = new Dictionary(3);
+        Dictionary original = Dictionary.Factory.forWordLength(3);
+        List<String> removed = new ArrayList<>();
+        for (int ordinal = 0; ordinal < dictionary.getOrdinalLimit(); ordinal += 7) {
+            removed.add(dictionary.getWord(ordinal).toString());
+        }
+        removed.forEach(dictionary::removeWord);
+        List<Word> added = new ArrayList<>();
+        for (char first = 'A'; first <= 'Z'; first++) {
+            for (char last = 'A'; last <= 'Z'; last++) {
+                String str = first + "Q" + last;
+                if (original.getWord(str) == null) {
+                    added.add(dictionary.addWord(str));
+                }
+            }
+        }
+        for (String str: removed) {
+            assertEquals(-1, dictionary.getOrdinal(str));
+        }
+        for (Word word: added) {
+            assertEquals(word.getOrdinal(), dictionary.getOrdinal(word.toString()));
+        }
+        for (int ordinal = 0; ordinal < dictionary.getOrdinalLimit(); ordinal++) {
+            Word word = dictionary.getWord(ordinal);
+            if (word != null) {
+                assertEquals(ordinal, dictionary.getOrdinal(word.toString()));
+            }
+        }
+        assertEquals(original.size() - removed.size() + added.size(), dictionary.size());
+    }
+
+    @Test
+    void footprintIsPackedLettersAndOrdinals() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(5);
+        Word[] words = dictionary.getGraph().getWords();
+        WordLookup lookup = new WordLookup(5, words);
+        // (the word references and an int displacement per four words - and per slot, 5 bits per letter plus
+        // just enough bits for the highest ordinal - and the lookup's and its perfect hash's headers)...
+        int ordinalBits = Integer.SIZE - Integer.numberOfLeadingZeros(words.length - 1);
+        long expected = (2 * MemoryEstimates.OBJECT_HEADER) + MemoryEstimates.referenceArray(words.length)
+                + MemoryEstimates.intArray(words.length / 4 + 1)
+                + MemoryEstimates.longArray((words.length * 25L + 63) / 64)
+                + MemoryEstimates.longArray((words.length * (long)ordinalBits + 63) / 64);
+        assertEquals(expected, lookup.estimateBytes());
+        assertTrue(ordinalBits < 16);
+    }
+
+    @Test
+    void wordsOtherThanLettersAreStillFound() {
+        Dictionary dictionary = new Dictionary(3, DictionarySource.stream("test",
+                () -> new ByteArrayInputStream("cat\ncot\ndog\n".getBytes()), false));
+        // (enough edits to rebuild the perfect hash with a word that can't be packed at 5 bits a letter)...
+        Word odd = dictionary.addWord("c4t");
+        for (int w = 0; w < 40; w++) {
+            dictionary.addWord("x" + (char)('A' + (w / 26)) + (char)('A' + (w % 26)));
+        }
+        assertSame(odd, dictionary.getWord("C4T"));
+        assertEquals(odd.getOrdinal(), dictionary.getOrdinal("c4t"));
+        assertEquals(1, dictionary.getOrdinal("COT"));
+        assertEquals(-1, dictionary.getOrdinal("c5t"));
+    }
+
+    @Test
+    void lookupsDoNotAllocate() {
+        Dictionary dictionary = Dictionary.Factory.forWordLength(5);
+        String[] words = {"stone", "Money", "LLAMA", "xxxxx"};
+        for (int warmup = 0; warmup < 10_000; warmup++) {
+            dictionary.getOrdinal(words[warmup & 3]);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int found = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (dictionary.getOrdinal(words[i & 3]) != -1) {
+                found++;
+            }
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertEquals(75_000, found);
+        assertTrue(allocated < 100_000, "allocated " + allocated + " bytes");
+    }
+}
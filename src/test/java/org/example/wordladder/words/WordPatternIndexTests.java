@@ -0,0 +1,90 @@
+package org.example.wordladder.words;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordPatternIndexTests {
+    private Dictionary dictionary;
+    private WordPatternIndex index;
+
+    @BeforeEach
+    void before() {
+        dictionary = Dictionary.Factory.forWordLength(4);
+        index = dictionary.getPatternIndex();
+    }
+
+    @Test
+    void singleWildcardMatchesLinkedWords() {
+        Word cold = dictionary.getWord("cold");
+        List<Word> matching = index.findMatching("c_ld");
+        assertTrue(matching.contains(cold));
+        for (Word word: matching) {
+            assertTrue(word == cold || cold.getLinkedWords().contains(word));
+        }
+    }
+
+    @Test
+    void multipleWildcardsMatchByScan() {
+        List<Word> matching = index.findMatching("c__t");
+        List<Word> expected = scan("C", "T");
+        assertFalse(matching.isEmpty());
+        assertEquals(expected, matching);
+    }
+
+    @Test
+    void noWildcardsIsExactLookup() {
+        assertEquals(List.of(dictionary.getWord("cold")), index.findMatching("COLD"));
+        assertTrue(index.findMatching("cxld").isEmpty());
+    }
+
+    @Test
+    void allWildcardsMatchesEverything() {
+        assertEquals(dictionary.size(), index.countMatching("____"));
+    }
+
+    @Test
+    void wrongLengthOrCharsMatchNothing() {
+        assertTrue(index.findMatching("c_t").isEmpty());
+        assertTrue(index.findMatching("c_1d").isEmpty());
+    }
+
+    @Test
+    void neighboursOfDictionaryWord() {
+        Word cold = dictionary.getWord("cold");
+        assertEquals(cold.getLinkedWords(), index.findNeighbours("cold"));
+    }
+
+    @Test
+    void neighboursOfNonWord() {
+        assertNull(dictionary.getWord("xold"));
+        List<String> neighbours = index.findNeighbours("xold").stream()
+                .map(Word::toString)
+                .collect(Collectors.toList());
+        assertTrue(neighbours.contains("COLD"));
+        assertTrue(neighbours.contains("BOLD"));
+        assertFalse(neighbours.contains("XOLD"));
+        for (String neighbour: neighbours) {
+            assertEquals(1, new Word("xold").differences(new Word(neighbour)));
+        }
+    }
+
+    private List<Word> scan(String first, String last) {
+        List<Word> result = new ArrayList<>();
+        for (int ordinal = 0; ordinal < dictionary.size(); ordinal++) {
+            Word word = dictionary.getWord(ordinal);
+            if (word.toString().startsWith(first) && word.toString().endsWith(last)) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+}